@@ -0,0 +1,118 @@
+-- Signed-in listing feed at 1M listings: NOT IN subqueries with a COUNT (the old page query)
+-- against NOT EXISTS anti-joins without one (slice mode).
+--
+-- Runs in one transaction and rolls back, so it leaves the database as it found it. Seeds
+-- 1,000,000 listings from 50,000 sellers and ~100,000 blocks, with the viewing user on both
+-- sides of 250 of them. Run against a database that has schema.sql applied:
+--
+--   psql -d agora -f bench/feed-anti-join.sql
+--
+-- Compare the "Execution Time" lines and the join nodes (Hash/Nested Loop Anti Join vs
+-- SubPlan) of each plan.
+
+BEGIN;
+
+-- The indexes from schema.sql, in case this database predates them.
+CREATE INDEX IF NOT EXISTS idx_listings_status_post_date ON listings (item_status, post_date, id);
+CREATE INDEX IF NOT EXISTS idx_user_blocks_blocker_blocked ON user_blocks (blocker_id, blocked_id);
+CREATE INDEX IF NOT EXISTS idx_user_blocks_blocked_blocker ON user_blocks (blocked_id, blocker_id);
+
+-- Ids far above anything real so the seed can't collide with existing rows.
+INSERT INTO college (id, college_name)
+SELECT 900000000 + g, 'Bench College ' || g
+FROM generate_series(1, 100) g;
+
+INSERT INTO agora_users (id, user_email, user_name, role, user_status, verification_status, college_id)
+SELECT 900000000 + g, 'bench' || g || '@example.com', 'bench' || g, 'SELLER', 'ACTIVE', 'VERIFIED',
+       900000000 + 1 + g % 100
+FROM generate_series(0, 50000) g;
+
+-- 90% AVAILABLE, posted over the last year.
+INSERT INTO listings (id, title, description, category, price, item_condition, item_status, post_date,
+                      seller_id, college_id)
+SELECT 900000000 + g,
+       'Bench listing ' || g,
+       'Seeded for feed-anti-join.sql',
+       (ARRAY['Books', 'Electronics', 'Furniture', 'Clothing', 'Vehicles'])[1 + g % 5],
+       (g % 5000) + 0.99,
+       'USED',
+       CASE WHEN g % 10 = 0 THEN 'SOLD' ELSE 'AVAILABLE' END,
+       now() - (g % 525600) * interval '1 minute',
+       900000001 + (hashint4(g) & 2147483647) % 50000,
+       900000001 + g % 100
+FROM generate_series(1, 1000000) g;
+
+-- Background blocks between other users.
+INSERT INTO user_blocks (blocker_id, blocked_id)
+SELECT DISTINCT 900000001 + (hashint4(g) & 2147483647) % 50000,
+                900000001 + (hashint4(g + 7) & 2147483647) % 50000
+FROM generate_series(1, 100000) g
+ON CONFLICT DO NOTHING;
+
+-- The viewer (900000000) blocked 200 sellers and was blocked by 50 others.
+INSERT INTO user_blocks (blocker_id, blocked_id)
+SELECT 900000000, 900000001 + g * 37 FROM generate_series(0, 199) g
+ON CONFLICT DO NOTHING;
+INSERT INTO user_blocks (blocker_id, blocked_id)
+SELECT 900010001 + g * 53, 900000000 FROM generate_series(0, 49) g
+ON CONFLICT DO NOTHING;
+
+ANALYZE college;
+ANALYZE agora_users;
+ANALYZE listings;
+ANALYZE user_blocks;
+
+-- Old page query, first page of 20, newest first: NOT IN subqueries...
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.id, l.title, l.price, l.post_date, l.seller_id
+FROM listings l
+WHERE l.item_status = 'AVAILABLE'
+  AND l.seller_id NOT IN (SELECT ub.blocked_id FROM user_blocks ub WHERE ub.blocker_id = 900000000)
+  AND l.seller_id NOT IN (SELECT ub.blocker_id FROM user_blocks ub WHERE ub.blocked_id = 900000000)
+ORDER BY l.post_date DESC, l.id DESC
+LIMIT 20;
+
+-- The same filter on a deep page: page 500 of 20.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.id, l.title, l.price, l.post_date, l.seller_id
+FROM listings l
+WHERE l.item_status = 'AVAILABLE'
+  AND l.seller_id NOT IN (SELECT ub.blocked_id FROM user_blocks ub WHERE ub.blocker_id = 900000000)
+  AND l.seller_id NOT IN (SELECT ub.blocker_id FROM user_blocks ub WHERE ub.blocked_id = 900000000)
+ORDER BY l.post_date DESC, l.id DESC
+OFFSET 10000 LIMIT 20;
+
+-- ...plus the COUNT that Page runs alongside every page.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*)
+FROM listings l
+WHERE l.item_status = 'AVAILABLE'
+  AND l.seller_id NOT IN (SELECT ub.blocked_id FROM user_blocks ub WHERE ub.blocker_id = 900000000)
+  AND l.seller_id NOT IN (SELECT ub.blocker_id FROM user_blocks ub WHERE ub.blocked_id = 900000000);
+
+-- Anti-join, as ListingsRepo.notBlockedWith renders it. Slice mode reads one row past the page
+-- and runs no COUNT.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.id, l.title, l.price, l.post_date, l.seller_id
+FROM listings l
+WHERE l.item_status = 'AVAILABLE'
+  AND NOT EXISTS (SELECT 1 FROM user_blocks ub
+                  WHERE ub.blocker_id = l.seller_id AND ub.blocked_id = 900000000)
+  AND NOT EXISTS (SELECT 1 FROM user_blocks ub
+                  WHERE ub.blocker_id = 900000000 AND ub.blocked_id = l.seller_id)
+ORDER BY l.post_date DESC, l.id DESC
+LIMIT 21;
+
+-- The deep page as a slice.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.id, l.title, l.price, l.post_date, l.seller_id
+FROM listings l
+WHERE l.item_status = 'AVAILABLE'
+  AND NOT EXISTS (SELECT 1 FROM user_blocks ub
+                  WHERE ub.blocker_id = l.seller_id AND ub.blocked_id = 900000000)
+  AND NOT EXISTS (SELECT 1 FROM user_blocks ub
+                  WHERE ub.blocker_id = 900000000 AND ub.blocked_id = l.seller_id)
+ORDER BY l.post_date DESC, l.id DESC
+OFFSET 10000 LIMIT 21;
+
+ROLLBACK;
@@ -0,0 +1,64 @@
+package com.Agora.Agora.Config;
+
+import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Repository.ChatRoomRepo;
+import com.Agora.Agora.Service.ChatMessageBroadcaster;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+// Limits what an authenticated STOMP session may do: subscribe to its own inbox and to the rooms it
+// is a participant of. Clients don't SEND; messages go through the REST API, which saves them and
+// pushes them back out. Registered after JwtChannelInterceptor.
+@Component
+@RequiredArgsConstructor
+public class ChatSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final String USER_INBOX = "/user" + ChatMessageBroadcaster.INBOX_QUEUE;
+
+    private final ChatRoomRepo chatRoomRepo;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.SEND) {
+            throw new MessageDeliveryException("Send messages through the chat API");
+        }
+        if (accessor.getCommand() != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        if (!(accessor.getUser() instanceof Authentication auth) || !(auth.getPrincipal() instanceof AgoraUser user)
+                || destination == null) {
+            throw new MessageDeliveryException("Not authenticated");
+        }
+        if (destination.equals(USER_INBOX)) {
+            return message;
+        }
+        if (destination.startsWith(ChatMessageBroadcaster.ROOM_TOPIC_PREFIX)) {
+            Long chatRoomId;
+            try {
+                chatRoomId = Long.valueOf(destination.substring(ChatMessageBroadcaster.ROOM_TOPIC_PREFIX.length()));
+            } catch (NumberFormatException e) {
+                throw new MessageDeliveryException("Unknown destination: " + destination);
+            }
+            if (chatRoomRepo.isParticipant(chatRoomId, user.getId())) {
+                return message;
+            }
+            throw new MessageDeliveryException("You are not a participant of this chat room");
+        }
+        throw new MessageDeliveryException("Unknown destination: " + destination);
+    }
+}
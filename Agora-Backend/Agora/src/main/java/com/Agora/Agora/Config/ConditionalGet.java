@@ -0,0 +1,25 @@
+package com.Agora.Agora.Config;
+
+import com.Agora.Agora.Service.ResourceVersions;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a GET handler whose response only changes with the given resource's version. The version
+// is the response's ETag, and a matching If-None-Match gets a 304 without calling the handler.
+//
+// The handler is skipped entirely, method security included, so this is only for public endpoints.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    ResourceVersions.Resource value();
+
+    // How long clients may reuse the response without asking; 0 means revalidate every time.
+    long maxAgeSeconds() default 0;
+
+    // Whether shared caches (CDNs, proxies) may store the response too.
+    boolean shared() default false;
+}
@@ -0,0 +1,57 @@
+package com.Agora.Agora.Config;
+
+import com.Agora.Agora.Service.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Answers If-None-Match for @ConditionalGet handlers before they run, so a revalidation costs a
+// version lookup instead of the queries and serialization behind the response.
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ResourceVersions versions;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConditionalGet conditional = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditional == null
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+
+        Map<String, String> pathVariables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String version = versions.version(conditional.value(), pathVariables == null ? Map.of() : pathVariables);
+        if (version == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(conditional).getHeaderValue());
+        // Sets the ETag either way, and the 304 status when it matches.
+        return !new ServletWebRequest(request, response).checkNotModified("\"" + version + "\"");
+    }
+
+    private static CacheControl cacheControl(ConditionalGet conditional) {
+        CacheControl cacheControl = conditional.maxAgeSeconds() > 0
+                ? CacheControl.maxAge(conditional.maxAgeSeconds(), TimeUnit.SECONDS)
+                : CacheControl.noCache();
+        return conditional.shared() ? cacheControl.cachePublic() : cacheControl;
+    }
+}
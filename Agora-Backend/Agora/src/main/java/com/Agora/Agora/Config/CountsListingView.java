@@ -0,0 +1,13 @@
+package com.Agora.Agora.Config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a GET handler whose {id} path variable is a listing being viewed. The view is counted
+// before @ConditionalGet runs, so a 304 revalidation still counts.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CountsListingView {
+}
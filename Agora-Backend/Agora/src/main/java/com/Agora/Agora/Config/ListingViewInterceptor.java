@@ -0,0 +1,45 @@
+package com.Agora.Agora.Config;
+
+import com.Agora.Agora.Service.ListingViewCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+// Counts a view for @CountsListingView handlers once they have served the listing. Registered ahead
+// of ConditionalGetInterceptor, so a 304 from it still completes here.
+@Component
+@RequiredArgsConstructor
+public class ListingViewInterceptor implements HandlerInterceptor {
+
+    private final ListingViewCounter viewCounter;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        // Only listings that were actually served, so unknown ids can't fill the view buffer.
+        // A 304 is a view of a listing the client already has.
+        int status = response.getStatus();
+        boolean served = (status >= 200 && status < 300) || status == HttpServletResponse.SC_NOT_MODIFIED;
+        if (ex == null && served
+                && handler instanceof HandlerMethod method
+                && method.hasMethodAnnotation(CountsListingView.class)
+                && HttpMethod.GET.matches(request.getMethod())) {
+            Map<String, String> pathVariables = (Map<String, String>) request
+                    .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            String id = pathVariables == null ? null : pathVariables.get("id");
+            try {
+                viewCounter.record(Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                // Not a listing id.
+            }
+        }
+    }
+}
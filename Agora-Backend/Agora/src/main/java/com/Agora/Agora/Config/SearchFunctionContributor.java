@@ -0,0 +1,36 @@
+package com.Agora.Agora.Config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registers the PostgreSQL full-text and trigram operators so Specifications can use them.
+// Loaded by Hibernate through META-INF/services.
+public class SearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+
+        // fts_match(vector, query) -> vector @@ to_tsquery(query)
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_match", "(?1 @@ to_tsquery('english', ?2))", booleanType);
+
+        // fts_rank(vector, query) -> ts_rank(vector, to_tsquery(query))
+        // Widened to float8 so the value read back into a keyset cursor compares equal on the next page.
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts_rank", "cast(ts_rank(?1, to_tsquery('english', ?2)) as double precision)", doubleType);
+
+        // trgm_word_match(query, text) -> query <% text (pg_trgm, GIN-indexable)
+        functionContributions.getFunctionRegistry().registerPattern(
+                "trgm_word_match", "(?1 <% ?2)", booleanType);
+
+        // trgm_word_similarity(query, text) -> word_similarity(query, text), widened like fts_rank.
+        functionContributions.getFunctionRegistry().registerPattern(
+                "trgm_word_similarity", "cast(word_similarity(?1, ?2) as double precision)", doubleType);
+    }
+}
@@ -44,7 +44,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/Agora/Token/validate").permitAll()
 
                         // Search endpoint
-                        .requestMatchers(HttpMethod.POST, "/Agora/listing/search").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/Agora/listing/search/**").permitAll()
 
                         // Listing endpoints
                         .requestMatchers(HttpMethod.POST, "/Agora/listing/**").authenticated()
@@ -58,6 +58,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/Agora/favorites/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/Agora/favorites/**").authenticated()
 
+                        // Listing image uploads; /images/** serves them when storage is local.
+                        .requestMatchers(HttpMethod.POST, "/Agora/images/**").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/Agora/images/**").authenticated()
+
                         // Profile.
                         .requestMatchers(HttpMethod.GET, "/images/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/Agora/profile/seller/**").permitAll()
@@ -70,6 +74,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/Agora/ChatRoom/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/Agora/ChatRoom/**").authenticated()
 
+                        // Chat WebSocket handshake; the STOMP CONNECT frame carries the JWT.
+                        .requestMatchers(HttpMethod.GET, "/Agora/ws/**").permitAll()
+
                         // Reporting
                         .requestMatchers(HttpMethod.POST, "/Agora/report/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/Agora/report/**").authenticated()
@@ -87,6 +94,11 @@ public class SecurityConfig {
                         // Expo-token
                         .requestMatchers(HttpMethod.POST, "/Agora/expo/**").permitAll()
 
+                        // Saved searches
+                        .requestMatchers(HttpMethod.GET, "/Agora/saved-searches/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/Agora/saved-searches/**").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/Agora/saved-searches/**").authenticated()
+
                         // Notifications
                         .requestMatchers(HttpMethod.POST, "/Agora/notifications/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/Agora/notifications/**").authenticated()
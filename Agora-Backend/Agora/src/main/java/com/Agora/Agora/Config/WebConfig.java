@@ -0,0 +1,32 @@
+package com.Agora.Agora.Config;
+
+import com.Agora.Agora.Service.LocalImageStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ListingViewInterceptor listingViewInterceptor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final ObjectProvider<LocalImageStorage> localImageStorage;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Views first: a 304 from the conditional GET stops the chain.
+        registry.addInterceptor(listingViewInterceptor);
+        registry.addInterceptor(conditionalGetInterceptor);
+    }
+
+    // Only with application.images.storage=local; Cloudinary serves its own URLs.
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        localImageStorage.ifAvailable(storage -> registry.addResourceHandler("/images/**")
+                .addResourceLocations(storage.location()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.Agora.Agora.Config;
+
+import com.Agora.Agora.Jwt.JwtChannelInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+// STOMP over WebSocket at /Agora/ws for live chat. Connections are fanned out by the in-process
+// simple broker; with application.chat.broker.relay.enabled the broker is an external STOMP server
+// (RabbitMQ, ActiveMQ) instead, shared by every node, so a message saved on one node reaches
+// sessions connected to any of them.
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    // Client and server heartbeats, so dead mobile connections are noticed and proxies keep live ones.
+    private static final long[] HEARTBEAT_MILLIS = {10_000, 10_000};
+
+    private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final ChatSubscriptionInterceptor chatSubscriptionInterceptor;
+    private final String[] allowedOrigins;
+    private final boolean relayEnabled;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+
+    public WebSocketConfig(JwtChannelInterceptor jwtChannelInterceptor,
+                           ChatSubscriptionInterceptor chatSubscriptionInterceptor,
+                           @Value("${application.chat.websocket.allowed-origins:*}") String[] allowedOrigins,
+                           @Value("${application.chat.broker.relay.enabled:false}") boolean relayEnabled,
+                           @Value("${application.chat.broker.relay.host:localhost}") String relayHost,
+                           @Value("${application.chat.broker.relay.port:61613}") int relayPort,
+                           @Value("${application.chat.broker.relay.login:guest}") String relayLogin,
+                           @Value("${application.chat.broker.relay.passcode:guest}") String relayPasscode) {
+        this.jwtChannelInterceptor = jwtChannelInterceptor;
+        this.chatSubscriptionInterceptor = chatSubscriptionInterceptor;
+        this.allowedOrigins = allowedOrigins;
+        this.relayEnabled = relayEnabled;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/Agora/ws").setAllowedOriginPatterns(allowedOrigins);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        if (relayEnabled) {
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // Inbox messages for users connected to another node are resolved there.
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(HEARTBEAT_MILLIS)
+                    .setTaskScheduler(heartbeatScheduler());
+        }
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(jwtChannelInterceptor, chatSubscriptionInterceptor);
+    }
+
+    // The broker registers its own TaskScheduler bean, which would stop Boot from creating the one
+    // @Scheduled jobs run on and leave them sharing the broker's. Declaring it keeps them apart.
+    @Bean
+    ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    private static ThreadPoolTaskScheduler heartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("stomp-heartbeat-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
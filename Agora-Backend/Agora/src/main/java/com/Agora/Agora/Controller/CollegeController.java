@@ -16,9 +16,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.Agora.Agora.Config.ConditionalGet;
 import com.Agora.Agora.Dto.Request.CollegeReqDto;
 import com.Agora.Agora.Dto.Response.CollegeResponseDto;
 import com.Agora.Agora.Service.CollegeService;
+import com.Agora.Agora.Service.ResourceVersions;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +42,7 @@ public class CollegeController {
 
     // Get all colleges
     @GetMapping("/colleges")
+    @ConditionalGet(value = ResourceVersions.Resource.COLLEGES, maxAgeSeconds = 3600, shared = true)
     public ResponseEntity<List<CollegeResponseDto>> getAllColleges() {
         return ResponseEntity.ok(collegeService.getAllColleges());
     }
@@ -69,6 +72,7 @@ public class CollegeController {
 
     // Search colleges
     @GetMapping("/colleges/search")
+    @ConditionalGet(value = ResourceVersions.Resource.COLLEGES, maxAgeSeconds = 3600, shared = true)
     public ResponseEntity<List<CollegeResponseDto>> searchColleges(
             @RequestParam(name = "query", defaultValue = "") String query) {
         if (query.trim().length() < 2) {
@@ -1,5 +1,6 @@
 package com.Agora.Agora.Controller;
 
+import com.Agora.Agora.Dto.Response.ListingCardDto;
 import com.Agora.Agora.Dto.Response.ListingResponseDto;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Service.FavoriteService;
@@ -32,7 +33,7 @@ public class FavoriteController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ListingResponseDto>> getFavorites(Authentication authentication) {
+    public ResponseEntity<List<ListingCardDto>> getFavorites(Authentication authentication) {
         AgoraUser user = (AgoraUser) authentication.getPrincipal();
         return ResponseEntity.ok(favoriteService.getUserFavoritesById(user.getId()));
     }
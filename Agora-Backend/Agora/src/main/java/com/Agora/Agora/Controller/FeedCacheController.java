@@ -0,0 +1,35 @@
+package com.Agora.Agora.Controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Agora.Agora.Dto.Response.FeedCacheStatsDto;
+import com.Agora.Agora.Service.ListingFeedCache;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("Agora/Admin/feed-cache")
+@RequiredArgsConstructor
+public class FeedCacheController {
+
+    private final ListingFeedCache feedCache;
+
+    // Hit/miss/eviction counters, for sizing max-size and the TTL.
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FeedCacheStatsDto> stats() {
+        return ResponseEntity.ok(feedCache.stats());
+    }
+
+    @PostMapping("/clear")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> clear() {
+        feedCache.invalidate();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.Agora.Agora.Controller;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.Agora.Agora.Dto.Response.ImageUploadDto;
+import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Service.ImagePipeline;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("Agora/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImagePipeline imagePipeline;
+
+    // Accepted for processing; poll GET /upload/{id} until it is READY or FAILED.
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file,
+                                    @AuthenticationPrincipal AgoraUser user) throws IOException {
+        try {
+            return ResponseEntity.accepted().body(imagePipeline.submit(file, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("message", "Too many uploads in progress, try again shortly"));
+        }
+    }
+
+    @GetMapping("/upload/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ImageUploadDto> getUpload(@PathVariable String id,
+                                                    @AuthenticationPrincipal AgoraUser user) {
+        ImageUploadDto upload = imagePipeline.get(id, user.getId());
+        return upload == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(upload);
+    }
+}
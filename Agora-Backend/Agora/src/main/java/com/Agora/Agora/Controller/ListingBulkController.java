@@ -0,0 +1,66 @@
+package com.Agora.Agora.Controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Agora.Agora.Dto.Response.BulkTransferDto;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Service.ListingBulkService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("Agora/Admin/listings")
+@RequiredArgsConstructor
+public class ListingBulkController {
+
+    private final ListingBulkService bulkService;
+
+    // Every listing (or those with status) as NDJSON or CSV, written while it is read.
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(required = false) ItemStatus status,
+                       HttpServletResponse response) throws IOException {
+        ListingBulkService.Format parsed = ListingBulkService.Format.parse(format);
+        if (parsed == null) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "format must be ndjson or csv");
+            return;
+        }
+        String extension = parsed.name().toLowerCase();
+        response.setContentType(parsed == ListingBulkService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"listings-" + LocalDate.now() + "." + extension + "\"");
+        bulkService.export(parsed, status, response.getOutputStream());
+    }
+
+    // One listing per line, in the export's NDJSON shape.
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkTransferDto> importListings(InputStream body) throws IOException {
+        BulkTransferDto report = bulkService.importNdjson(body);
+        HttpStatus status = "FAILED".equals(report.getState()) ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
+        return ResponseEntity.status(status).body(report);
+    }
+
+    // Running transfers and the last few finished ones, with progress and throughput.
+    @GetMapping("/transfers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BulkTransferDto>> transfers() {
+        return ResponseEntity.ok(bulkService.transfers());
+    }
+}
@@ -1,16 +1,27 @@
 package com.Agora.Agora.Controller;
 
+import com.Agora.Agora.Config.ConditionalGet;
+import com.Agora.Agora.Config.CountsListingView;
 import com.Agora.Agora.Dto.Request.ListingFilterReqDto;
 import com.Agora.Agora.Dto.Request.ListingReqDto;
 import com.Agora.Agora.Dto.Response.CategoryCountResponseDto;
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Dto.Response.ListingFeedSliceDto;
 import com.Agora.Agora.Dto.Response.ListingResponseDto;
+import com.Agora.Agora.Dto.Response.SuggestionDto;
 import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Service.ForYouService;
+import com.Agora.Agora.Service.ListingFeedCache;
 import com.Agora.Agora.Service.ListingService;
+import com.Agora.Agora.Service.ListingSuggestService;
+import com.Agora.Agora.Service.ResourceVersions;
+import com.Agora.Agora.Service.SimilarListingsService;
+import com.Agora.Agora.Service.TrendingService;
 import com.Agora.Agora.Service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -18,6 +29,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("Agora/listing")
@@ -26,17 +38,28 @@ public class ListingController {
 
     private final ListingService listingService;
     private final UserService userService;
+    private final ListingSuggestService listingSuggestService;
+    private final ListingFeedCache listingFeedCache;
+    private final ForYouService forYouService;
+    private final TrendingService trendingService;
+    private final SimilarListingsService similarListingsService;
 
     // Create.
     @PostMapping("/create")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ListingResponseDto> createListing(@Valid @RequestBody ListingReqDto req) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(listingService.createListing(req));
+    public ResponseEntity<?> createListing(@Valid @RequestBody ListingReqDto req) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(listingService.createListing(req));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     // Get Listing by ID.
     @GetMapping("/{id}")
+    @CountsListingView
+    @ConditionalGet(ResourceVersions.Resource.LISTING)
     public ResponseEntity<ListingResponseDto> getListingById(@Valid @PathVariable Long id) {
         return ResponseEntity.ok(listingService.getListingById(id));
     }
@@ -48,11 +71,13 @@ public class ListingController {
 //    }
 
     @GetMapping("/all")
-    public ResponseEntity<Page<ListingResponseDto>> getAllListings(
+    public ResponseEntity<?> getAllListings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "postDate") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir,
+            // Skips the total count; the response only says whether another page exists.
+            @RequestParam(defaultValue = "false") boolean slice,
             Authentication auth) {
 
         Long currentUserId = null;
@@ -61,15 +86,59 @@ public class ListingController {
             currentUserId = user.getId();
         }
 
+        // Anonymous visitors all get the same pages, served pre-serialized from the feed cache.
+        if (currentUserId == null) {
+            byte[] body = listingFeedCache.getPage(page, size, sortBy, sortDir, slice, () -> slice
+                    ? listingService.getListingFeedSlice(page, size, sortBy, sortDir, null)
+                    : listingService.getAllListings(page, size, sortBy, sortDir, null));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
+        if (slice) {
+            return ResponseEntity.ok(listingService.getListingFeedSlice(page, size, sortBy, sortDir, currentUserId));
+        }
         return ResponseEntity.ok(listingService.getAllListings(page, size, sortBy, sortDir, currentUserId));
     }
 
+    // Personalized feed from the latest ranking run; slice-shaped like /all?slice=true.
+    @GetMapping("/for-you")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ListingFeedSliceDto> getForYouFeed(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + ForYouService.DEFAULT_PAGE_SIZE) int size,
+            Authentication auth) {
+        AgoraUser user = (AgoraUser) auth.getPrincipal();
+        return ResponseEntity.ok(forYouService.getFeed(user.getId(), page, size));
+    }
+
+    // Most active listings over the last few hours, at one college or everywhere; refreshed every
+    // few seconds from favorites, new chats, offers and views.
+    @GetMapping("/trending")
+    public ResponseEntity<List<ListingCardDto>> getTrending(
+            @RequestParam(required = false) Long collegeId,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AgoraUser user) {
+        return ResponseEntity.ok(trendingService.getTrending(collegeId, size, user == null ? null : user.getId()));
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<ListingCardDto>> getSimilar(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal AgoraUser user) {
+        return ResponseEntity.ok(similarListingsService.getSimilar(id, size, user == null ? null : user.getId()));
+    }
+
     // Updating
     @PutMapping("update/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ListingResponseDto> updateListing(@Valid @PathVariable Long id,
-                                                            @Valid @RequestBody ListingReqDto req) {
-        return ResponseEntity.ok(listingService.updateListing(id, req));
+    public ResponseEntity<?> updateListing(@Valid @PathVariable Long id,
+                                           @Valid @RequestBody ListingReqDto req) {
+        try {
+            return ResponseEntity.ok(listingService.updateListing(id, req));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @DeleteMapping("delete/{id}")
@@ -98,28 +167,66 @@ public class ListingController {
 //    }
 
     @PostMapping("/search")
-    public ResponseEntity<List<ListingResponseDto>> searchListings(
+    public ResponseEntity<?> searchListings(
+            @Valid @RequestBody ListingFilterReqDto req,
+            @AuthenticationPrincipal AgoraUser user) {
+
+        Long currentUserId = (user != null) ? user.getId() : null;
+
+        try {
+            List<ListingCardDto> results = listingService.searchListings(req, currentUserId);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            // A malformed cursor, an unknown sortBy or a bad location filter.
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Keyset-paginated search with an opaque continuation cursor.
+    @PostMapping("/search/page")
+    public ResponseEntity<?> searchListingsPage(
             @Valid @RequestBody ListingFilterReqDto req,
             @AuthenticationPrincipal AgoraUser user) {
 
         Long currentUserId = (user != null) ? user.getId() : null;
 
-        List<ListingResponseDto> results = listingService.searchListings(req, currentUserId);
-        return ResponseEntity.ok(results);
+        try {
+            return ResponseEntity.ok(listingService.searchListingsPage(req, currentUserId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
 
     @GetMapping("/my-listings")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ListingResponseDto>> getMyListings(Authentication authentication) {
+    public ResponseEntity<List<ListingCardDto>> getMyListings(Authentication authentication) {
         AgoraUser currentUser = userService.getCurrentUser();
-        List<ListingResponseDto> listings = listingService.getListingByUserId(currentUser.getId());
+        List<ListingCardDto> listings = listingService.getListingByUserId(currentUser.getId());
         return ResponseEntity.ok(listings);
     }
 
+    // Search-as-you-type completions; served from memory, never touches the database.
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(required = false) Long collegeId,
+            @RequestParam(defaultValue = "8") int limit,
+            @AuthenticationPrincipal AgoraUser user) {
+
+        // Default to the caller's own campus.
+        if (collegeId == null && user != null && user.getCollege() != null) {
+            collegeId = user.getCollege().getId();
+        }
+
+        return ResponseEntity.ok(listingSuggestService.suggest(query, collegeId, limit));
+    }
+
     @GetMapping("/popular-categories")
-    public ResponseEntity<List<CategoryCountResponseDto>> getPopularCategories() {
-        return ResponseEntity.ok(listingService.getPopularCategories());
+    @ConditionalGet(value = ResourceVersions.Resource.CATEGORY_COUNTS, maxAgeSeconds = 60, shared = true)
+    public ResponseEntity<List<CategoryCountResponseDto>> getPopularCategories(
+            @RequestParam(required = false) Long collegeId) {
+        return ResponseEntity.ok(listingService.getPopularCategories(collegeId));
     }
 
 }
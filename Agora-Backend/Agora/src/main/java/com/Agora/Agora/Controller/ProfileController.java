@@ -1,20 +1,22 @@
 package com.Agora.Agora.Controller;
 
 import com.Agora.Agora.Dto.Request.UserReqDto;
-import com.Agora.Agora.Dto.Response.ListingResponseDto;
 import com.Agora.Agora.Dto.Response.UserResponseDto;
 import com.Agora.Agora.Model.AgoraUser;
-import com.Agora.Agora.Service.ListingService;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Service.SellerProfileService;
 import com.Agora.Agora.Service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,7 +26,7 @@ public class ProfileController {
 
     // private final UserRepo userRepo;
     private final UserService userService;
-    private final ListingService listingService;
+    private final SellerProfileService sellerProfileService;
 
     @GetMapping("/myProfile")
     @PreAuthorize("isAuthenticated()")
@@ -45,18 +47,37 @@ public class ProfileController {
         return ResponseEntity.ok(responseDTO);
     }
 
-    // Seller's profile
+    // Seller's profile: the cached header plus one page of listings. Repeat visits with the ETag get a 304
+    // straight from the header, before any listings are loaded. Deactivated listings are never public.
     @GetMapping("/seller/{userId}")
-    public ResponseEntity<Map<String, Object>> getSellerProfile(@PathVariable Long userId) {
-        UserResponseDto sellerInfo = userService.findById(userId);
-
-        List<ListingResponseDto> listing = listingService.getListingByUserId(userId);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("seller", sellerInfo);
-        response.put("listing", listing);
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> getSellerProfile(
+            @PathVariable Long userId,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + SellerProfileService.DEFAULT_PAGE_SIZE) int size,
+            WebRequest request) {
+        if (status == ItemStatus.DEACTIVATED) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Deactivated listings are not public"));
+        }
+        SellerProfileService.Header header = sellerProfileService.getHeader(userId);
+        String etag = sellerProfileService.etag(header, status, cursor, size);
+        Instant lastModified = header.dto().getLastModified();
+
+        boolean notModified = lastModified == null
+                ? request.checkNotModified(etag)
+                : request.checkNotModified(etag, lastModified.toEpochMilli());
+        if (notModified) {
+            return null;
+        }
+
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(sellerProfileService.getPage(header, status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor, or one from another sort.
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/image")
@@ -1,8 +1,10 @@
 package com.Agora.Agora.Controller;
 
+import com.Agora.Agora.Config.ConditionalGet;
 import com.Agora.Agora.Dto.Request.ReviewReqDto;
 import com.Agora.Agora.Dto.Response.ReviewResponse;
 import com.Agora.Agora.Dto.Response.ReviewStatsDto;
+import com.Agora.Agora.Service.ResourceVersions;
 import com.Agora.Agora.Service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -43,27 +45,32 @@ public class ReviewController {
     }
 
     @GetMapping("/{listingId}")
+    @ConditionalGet(ResourceVersions.Resource.REVIEWS)
     public ResponseEntity<List<ReviewResponse>> getReviewsForListings(@PathVariable Long listingId) {
         return ResponseEntity.ok(reviewService.getReviewsForListing(listingId));
     }
 
     @GetMapping("/user/{userId}")
+    @ConditionalGet(ResourceVersions.Resource.REVIEWS)
     public ResponseEntity<List<ReviewResponse>> getReviewsByUser(@PathVariable Long userId) {
         return ResponseEntity.ok(reviewService.getReviewsByUser(userId));
     }
 
     @GetMapping("/seller/{sellerId}/avg")
+    @ConditionalGet(ResourceVersions.Resource.REVIEWS)
     public ResponseEntity<Double> getSellerAverageRating(@PathVariable Long sellerId) {
         Double avg = reviewService.getAverageRatingForSeller(sellerId);
         return ResponseEntity.ok(avg != null ? avg : 0.0);
     }
 
     @GetMapping("/seller/{sellerId}/stats")
+    @ConditionalGet(ResourceVersions.Resource.REVIEWS)
     public ResponseEntity<ReviewStatsDto> getSellerStats(@PathVariable Long sellerId) {
         return ResponseEntity.ok(reviewService.getSellerStats(sellerId));
     }
 
     @GetMapping("/user/{userId}/avg")
+    @ConditionalGet(ResourceVersions.Resource.REVIEWS)
     public ResponseEntity<Double> getUserAverageRating(@PathVariable Long userId) {
         Double avg = reviewService.getAverageRatingByUser(userId);
         return ResponseEntity.ok(avg != null ? avg : 0.0);
@@ -0,0 +1,58 @@
+package com.Agora.Agora.Controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Agora.Agora.Dto.Request.SavedSearchReqDto;
+import com.Agora.Agora.Dto.Response.SavedSearchResponseDto;
+import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Service.SavedSearchService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("Agora/saved-searches")
+@RequiredArgsConstructor
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SavedSearchResponseDto>> getSavedSearches(@AuthenticationPrincipal AgoraUser user) {
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(user.getId()));
+    }
+
+    // New listings matching the search notify the user.
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> create(@Valid @RequestBody SavedSearchReqDto req,
+                                    @AuthenticationPrincipal AgoraUser user) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedSearchService.create(user.getId(), req));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> delete(@PathVariable Long id, @AuthenticationPrincipal AgoraUser user) {
+        return savedSearchService.delete(user.getId(), id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
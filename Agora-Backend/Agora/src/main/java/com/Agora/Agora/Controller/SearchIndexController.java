@@ -0,0 +1,40 @@
+package com.Agora.Agora.Controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Agora.Agora.Dto.Response.SearchIndexReportDto;
+import com.Agora.Agora.Service.ListingSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("Agora/Admin/search-index")
+@RequiredArgsConstructor
+public class SearchIndexController {
+
+    private final ListingSearchIndex searchIndex;
+
+    // Compare the in-memory index with the database; repair=true also fixes the differences.
+    @GetMapping("/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchIndexReportDto> verify(@RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(searchIndex.verify(repair));
+    }
+
+    // Rebuild the whole index from the database.
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuild() {
+        if (!searchIndex.isEnabled()) {
+            return ResponseEntity.badRequest().build();
+        }
+        searchIndex.rebuild();
+        return ResponseEntity.ok().build();
+    }
+}
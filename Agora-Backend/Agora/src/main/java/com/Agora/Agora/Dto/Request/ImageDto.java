@@ -12,4 +12,7 @@ import lombok.Setter;
 public class ImageDto {
     private String url;
     private String publicId;
+    // As returned by GET /Agora/images/upload/{id}; optional.
+    private String thumbnailUrl;
+    private String feedUrl;
 }
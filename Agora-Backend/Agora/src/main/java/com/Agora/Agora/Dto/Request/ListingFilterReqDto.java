@@ -24,10 +24,23 @@ public class ListingFilterReqDto {
 
     private Long collegeId;
     private String collegeName;
+    // Listings from colleges within radiusKm of this point; sortBy "distance" puts the nearest first.
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
     private String sortBy;
     private String sortOrder;
 
     private int page;
     private int size;
 
+    // Keyset pagination: nextCursor from the previous page, null for the first page.
+    private String cursor;
+    // Total match count costs an extra COUNT query, so it is only computed on request.
+    private boolean includeTotal;
+    // Category / condition / price-range counts for the whole result set, for the filter UI.
+    private boolean includeFacets;
+    // Typo-tolerant matching: keyword, title and collegeName use trigram similarity instead of exact terms.
+    private boolean fuzzy;
+
 }
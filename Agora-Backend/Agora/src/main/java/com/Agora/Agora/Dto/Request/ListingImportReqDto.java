@@ -0,0 +1,52 @@
+package com.Agora.Agora.Dto.Request;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+// One line of a bulk import. Same field names as the NDJSON export, so an export can be loaded back;
+// exported ids and timestamps other than postDate are ignored.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingImportReqDto {
+
+    @NotBlank(message = "Title cannot be blank")
+    @Size(max = 50, message = "Title is longer than 50 characters")
+    private String title;
+    @NotBlank(message = "Description cannot be blank")
+    private String description;
+    @NotNull(message = "Enter a valid price")
+    @DecimalMin(value = "10.0", message = "Minimum price is ₹10")
+    @DecimalMax(value = "999999.0", message = "Maximum price is ₹9,99,999")
+    private BigDecimal price;
+    @NotBlank(message = "Category cannot be null")
+    private String category;
+    @NotNull(message = "Item condition is required")
+    private ItemCondition itemCondition;
+    // AVAILABLE when missing.
+    private ItemStatus itemStatus;
+    // The time of the import when missing.
+    private Instant postDate;
+
+    @NotNull(message = "Seller is required")
+    private Long sellerId;
+    // The seller's college when missing.
+    private Long collegeId;
+
+    private List<@Valid ImageDto> images;
+}
@@ -0,0 +1,33 @@
+package com.Agora.Agora.Dto.Request;
+
+import java.math.BigDecimal;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// The ListingFilterReqDto filters a saved search can match new listings on.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchReqDto {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+
+    @Size(max = 200, message = "Keyword must be at most 200 characters")
+    private String keyword;
+    @Size(max = 100, message = "Category must be at most 100 characters")
+    private String category;
+    private Long collegeId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private ItemCondition itemCondition;
+}
@@ -0,0 +1,34 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferDto {
+
+    private String id;
+    // EXPORT or IMPORT, and NDJSON or CSV.
+    private String kind;
+    private String format;
+    // RUNNING, COMPLETED or FAILED.
+    private String state;
+
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    // Listings written out (export) or inserted (import) so far, and import lines skipped.
+    private long rows;
+    private long rejectedRows;
+    private double rowsPerSecond;
+
+    // First few rejected lines with the reason, then the failure if the transfer stopped.
+    private List<String> errors;
+}
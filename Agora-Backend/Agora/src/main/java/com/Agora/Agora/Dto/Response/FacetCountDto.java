@@ -0,0 +1,17 @@
+package com.Agora.Agora.Dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDto {
+
+    private String value;
+    private long count;
+
+}
@@ -0,0 +1,25 @@
+package com.Agora.Agora.Dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedCacheStatsDto {
+
+    private boolean enabled;
+    private long cachedPages;
+
+    // Since startup.
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    // Pages dropped for size or TTL; invalidations are counted separately.
+    private long evictionCount;
+    private long invalidationCount;
+    private double averageLoadMillis;
+}
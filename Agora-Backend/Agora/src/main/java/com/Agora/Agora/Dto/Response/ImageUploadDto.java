@@ -0,0 +1,26 @@
+package com.Agora.Agora.Dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUploadDto {
+
+    private String id;
+    // PENDING, PROCESSING, READY or FAILED.
+    private String state;
+
+    // Set once READY; send them back as the listing's ImageDto.
+    private String url;
+    private String publicId;
+    private String thumbnailUrl;
+    private String feedUrl;
+
+    // Why it FAILED.
+    private String error;
+}
@@ -0,0 +1,35 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.Enums.VerificationStatus;
+
+// What a feed, search result or favorites list shows for a listing. Read straight from one SQL
+// query, without the description or the full image list; GET /listing/{id} has the details.
+public record ListingCardDto(
+        Long id,
+        String title,
+        BigDecimal price,
+        String category,
+        ItemCondition itemCondition,
+        ItemStatus itemStatus,
+        Instant postDate,
+        String thumbnailUrl,
+        SellerSummary seller,
+        CollegeSummary college) {
+
+    public record SellerSummary(
+            Long id,
+            String userName,
+            String firstName,
+            String lastName,
+            String profileImage,
+            VerificationStatus verificationStatus) {
+    }
+
+    public record CollegeSummary(Long id, String collegeName) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingFacetsDto {
+
+    // Most common first.
+    private List<FacetCountDto> categories;
+    private List<FacetCountDto> conditions;
+    // Every bucket in price order, including empty ones.
+    private List<PriceRangeFacetDto> priceRanges;
+
+}
@@ -0,0 +1,21 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// A feed page without totals, for infinite scroll. Field names follow Page's JSON where they overlap.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingFeedSliceDto {
+
+    private List<ListingCardDto> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+}
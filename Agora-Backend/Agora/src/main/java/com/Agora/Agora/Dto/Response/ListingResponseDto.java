@@ -27,6 +27,8 @@ public class ListingResponseDto {
     private String category;
     private Instant postDate;
     private List<String> imageUrl;
+    // As of the last view-counter flush, a few seconds behind.
+    private long viewCount;
 
     private ItemCondition itemCondition;
     private ItemStatus itemStatus;
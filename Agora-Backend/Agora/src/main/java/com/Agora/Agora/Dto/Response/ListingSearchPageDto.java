@@ -0,0 +1,28 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingSearchPageDto {
+
+    private List<ListingCardDto> items;
+
+    // Pass back as ListingFilterReqDto.cursor to fetch the next page; null on the last page.
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Only set when includeTotal was requested.
+    private Long totalCount;
+
+    // Only set when includeFacets was requested.
+    private ListingFacetsDto facets;
+
+}
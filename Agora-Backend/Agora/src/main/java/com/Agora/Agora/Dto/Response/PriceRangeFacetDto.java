@@ -0,0 +1,21 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRangeFacetDto {
+
+    // min inclusive, max exclusive; null max means "and above".
+    private BigDecimal min;
+    private BigDecimal max;
+    private long count;
+
+}
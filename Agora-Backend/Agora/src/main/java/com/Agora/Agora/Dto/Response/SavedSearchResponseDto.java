@@ -0,0 +1,28 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchResponseDto {
+
+    private Long id;
+    private String name;
+    private String keyword;
+    private String category;
+    private Long collegeId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private ItemCondition itemCondition;
+    private Instant createdAt;
+}
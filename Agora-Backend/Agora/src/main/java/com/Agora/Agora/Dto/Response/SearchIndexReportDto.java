@@ -0,0 +1,36 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexReportDto {
+
+    private boolean enabled;
+    private boolean ready;
+
+    // AVAILABLE listings in the database vs documents in the index.
+    private long databaseCount;
+    private long indexedCount;
+
+    // Listings the index is missing, has with outdated fields, or should not have at all.
+    private long missingCount;
+    private long staleCount;
+    private long unexpectedCount;
+
+    // First few ids of each kind, for digging in.
+    private List<Long> missingIds;
+    private List<Long> staleIds;
+    private List<Long> unexpectedIds;
+
+    // Whether the differences were fixed in place.
+    private boolean repaired;
+
+}
@@ -0,0 +1,30 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// The top of a seller's profile. Cached per seller; see SellerProfileService.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerProfileHeaderDto {
+
+    private UserResponseDto seller;
+
+    // Listings anyone can see, i.e. everything but DEACTIVATED.
+    private long listingCount;
+    private long availableCount;
+    private long soldCount;
+
+    private double averageRating;
+    private long reviewCount;
+    private long followerCount;
+
+    // Latest change to any visible listing; null if there are none.
+    private Instant lastModified;
+}
@@ -0,0 +1,24 @@
+package com.Agora.Agora.Dto.Response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerProfilePageDto {
+
+    private SellerProfileHeaderDto header;
+
+    // Newest first.
+    private List<ListingCardDto> listings;
+
+    // Pass back as cursor to fetch the next page; null on the last page.
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.Agora.Agora.Dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+
+    private String text;
+    // TITLE or CATEGORY.
+    private String type;
+    // Available listings behind this suggestion.
+    private int listingCount;
+
+}
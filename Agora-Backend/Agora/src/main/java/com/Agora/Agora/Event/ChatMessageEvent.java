@@ -0,0 +1,24 @@
+package com.Agora.Agora.Event;
+
+import com.Agora.Agora.Dto.Response.MessageResponseDto;
+import com.Agora.Agora.Model.ChatRoom;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A chat message saved by ChatService, with who should receive it. Read by ChatMessageBroadcaster,
+// which pushes it to connected participants once the message is committed.
+@Getter
+@AllArgsConstructor
+public class ChatMessageEvent {
+
+    private final Long chatRoomId;
+    // Usernames (emails), the principal names of the participants' STOMP sessions.
+    private final String buyerUsername;
+    private final String sellerUsername;
+    private final MessageResponseDto message;
+
+    public static ChatMessageEvent of(ChatRoom chatRoom, MessageResponseDto message) {
+        return new ChatMessageEvent(chatRoom.getId(), chatRoom.getBuyer().getUsername(),
+                chatRoom.getSeller().getUsername(), message);
+    }
+}
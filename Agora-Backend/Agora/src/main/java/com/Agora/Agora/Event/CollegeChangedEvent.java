@@ -0,0 +1,26 @@
+package com.Agora.Agora.Event;
+
+import com.Agora.Agora.Model.College;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by CollegeService when a college is added, edited or deleted; CollegeGeoIndex applies
+// it once the change has committed. Coordinates are null when the college has none.
+@Getter
+@AllArgsConstructor
+public class CollegeChangedEvent {
+
+    private final Long collegeId;
+    private final Double latitude;
+    private final Double longitude;
+    private final boolean deleted;
+
+    public static CollegeChangedEvent saved(College college) {
+        return new CollegeChangedEvent(college.getId(), college.getLatitude(), college.getLongitude(), false);
+    }
+
+    public static CollegeChangedEvent deleted(Long collegeId) {
+        return new CollegeChangedEvent(collegeId, null, null, true);
+    }
+}
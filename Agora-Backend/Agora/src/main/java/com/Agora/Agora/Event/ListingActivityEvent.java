@@ -0,0 +1,27 @@
+package com.Agora.Agora.Event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Buyer interest in a listing: a favorite, a new chat, an offer, or views. Published by the
+// services that record them (views in batches, by ListingViewCounter) and read by TrendingService.
+@Getter
+@AllArgsConstructor
+public class ListingActivityEvent {
+
+    public enum Activity {
+        VIEW,
+        FAVORITE,
+        CHAT,
+        OFFER
+    }
+
+    private final Long listingId;
+    private final Activity activity;
+    // More than one only for views.
+    private final long count;
+
+    public static ListingActivityEvent of(Long listingId, Activity activity) {
+        return new ListingActivityEvent(listingId, activity, 1);
+    }
+}
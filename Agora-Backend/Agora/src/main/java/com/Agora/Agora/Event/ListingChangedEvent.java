@@ -0,0 +1,89 @@
+package com.Agora.Agora.Event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.Listings;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by ListingService whenever a listing is created, edited, deactivated or deleted.
+// Carries a snapshot of the fields read models need, so listeners never touch the entity.
+@Getter
+@AllArgsConstructor
+public class ListingChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DEACTIVATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long listingId;
+    private final Long collegeId;
+    private final Long sellerId;
+
+    private final String title;
+    private final String description;
+    private final String category;
+    private final BigDecimal price;
+    private final ItemCondition itemCondition;
+    private final ItemStatus itemStatus;
+    private final Instant postDate;
+
+    // What the listing was before this change; null for CREATED.
+    private final String previousCategory;
+    private final ItemStatus previousItemStatus;
+    private final BigDecimal previousPrice;
+
+    // For CREATED and DELETED, where the previous state is implied.
+    public static ListingChangedEvent of(Type type, Listings listing) {
+        return type == Type.DELETED
+                ? of(type, listing, listing.getCategory(), listing.getItemStatus(), listing.getPrice())
+                : of(type, listing, null, null, null);
+    }
+
+    // For changes that leave the price alone.
+    public static ListingChangedEvent of(Type type, Listings listing, String previousCategory,
+                                         ItemStatus previousItemStatus) {
+        return of(type, listing, previousCategory, previousItemStatus, listing.getPrice());
+    }
+
+    public static ListingChangedEvent of(Type type, Listings listing, String previousCategory,
+                                         ItemStatus previousItemStatus, BigDecimal previousPrice) {
+        return new ListingChangedEvent(
+                type,
+                listing.getId(),
+                listing.getCollege() != null ? listing.getCollege().getId() : null,
+                listing.getSeller() != null ? listing.getSeller().getId() : null,
+                listing.getTitle(),
+                listing.getDescription(),
+                listing.getCategory(),
+                listing.getPrice(),
+                listing.getItemCondition(),
+                type == Type.DELETED ? null : listing.getItemStatus(),
+                listing.getPostDate(),
+                previousCategory,
+                previousItemStatus,
+                previousPrice);
+    }
+
+    // Whether the listing can still show up in feeds and search after this change.
+    public boolean isAvailable() {
+        return type != Type.DELETED && itemStatus == ItemStatus.AVAILABLE;
+    }
+
+    // Whether it could before.
+    public boolean wasAvailable() {
+        return previousItemStatus == ItemStatus.AVAILABLE;
+    }
+
+    public boolean isPriceDrop() {
+        return previousPrice != null && price != null && price.compareTo(previousPrice) < 0;
+    }
+}
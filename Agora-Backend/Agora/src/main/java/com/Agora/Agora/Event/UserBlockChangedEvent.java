@@ -0,0 +1,13 @@
+package com.Agora.Agora.Event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by ModerationService when one user blocks or unblocks another.
+@Getter
+@AllArgsConstructor
+public class UserBlockChangedEvent {
+
+    private final Long blockerId;
+    private final Long blockedId;
+}
@@ -0,0 +1,62 @@
+package com.Agora.Agora.Jwt;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+// Authenticates STOMP sessions with the same JWT as the REST API, sent in the CONNECT frame's
+// Authorization header. The session keeps the user for every later frame; a CONNECT without a
+// valid token is refused, which closes the connection.
+@Component
+@RequiredArgsConstructor
+public class JwtChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final BlackListService blackListService;
+    private static final Logger log = LoggerFactory.getLogger(JwtChannelInterceptor.class);
+
+    @Override
+    @SuppressWarnings("UseSpecificCatch")
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing bearer token");
+        }
+        String jwt = authHeader.substring(7);
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(jwtTokenProvider.extractUsername(jwt));
+        } catch (AuthenticationException e) {
+            throw new MessageDeliveryException("Unknown user");
+        } catch (Exception e) {
+            throw new MessageDeliveryException("Invalid token");
+        }
+        if (blackListService.isTokenBlackListed(jwt) || !jwtTokenProvider.isTokenValid(jwt, userDetails)) {
+            log.warn("Invalid or expired token on STOMP connect for user: {}", userDetails.getUsername());
+            throw new MessageDeliveryException("Invalid or expired token");
+        }
+
+        accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        return message;
+    }
+}
@@ -104,6 +104,7 @@ public class DtoMapper {
         dto.setPrice(listing.getPrice());
         dto.setCategory(listing.getCategory());
         dto.setPostDate(listing.getPostDate());
+        dto.setViewCount(listing.getViewCount());
         dto.setItemCondition(listing.getItemCondition());
         dto.setItemStatus(listing.getItemStatus());
         dto.setImageUrl(
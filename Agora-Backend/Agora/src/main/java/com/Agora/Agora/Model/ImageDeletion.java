@@ -0,0 +1,41 @@
+package com.Agora.Agora.Model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// A stored image waiting to be deleted (see schema.sql). Rows are written, claimed and retried in
+// SQL by ImageDeletionRepo, so read-only here.
+@Entity
+@Immutable
+@Table(name = "image_deletions")
+@Getter
+@NoArgsConstructor
+public class ImageDeletion {
+
+    @Id
+    private Long id;
+
+    @Column(name = "public_id", nullable = false)
+    private String publicId;
+
+    // Failed attempts so far.
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,30 @@
+package com.Agora.Agora.Model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// A listing image ImagePipeline stored, and who uploaded it (see schema.sql).
+@Entity
+@Table(name = "image_uploads")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageUpload {
+
+    @Id
+    @Column(name = "public_id")
+    private String publicId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -19,4 +19,15 @@ public class ListingImage {
     @Column(name = "public_id")
     private String publicId;
 
+    // Downscaled copies for cards and the feed, from ImagePipeline. Null for older images.
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "feed_url")
+    private String feedUrl;
+
+    public ListingImage(String url, String publicId) {
+        this(url, publicId, null, null);
+    }
+
 }
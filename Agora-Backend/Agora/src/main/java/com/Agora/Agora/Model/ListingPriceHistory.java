@@ -0,0 +1,43 @@
+package com.Agora.Agora.Model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// One price change of a listing, written by ListingService.updateListing.
+@Entity
+@Table(name = "listing_price_history")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingPriceHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "listing_id", nullable = false)
+    private Long listingId;
+
+    @Column(name = "old_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal oldPrice;
+
+    @Column(name = "new_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal newPrice;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public ListingPriceHistory(Long listingId, BigDecimal oldPrice, BigDecimal newPrice, Instant changedAt) {
+        this(null, listingId, oldPrice, newPrice, changedAt);
+    }
+}
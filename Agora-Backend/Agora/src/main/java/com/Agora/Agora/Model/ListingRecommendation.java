@@ -0,0 +1,36 @@
+package com.Agora.Agora.Model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// One user's precomputed "For You" feed (see schema.sql). Written in bulk by ForYouService, so
+// read-only here.
+@Entity
+@Immutable
+@Table(name = "listing_recommendations")
+@Getter
+@NoArgsConstructor
+public class ListingRecommendation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Best first.
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "listing_ids", nullable = false)
+    private Long[] listingIds;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+}
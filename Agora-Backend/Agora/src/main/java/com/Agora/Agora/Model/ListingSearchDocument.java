@@ -0,0 +1,26 @@
+package com.Agora.Agora.Model;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Read-only view of the generated search_vector column on listings (see schema.sql).
+// Kept off the Listings entity so regular listing loads never select the tsvector.
+@Entity
+@Immutable
+@Table(name = "listings")
+@Getter
+@NoArgsConstructor
+public class ListingSearchDocument {
+
+    @Id
+    private Long id;
+
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+}
@@ -0,0 +1,36 @@
+package com.Agora.Agora.Model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// One listing's precomputed "more like this" neighbours (see schema.sql). Written in bulk by
+// SimilarListingsService, so read-only here.
+@Entity
+@Immutable
+@Table(name = "listing_similar")
+@Getter
+@NoArgsConstructor
+public class ListingSimilar {
+
+    @Id
+    @Column(name = "listing_id")
+    private Long listingId;
+
+    // Most similar first.
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "similar_ids", nullable = false)
+    private Long[] similarIds;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+}
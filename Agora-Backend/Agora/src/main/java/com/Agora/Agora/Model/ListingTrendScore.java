@@ -0,0 +1,38 @@
+package com.Agora.Agora.Model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// A listing's trending score as of the last snapshot (see schema.sql). Written in bulk by
+// TrendingService and read back on startup, so read-only here.
+@Entity
+@Immutable
+@Table(name = "listing_trend_scores")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingTrendScore {
+
+    @Id
+    @Column(name = "listing_id")
+    private Long listingId;
+
+    @Column(name = "college_id")
+    private Long collegeId;
+
+    // Decayed to scoredAt.
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private Instant scoredAt;
+}
@@ -9,6 +9,8 @@ import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -42,9 +44,21 @@ public class Listings {
     private String category;
     @Column(nullable = false)
     private Instant postDate;
-
+    // Bumped on every change, including bulk status updates in ListingsRepo; drives seller-profile ETags.
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+    // Written only by ListingViewCounter's batched flush, never by saving the entity, so an edit
+    // can't overwrite views counted in the meantime.
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long viewCount;
+
+    // Loaded for a whole page of listings at once instead of one SELECT per listing. Kept in the order
+    // they were added; the first is the listing card's thumbnail.
     @ElementCollection
     @CollectionTable(name = "listing_images", joinColumns = @JoinColumn(name = "listing_id"))
+    @OrderColumn(name = "image_order")
+    @BatchSize(size = 50)
     @Builder.Default
     private List<ListingImage> images = new ArrayList<>();
 
@@ -0,0 +1,56 @@
+package com.Agora.Agora.Model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// A user's saved listing filters. New listings that match notify the user (see SavedSearchService).
+@Entity
+@Table(name = "saved_searches")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // An id rather than a relation: the match index is loaded for every saved search at startup.
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    private String keyword;
+    private String category;
+
+    @Column(name = "college_id")
+    private Long collegeId;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Enumerated(EnumType.STRING)
+    private ItemCondition itemCondition;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,43 @@
+package com.Agora.Agora.Model;
+
+import java.io.Serializable;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Read-only view of the user_blocks join table behind AgoraUser.blockedUsers.
+// Lets block checks query the table directly instead of going through agora_users.
+@Entity
+@Immutable
+@Table(name = "user_blocks")
+@IdClass(UserBlock.Key.class)
+@Getter
+@NoArgsConstructor
+public class UserBlock {
+
+    @Id
+    @Column(name = "blocker_id", insertable = false, updatable = false)
+    private Long blockerId;
+
+    @Id
+    @Column(name = "blocked_id", insertable = false, updatable = false)
+    private Long blockedId;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long blockerId;
+        private Long blockedId;
+    }
+}
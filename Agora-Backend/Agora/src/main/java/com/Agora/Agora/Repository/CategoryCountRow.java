@@ -0,0 +1,11 @@
+package com.Agora.Agora.Repository;
+
+// One (college, category) group from ListingsRepo.countByCollegeAndCategory.
+public interface CategoryCountRow {
+
+    Long getCollegeId();
+
+    String getCategory();
+
+    Long getItemCount();
+}
@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.ChatRoom;
@@ -15,4 +17,8 @@ public interface ChatRoomRepo extends JpaRepository<ChatRoom, Long> {
 
     List<ChatRoom> findByBuyerOrSeller(AgoraUser buyer, AgoraUser seller); // to find all chats for a user.
 
+    @Query("SELECT COUNT(c) > 0 FROM ChatRoom c " +
+            "WHERE c.id = :chatRoomId AND (c.buyer.id = :userId OR c.seller.id = :userId)")
+    boolean isParticipant(@Param("chatRoomId") Long chatRoomId, @Param("userId") Long userId);
+
 }
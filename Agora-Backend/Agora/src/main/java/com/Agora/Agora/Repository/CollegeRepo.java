@@ -15,4 +15,15 @@ public interface CollegeRepo extends JpaRepository<College, Long> {
 
     @Query("SELECT c FROM College c WHERE LOWER(c.collegeName) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY c.collegeName ASC")
     List<College> searchByCollegeName(@Param("query") String query, Pageable pageable);
+
+    // Typo-tolerant match on the trigram index over lower(college_name), closest names first.
+    @Query(value = "SELECT * FROM college c WHERE :query <% lower(c.college_name) " +
+            "ORDER BY word_similarity(:query, lower(c.college_name)) DESC, c.college_name ASC",
+            nativeQuery = true)
+    List<College> searchByCollegeNameSimilarity(@Param("query") String query, Pageable pageable);
+
+    // pg_trgm cut-off for the <% operator, for the rest of the current transaction.
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', CAST(:threshold AS text), true)",
+            nativeQuery = true)
+    String applyWordSimilarityThreshold(@Param("threshold") double threshold);
 }
@@ -0,0 +1,11 @@
+package com.Agora.Agora.Repository;
+
+// How many listings of one category a user has favorited, from FavoriteRepo.countCategoriesByUserIds.
+public interface FavoriteCategoryRow {
+
+    Long getUserId();
+
+    String getCategory();
+
+    Long getFavoriteCount();
+}
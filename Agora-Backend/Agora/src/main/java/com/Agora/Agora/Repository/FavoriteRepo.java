@@ -1,11 +1,16 @@
 package com.Agora.Agora.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Model.Enums.UserStatus;
 import com.Agora.Agora.Model.Listings;
 import com.Agora.Agora.Model.Favorite;
 
@@ -15,6 +20,19 @@ public interface FavoriteRepo extends JpaRepository<Favorite, Long> {
 
     Optional<Favorite> findByUserAndListing(AgoraUser user, Listings listing);
 
+    // Loads favorites as entities with their listing, its seller and college up front.
+    @EntityGraph(attributePaths = { "listing", "listing.seller", "listing.seller.college",
+            "listing.seller.refreshToken" })
     List<Favorite> findAllByUser(AgoraUser user);
 
+    @Query("SELECT f.user.id AS userId, f.listing.category AS category, COUNT(f) AS favoriteCount " +
+            "FROM Favorite f WHERE f.user.id IN :userIds GROUP BY f.user.id, f.listing.category")
+    List<FavoriteCategoryRow> countCategoriesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Uses idx_favorite_listing_user; one row per favorite, so a user can appear twice for a listing.
+    @Query("SELECT f.listing.id AS listingId, u.id AS userId, u.expoPushToken AS expoPushToken " +
+            "FROM Favorite f JOIN f.user u WHERE f.listing.id IN :listingIds AND u.userStatus = :status")
+    List<PriceDropRecipientRow> findPriceDropRecipients(@Param("listingIds") Collection<Long> listingIds,
+                                                        @Param("status") UserStatus status);
+
 }
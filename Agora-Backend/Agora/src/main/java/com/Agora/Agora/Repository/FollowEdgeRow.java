@@ -0,0 +1,9 @@
+package com.Agora.Agora.Repository;
+
+// One follower -> following pair, from FollowRepo.findEdgesByFollowerIds.
+public interface FollowEdgeRow {
+
+    Long getFollowerId();
+
+    Long getFollowingId();
+}
@@ -1,8 +1,11 @@
 package com.Agora.Agora.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Agora.Agora.Model.Follow;
 
@@ -14,5 +17,13 @@ public interface FollowRepo extends JpaRepository<Follow, Long> {
 
     List<Follow> findByFollowingId(Long followingId);
 
+    long countByFollowingId(Long followingId);
+
+    long countByFollowerId(Long followerId);
+
     void deleteByFollowerIdAndFollowingId(Long followerId, Long followingId);
+
+    @Query("SELECT f.follower.id AS followerId, f.following.id AS followingId FROM Follow f " +
+            "WHERE f.follower.id IN :followerIds")
+    List<FollowEdgeRow> findEdgesByFollowerIds(@Param("followerIds") Collection<Long> followerIds);
 }
@@ -0,0 +1,8 @@
+package com.Agora.Agora.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.Agora.Agora.Model.ImageDeletion;
+
+public interface ImageDeletionRepo extends JpaRepository<ImageDeletion, Long>, ImageDeletionRepoCustom {
+}
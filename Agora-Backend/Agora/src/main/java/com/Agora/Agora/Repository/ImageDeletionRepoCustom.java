@@ -0,0 +1,30 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.transaction.Transactional;
+
+public interface ImageDeletionRepoCustom {
+
+    // Joins the caller's transaction, so the deletions only happen if it commits.
+    void enqueue(Collection<String> publicIds);
+
+    // Up to limit due rows, oldest first, leased for the given time: another claim (from this or
+    // another instance) skips them until the lease runs out or they are completed.
+    @Transactional
+    List<ClaimedDeletion> claimDue(int limit, Duration lease);
+
+    void complete(Collection<Long> ids);
+
+    // Those of publicIds that some listing image still uses.
+    Set<String> findInUse(Collection<String> publicIds);
+
+    // Counts a failed attempt and pushes the rows out by backoff.
+    void retryLater(Collection<Long> ids, Duration backoff, String error);
+
+    record ClaimedDeletion(long id, String publicId, int attempts) {
+    }
+}
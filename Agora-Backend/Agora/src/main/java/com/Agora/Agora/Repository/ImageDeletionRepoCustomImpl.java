@@ -0,0 +1,87 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ImageDeletionRepoCustomImpl implements ImageDeletionRepoCustom {
+
+    private static final String INSERT = "INSERT INTO image_deletions (public_id) VALUES (?)";
+
+    // SKIP LOCKED lets concurrent dispatchers claim disjoint rows without waiting on each other.
+    private static final String CLAIM_DUE = "UPDATE image_deletions d " +
+            "SET next_attempt_at = now() + make_interval(secs => ?) " +
+            "FROM (SELECT id FROM image_deletions WHERE next_attempt_at <= now() " +
+            "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) due " +
+            "WHERE d.id = due.id RETURNING d.id, d.public_id, d.attempts";
+
+    private static final String IN_USE = "SELECT DISTINCT public_id FROM listing_images WHERE public_id = ANY(?)";
+
+    private static final String COMPLETE = "DELETE FROM image_deletions WHERE id = ANY(?)";
+
+    private static final String RETRY_LATER = "UPDATE image_deletions " +
+            "SET attempts = attempts + 1, next_attempt_at = now() + make_interval(secs => ?), last_error = ? " +
+            "WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void enqueue(Collection<String> publicIds) {
+        if (publicIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, publicIds, publicIds.size(), (ps, publicId) -> ps.setString(1, publicId));
+    }
+
+    @Override
+    public List<ClaimedDeletion> claimDue(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_DUE,
+                (rs, rowNum) -> new ClaimedDeletion(rs.getLong("id"), rs.getString("public_id"), rs.getInt("attempts")),
+                (double) lease.toSeconds(), limit);
+    }
+
+    @Override
+    public void complete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(COMPLETE);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    @Override
+    public Set<String> findInUse(Collection<String> publicIds) {
+        if (publicIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(IN_USE);
+            ps.setArray(1, con.createArrayOf("varchar", publicIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    @Override
+    public void retryLater(Collection<Long> ids, Duration backoff, String error) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(RETRY_LATER);
+            ps.setDouble(1, backoff.toSeconds());
+            ps.setString(2, error);
+            ps.setArray(3, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.Agora.Agora.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Agora.Agora.Model.ImageUpload;
+
+public interface ImageUploadRepo extends JpaRepository<ImageUpload, String> {
+
+    // Those of publicIds that a listing other than listingId already shows.
+    @Query(value = "SELECT DISTINCT public_id FROM listing_images " +
+            "WHERE public_id IN (:publicIds) AND listing_id <> :listingId", nativeQuery = true)
+    List<String> findUsedByOtherListings(@Param("publicIds") Collection<String> publicIds,
+                                         @Param("listingId") Long listingId);
+}
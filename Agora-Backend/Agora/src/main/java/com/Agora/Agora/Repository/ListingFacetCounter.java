@@ -0,0 +1,78 @@
+package com.Agora.Agora.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.Agora.Agora.Dto.Response.FacetCountDto;
+import com.Agora.Agora.Dto.Response.ListingFacetsDto;
+import com.Agora.Agora.Dto.Response.PriceRangeFacetDto;
+import com.Agora.Agora.Model.Enums.ItemCondition;
+
+// Accumulates category / condition / price-bucket counts for listing search facets.
+// Shared by the SQL and in-memory search paths so both bucket prices the same way.
+public class ListingFacetCounter {
+
+    // Upper bounds of every bucket but the last: [0, 500), [500, 1000), ... [10000, inf).
+    public static final List<BigDecimal> PRICE_BUCKET_BOUNDS = List.of(
+            new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("2500"),
+            new BigDecimal("5000"), new BigDecimal("10000"));
+
+    private final Map<String, Long> categories = new LinkedHashMap<>();
+    private final long[] conditions = new long[ItemCondition.values().length];
+    private final long[] priceBuckets = new long[PRICE_BUCKET_BOUNDS.size() + 1];
+
+    public static int priceBucket(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < PRICE_BUCKET_BOUNDS.size() && price.compareTo(PRICE_BUCKET_BOUNDS.get(bucket)) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public void add(String category, ItemCondition condition, int priceBucket, long count) {
+        if (category != null) {
+            categories.merge(category, count, Long::sum);
+        }
+        if (condition != null) {
+            conditions[condition.ordinal()] += count;
+        }
+        priceBuckets[priceBucket] += count;
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : priceBuckets) {
+            total += count;
+        }
+        return total;
+    }
+
+    public ListingFacetsDto toDto() {
+        List<FacetCountDto> categoryCounts = categories.entrySet().stream()
+                .map(e -> new FacetCountDto(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(FacetCountDto::getCount).reversed()
+                        .thenComparing(FacetCountDto::getValue))
+                .toList();
+
+        List<FacetCountDto> conditionCounts = new ArrayList<>();
+        for (ItemCondition condition : ItemCondition.values()) {
+            if (conditions[condition.ordinal()] > 0) {
+                conditionCounts.add(new FacetCountDto(condition.name(), conditions[condition.ordinal()]));
+            }
+        }
+        conditionCounts.sort(Comparator.comparingLong(FacetCountDto::getCount).reversed());
+
+        List<PriceRangeFacetDto> priceRanges = new ArrayList<>();
+        for (int i = 0; i < priceBuckets.length; i++) {
+            BigDecimal min = i == 0 ? BigDecimal.ZERO : PRICE_BUCKET_BOUNDS.get(i - 1);
+            BigDecimal max = i < PRICE_BUCKET_BOUNDS.size() ? PRICE_BUCKET_BOUNDS.get(i) : null;
+            priceRanges.add(new PriceRangeFacetDto(min, max, priceBuckets[i]));
+        }
+
+        return new ListingFacetsDto(categoryCounts, conditionCounts, priceRanges);
+    }
+}
@@ -0,0 +1,28 @@
+package com.Agora.Agora.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+
+// Just the columns the in-memory search index needs, so a rebuild never loads whole entities.
+public interface ListingIndexRow {
+
+    Long getId();
+
+    Long getCollegeId();
+
+    Long getSellerId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getCategory();
+
+    BigDecimal getPrice();
+
+    ItemCondition getItemCondition();
+
+    Instant getPostDate();
+}
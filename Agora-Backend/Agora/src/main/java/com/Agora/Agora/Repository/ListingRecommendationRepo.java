@@ -0,0 +1,22 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Agora.Agora.Model.ListingRecommendation;
+
+import jakarta.transaction.Transactional;
+
+public interface ListingRecommendationRepo extends JpaRepository<ListingRecommendation, Long>,
+        ListingRecommendationRepoCustom {
+
+    // Rows a ranking run didn't rewrite, e.g. users banned since the previous run.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ListingRecommendation r WHERE r.computedAt < :before")
+    int deleteComputedBefore(@Param("before") Instant before);
+}
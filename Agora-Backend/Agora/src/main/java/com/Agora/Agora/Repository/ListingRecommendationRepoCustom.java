@@ -0,0 +1,10 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface ListingRecommendationRepoCustom {
+
+    // Inserts or replaces each user's ranked listing ids (best first) in one JDBC batch.
+    void upsertAll(Map<Long, long[]> listingIdsByUser, Instant computedAt);
+}
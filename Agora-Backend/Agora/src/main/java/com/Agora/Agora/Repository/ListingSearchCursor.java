@@ -0,0 +1,88 @@
+package com.Agora.Agora.Repository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.data.domain.Sort;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Keyset position for listing search: the sort key, its direction and the
+// (sort value, id) of the last row the client has already seen.
+// Clients only ever see it as an opaque token.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ListingSearchCursor {
+
+    private static final String VERSION = "v1";
+
+    public enum SortKey {
+        POST_DATE,
+        PRICE,
+        // Full-text rank.
+        RELEVANCE,
+        // Trigram word similarity, for fuzzy searches.
+        SIMILARITY,
+        // Kilometres from the searcher to the listing's college.
+        DISTANCE
+    }
+
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+    private final Comparable<?> lastValue;
+    private final Long lastId;
+
+    // Position before the first row.
+    public static ListingSearchCursor start(SortKey sortKey, Sort.Direction direction) {
+        return new ListingSearchCursor(sortKey, direction, null, null);
+    }
+
+    // Position right after the given row.
+    public ListingSearchCursor after(Comparable<?> value, Long id) {
+        return new ListingSearchCursor(sortKey, direction, value, id);
+    }
+
+    public boolean isStart() {
+        return lastId == null;
+    }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, sortKey.name(), direction.name(), valueToString(), lastId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ListingSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            SortKey sortKey = SortKey.valueOf(parts[1]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            return new ListingSearchCursor(sortKey, direction, parseValue(sortKey, parts[3]), Long.valueOf(parts[4]));
+        } catch (RuntimeException e) {
+            // Bad Base64, unknown enum names and number/date parse errors all end up here.
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+
+    private String valueToString() {
+        if (lastValue instanceof BigDecimal price) {
+            return price.toPlainString();
+        }
+        return lastValue.toString();
+    }
+
+    private static Comparable<?> parseValue(SortKey sortKey, String value) {
+        return switch (sortKey) {
+            case POST_DATE -> Instant.parse(value);
+            case PRICE -> new BigDecimal(value);
+            case RELEVANCE, SIMILARITY, DISTANCE -> Double.valueOf(value);
+        };
+    }
+}
@@ -1,16 +1,64 @@
 package com.Agora.Agora.Repository;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 import org.springframework.data.jpa.domain.Specification;
 
 import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.ListingSearchDocument;
 import com.Agora.Agora.Model.Listings;
 
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 public class ListingSearchRepo {
 
+    // Turns free text into a prefix tsquery: "Calc book" -> "calc:* & book:*".
+    // Returns null when nothing searchable is left, so callers can fall back to LIKE.
+    public static String toPrefixTsQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String query = Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    // Normalizes free text for trigram matching: lower-case words joined by single spaces.
+    // pg_trgm ignores punctuation anyway. Returns null when nothing is left.
+    public static String toTrigramQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.joining(" "));
+        return query.isEmpty() ? null : query;
+    }
+
+    // Full-text keyword search on the GIN-indexed search_vector.
+    public static Specification<Listings> searchByFullText(String tsQuery) {
+        return ((root, cq, cb) -> {
+            if (tsQuery == null || tsQuery.isEmpty()) {
+                return null;
+            }
+            // Joined as a second root on the primary key; relevance ordering reads it back from the query roots.
+            Root<ListingSearchDocument> doc = cq.from(ListingSearchDocument.class);
+            Expression<String> query = cb.literal(tsQuery);
+
+            return cb.and(
+                    cb.equal(doc.get("id"), root.get("id")),
+                    cb.isTrue(cb.function("fts_match", Boolean.class, doc.get("searchVector"), query)));
+        });
+    }
+
     // keyword searching.
     public static Specification<Listings> searchByKeyword(String keyword) {
         return ((root, cq, cb) -> {
@@ -33,11 +81,24 @@ public class ListingSearchRepo {
                 return null;
             }
 
-            return cb.like(cb.lower(root.get(title)),
+            return cb.like(cb.lower(root.get("title")),
                     "%" + title.toLowerCase() + "%");
         });
     }
 
+    // Typo-tolerant title search: some stretch of the title is trigram-similar to the query.
+    // Takes a query from toTrigramQuery; uses the GIN index on lower(title).
+    public static Specification<Listings> searchByTitleSimilarity(String trigramQuery) {
+        return ((root, cq, cb) -> {
+            if (trigramQuery == null || trigramQuery.isEmpty()) {
+                return null;
+            }
+
+            return cb.isTrue(cb.function("trgm_word_match", Boolean.class,
+                    cb.literal(trigramQuery), cb.lower(root.get("title"))));
+        });
+    }
+
     // Searching by category.
     public static Specification<Listings> searchByCategory(String category) {
         return ((root, cq, cb) -> {
@@ -73,9 +134,7 @@ public class ListingSearchRepo {
                 return null;
             }
 
-            String pattern = "%" + itemCondition.name().toLowerCase() + "%";
-
-            return cb.like(root.get("condition"), pattern);
+            return cb.equal(root.get("itemCondition"), itemCondition);
         }));
     }
 
@@ -90,6 +149,20 @@ public class ListingSearchRepo {
         };
     }
 
+    // Listings from any of the given colleges; none at all if the set is empty.
+    public static Specification<Listings> searchByCollegeIds(Collection<Long> collegeIds) {
+        return (root, cq, cb) -> {
+            if (collegeIds == null) {
+                return null;
+            }
+            if (collegeIds.isEmpty()) {
+                return cb.disjunction();
+            }
+
+            return root.get("college").get("id").in(collegeIds);
+        };
+    }
+
     // Searching by College Name.
     public static Specification<Listings> searchByCollegeName(String collegeName) {
         return ((root, cq, cb) -> {
@@ -99,7 +172,19 @@ public class ListingSearchRepo {
 
             String pattern = "%" + collegeName.toLowerCase() + "%";
 
-            return cb.equal(root.get("collegeName"), pattern);
+            return cb.like(cb.lower(root.get("college").get("collegeName")), pattern);
+        });
+    }
+
+    // Typo-tolerant college name search ("IIT Bombey"), on the GIN index over lower(college_name).
+    public static Specification<Listings> searchByCollegeNameSimilarity(String trigramQuery) {
+        return ((root, cq, cb) -> {
+            if (trigramQuery == null || trigramQuery.isEmpty()) {
+                return null;
+            }
+
+            return cb.isTrue(cb.function("trgm_word_match", Boolean.class,
+                    cb.literal(trigramQuery), cb.lower(root.get("college").get("collegeName"))));
         });
     }
 }
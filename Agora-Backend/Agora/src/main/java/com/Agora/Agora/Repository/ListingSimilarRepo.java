@@ -0,0 +1,27 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Agora.Agora.Model.ListingSimilar;
+
+import jakarta.transaction.Transactional;
+
+public interface ListingSimilarRepo extends JpaRepository<ListingSimilar, Long>, ListingSimilarRepoCustom {
+
+    // Rows a full rebuild didn't rewrite, i.e. listings no longer AVAILABLE.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ListingSimilar s WHERE s.computedAt < :before")
+    int deleteComputedBefore(@Param("before") Instant before);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ListingSimilar s WHERE s.listingId IN :listingIds")
+    int deleteByListingIds(@Param("listingIds") Collection<Long> listingIds);
+}
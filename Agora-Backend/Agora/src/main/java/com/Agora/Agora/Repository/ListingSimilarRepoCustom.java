@@ -0,0 +1,10 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface ListingSimilarRepoCustom {
+
+    // Inserts or replaces each listing's neighbour ids (most similar first) in one JDBC batch.
+    void upsertAll(Map<Long, long[]> similarIdsByListing, Instant computedAt);
+}
@@ -0,0 +1,41 @@
+package com.Agora.Agora.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ListingSimilarRepoCustomImpl implements ListingSimilarRepoCustom {
+
+    private static final String UPSERT = "INSERT INTO listing_similar (listing_id, similar_ids, computed_at) " +
+            "VALUES (?, ?, ?) " +
+            "ON CONFLICT (listing_id) DO UPDATE SET similar_ids = EXCLUDED.similar_ids, computed_at = EXCLUDED.computed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(Map<Long, long[]> similarIdsByListing, Instant computedAt) {
+        if (similarIdsByListing.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, long[]>> rows = new ArrayList<>(similarIdsByListing.entrySet());
+        Timestamp at = Timestamp.from(computedAt);
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            Long[] ids = new Long[row.getValue().length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = row.getValue()[i];
+            }
+            Array array = ps.getConnection().createArrayOf("bigint", ids);
+            ps.setLong(1, row.getKey());
+            ps.setArray(2, array);
+            ps.setTimestamp(3, at);
+        });
+    }
+}
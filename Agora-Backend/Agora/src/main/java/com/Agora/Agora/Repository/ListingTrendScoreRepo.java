@@ -0,0 +1,8 @@
+package com.Agora.Agora.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.Agora.Agora.Model.ListingTrendScore;
+
+public interface ListingTrendScoreRepo extends JpaRepository<ListingTrendScore, Long>, ListingTrendScoreRepoCustom {
+}
@@ -0,0 +1,14 @@
+package com.Agora.Agora.Repository;
+
+import java.util.List;
+
+import com.Agora.Agora.Model.ListingTrendScore;
+
+import jakarta.transaction.Transactional;
+
+public interface ListingTrendScoreRepoCustom {
+
+    // Replaces the whole snapshot in one transaction, inserting in JDBC batches.
+    @Transactional
+    void replaceAll(List<ListingTrendScore> scores);
+}
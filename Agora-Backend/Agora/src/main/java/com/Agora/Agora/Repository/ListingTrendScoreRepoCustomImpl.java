@@ -0,0 +1,36 @@
+package com.Agora.Agora.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.Agora.Agora.Model.ListingTrendScore;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ListingTrendScoreRepoCustomImpl implements ListingTrendScoreRepoCustom {
+
+    private static final String INSERT =
+            "INSERT INTO listing_trend_scores (listing_id, college_id, score, scored_at) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void replaceAll(List<ListingTrendScore> scores) {
+        jdbcTemplate.update("DELETE FROM listing_trend_scores");
+        jdbcTemplate.batchUpdate(INSERT, scores, BATCH_SIZE, (ps, score) -> {
+            ps.setLong(1, score.getListingId());
+            if (score.getCollegeId() != null) {
+                ps.setLong(2, score.getCollegeId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setDouble(3, score.getScore());
+            ps.setTimestamp(4, Timestamp.from(score.getScoredAt()));
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+
+// What a listing's ETag is built from, from ListingsRepo.findVersionById.
+public interface ListingVersionRow {
+
+    Instant getUpdatedAt();
+
+    // Flushed in batches by ListingViewCounter without touching updatedAt.
+    long getViewCount();
+}
@@ -0,0 +1,44 @@
+package com.Agora.Agora.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.ListingImage;
+
+// Plain JDBC paths for bulk reads and writes (admin export/import, view counts), where loading
+// entities one by one would dominate the cost.
+public interface ListingsBulkRepo {
+
+    // Every listing with the given status (all of them for null) in id order, read through a
+    // forward-only cursor fetchSize rows at a time. Must run inside a transaction: without one the
+    // driver reads the whole result into memory.
+    void streamAll(ItemStatus status, int fetchSize, Consumer<BulkListing> consumer);
+
+    // Takes count ids from the listings id sequence in one round trip.
+    List<Long> reserveIds(int count);
+
+    // Inserts listings whose ids were reserved above, and their images, as two JDBC batches.
+    void insertAll(List<BulkListing> listings);
+
+    // Adds each delta to the listing's view_count in one statement; ids that no longer exist are skipped.
+    void addViewCounts(Map<Long, Long> deltas);
+
+    record BulkListing(Long id,
+                       String title,
+                       String description,
+                       BigDecimal price,
+                       String category,
+                       ItemCondition itemCondition,
+                       ItemStatus itemStatus,
+                       Instant postDate,
+                       Instant updatedAt,
+                       Long sellerId,
+                       Long collegeId,
+                       List<ListingImage> images) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.Agora.Agora.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.ListingImage;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ListingsBulkRepoImpl implements ListingsBulkRepo {
+
+    // Images are aggregated in one lateral pass so the url, public id and variant arrays line up.
+    private static final String SELECT_ALL = "SELECT l.id, l.title, l.description, l.price, l.category, " +
+            "l.item_condition, l.item_status, l.post_date, l.updated_at, l.seller_id, l.college_id, " +
+            "img.urls, img.public_ids, img.thumbnail_urls, img.feed_urls " +
+            "FROM listings l " +
+            "LEFT JOIN LATERAL (SELECT array_agg(i.image_url ORDER BY i.image_order) AS urls, " +
+            "array_agg(i.public_id ORDER BY i.image_order) AS public_ids, " +
+            "array_agg(i.thumbnail_url ORDER BY i.image_order) AS thumbnail_urls, " +
+            "array_agg(i.feed_url ORDER BY i.image_order) AS feed_urls " +
+            "FROM listing_images i WHERE i.listing_id = l.id) img ON true ";
+
+    private static final String RESERVE_IDS =
+            "SELECT nextval(pg_get_serial_sequence('listings', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_LISTING = "INSERT INTO listings (id, title, description, price, category, " +
+            "item_condition, item_status, post_date, updated_at, seller_id, college_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IMAGE =
+            "INSERT INTO listing_images (listing_id, image_order, image_url, public_id, thumbnail_url, feed_url) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Leaves updated_at alone: views are not edits.
+    private static final String ADD_VIEW_COUNTS = "UPDATE listings l SET view_count = l.view_count + d.delta " +
+            "FROM unnest(?, ?) AS d(id, delta) WHERE l.id = d.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamAll(ItemStatus status, int fetchSize, Consumer<BulkListing> consumer) {
+        String sql = SELECT_ALL + (status != null ? "WHERE l.item_status = ? " : "") + "ORDER BY l.id";
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            if (status != null) {
+                ps.setString(1, status.name());
+            }
+            return ps;
+        }, rs -> {
+            consumer.accept(mapRow(rs));
+        });
+    }
+
+    @Override
+    public List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(RESERVE_IDS, Long.class, count);
+    }
+
+    @Override
+    public void insertAll(List<BulkListing> listings) {
+        if (listings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_LISTING, listings, listings.size(), (ps, listing) -> {
+            ps.setLong(1, listing.id());
+            ps.setString(2, listing.title());
+            ps.setString(3, listing.description());
+            ps.setBigDecimal(4, listing.price());
+            ps.setString(5, listing.category());
+            ps.setString(6, listing.itemCondition().name());
+            ps.setString(7, listing.itemStatus().name());
+            ps.setTimestamp(8, Timestamp.from(listing.postDate()));
+            ps.setTimestamp(9, Timestamp.from(listing.updatedAt()));
+            ps.setLong(10, listing.sellerId());
+            if (listing.collegeId() != null) {
+                ps.setLong(11, listing.collegeId());
+            } else {
+                ps.setNull(11, Types.BIGINT);
+            }
+        });
+
+        List<Object[]> images = new ArrayList<>();
+        for (BulkListing listing : listings) {
+            int order = 0;
+            for (ListingImage image : listing.images()) {
+                images.add(new Object[] { listing.id(), order++, image.getUrl(), image.getPublicId(),
+                        image.getThumbnailUrl(), image.getFeedUrl() });
+            }
+        }
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, images, new int[] { Types.BIGINT, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR });
+        }
+    }
+
+    @Override
+    public void addViewCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Long[] ids = new Long[deltas.size()];
+        Long[] counts = new Long[deltas.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            ids[i] = delta.getKey();
+            counts[i++] = delta.getValue();
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(ADD_VIEW_COUNTS);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("bigint", counts));
+            return ps;
+        });
+    }
+
+    private static BulkListing mapRow(ResultSet rs) throws SQLException {
+        List<ListingImage> images = new ArrayList<>();
+        Array urls = rs.getArray("urls");
+        if (urls != null) {
+            Object[] urlValues = (Object[]) urls.getArray();
+            Object[] publicIds = (Object[]) rs.getArray("public_ids").getArray();
+            Object[] thumbnailUrls = (Object[]) rs.getArray("thumbnail_urls").getArray();
+            Object[] feedUrls = (Object[]) rs.getArray("feed_urls").getArray();
+            for (int i = 0; i < urlValues.length; i++) {
+                images.add(new ListingImage((String) urlValues[i], (String) publicIds[i], (String) thumbnailUrls[i],
+                        (String) feedUrls[i]));
+            }
+        }
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new BulkListing(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getBigDecimal("price"),
+                rs.getString("category"),
+                ItemCondition.valueOf(rs.getString("item_condition")),
+                ItemStatus.valueOf(rs.getString("item_status")),
+                rs.getTimestamp("post_date").toInstant(),
+                updatedAt != null ? updatedAt.toInstant() : null,
+                rs.getObject("seller_id", Long.class),
+                rs.getObject("college_id", Long.class),
+                images);
+    }
+}
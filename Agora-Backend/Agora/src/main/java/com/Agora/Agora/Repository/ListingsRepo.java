@@ -1,26 +1,37 @@
 package com.Agora.Agora.Repository;
 
-import com.Agora.Agora.Dto.Response.CategoryCountResponseDto;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.Enums.ItemStatus;
 import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Model.UserBlock;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 
-public interface ListingsRepo extends JpaRepository<Listings, Long>, JpaSpecificationExecutor<Listings> {
-    List<Listings> findAllBySellerId(Long sellerId);
+public interface ListingsRepo extends JpaRepository<Listings, Long>, JpaSpecificationExecutor<Listings>,
+        ListingsRepoCustom, ListingsBulkRepo {
 
-    public static Specification<Listings> excludeBlockedUsers(Set<Long> blockedIds) {
+    // The listing detail (and the favorite responses) map the seller and their college, so fetch both in
+    // the same SELECT; images are batch-loaded (see Listings.images). The seller's refresh token is an
+    // inverse one-to-one, which Hibernate loads eagerly with its own query unless it is joined here too.
+    @EntityGraph(attributePaths = { "seller", "seller.college", "seller.refreshToken" })
+    @Query("SELECT l FROM Listings l WHERE l.id = :id")
+    Optional<Listings> findDetailById(@Param("id") Long id);
+
+    public static Specification<Listings> excludeBlockedUsers(Collection<Long> blockedIds) {
         return (root, query, cb) -> {
             if (blockedIds == null || blockedIds.isEmpty()) {
                 return cb.conjunction();
@@ -29,28 +40,76 @@ public interface ListingsRepo extends JpaRepository<Listings, Long>, JpaSpecific
         };
     }
 
-    @Query("SELECT new com.Agora.Agora.Dto.Response.CategoryCountResponseDto(l.category, l.category, COUNT(l)) " +
-            "FROM Listings l " +
-            "GROUP BY l.category " +
-            "ORDER BY COUNT(l) DESC")
-    List<CategoryCountResponseDto> findPopularCategories();
+    // Listings whose seller neither blocked nor was blocked by the user. One NOT EXISTS per direction,
+    // each a single probe on a user_blocks index, so Postgres plans them as anti-joins.
+    public static Specification<Listings> notBlockedWith(Long userId) {
+        return (root, query, cb) -> {
+            Path<Long> sellerId = root.get("seller").get("id");
+
+            Subquery<Integer> blockedBySeller = query.subquery(Integer.class);
+            Root<UserBlock> sellerBlock = blockedBySeller.from(UserBlock.class);
+            blockedBySeller.select(cb.literal(1)).where(
+                    cb.equal(sellerBlock.get("blockerId"), sellerId),
+                    cb.equal(sellerBlock.get("blockedId"), userId));
+
+            Subquery<Integer> blockedByUser = query.subquery(Integer.class);
+            Root<UserBlock> userBlock = blockedByUser.from(UserBlock.class);
+            blockedByUser.select(cb.literal(1)).where(
+                    cb.equal(userBlock.get("blockerId"), userId),
+                    cb.equal(userBlock.get("blockedId"), sellerId));
+
+            return cb.and(cb.not(cb.exists(blockedBySeller)), cb.not(cb.exists(blockedByUser)));
+        };
+    }
+
+    // AVAILABLE listings per (college, category); the source of truth for CategoryCountService.
+    @Query("SELECT l.college.id AS collegeId, l.category AS category, COUNT(l) AS itemCount " +
+            "FROM Listings l WHERE l.itemStatus = :status " +
+            "GROUP BY l.college.id, l.category")
+    List<CategoryCountRow> countByCollegeAndCategory(@Param("status") ItemStatus status);
+
+    // Everything but hidden counts; one pass over the seller's rows.
+    @Query("SELECT COUNT(l) AS listingCount, " +
+            "SUM(CASE WHEN l.itemStatus = :available THEN 1 ELSE 0 END) AS availableCount, " +
+            "SUM(CASE WHEN l.itemStatus = :sold THEN 1 ELSE 0 END) AS soldCount, " +
+            "MAX(l.updatedAt) AS lastModified " +
+            "FROM Listings l WHERE l.seller.id = :sellerId AND l.itemStatus <> :hidden")
+    SellerListingStats findSellerListingStats(@Param("sellerId") Long sellerId,
+                                              @Param("available") ItemStatus available,
+                                              @Param("sold") ItemStatus sold,
+                                              @Param("hidden") ItemStatus hidden);
+
+    // The listing's version for conditional GETs; one primary-key lookup, no joins.
+    @Query("SELECT l.updatedAt AS updatedAt, l.viewCount AS viewCount FROM Listings l WHERE l.id = :id")
+    Optional<ListingVersionRow> findVersionById(@Param("id") Long id);
+
+    // Which of these listings have this status, with their college; TrendingService only tracks AVAILABLE ones.
+    @Query("SELECT l.id AS id, l.college.id AS collegeId FROM Listings l WHERE l.id IN :ids AND l.itemStatus = :status")
+    List<TrendingListingRow> findTrendingListings(@Param("ids") Collection<Long> ids, @Param("status") ItemStatus status);
+
+    // The newest listings with this status; the pool the For You ranking picks from.
+    @Query("SELECT l.id AS id, l.college.id AS collegeId, l.seller.id AS sellerId, l.category AS category, " +
+            "l.postDate AS postDate FROM Listings l WHERE l.itemStatus = :status ORDER BY l.postDate DESC, l.id DESC")
+    List<RecommendationCandidate> findRecommendationCandidates(@Param("status") ItemStatus status, Pageable pageable);
 
     @Modifying
     @Transactional
-    @Query("UPDATE Listings l SET l.itemStatus = :status WHERE l.seller.id = :sellerId")
+    @Query("UPDATE Listings l SET l.itemStatus = :status, l.updatedAt = instant WHERE l.seller.id = :sellerId")
     void deactivateAllBySellerId(@Param("sellerId") Long sellerId, @Param("status") ItemStatus status);
 
 
-    @Query("SELECT l FROM Listings l WHERE l.itemStatus = 'AVAILABLE' " +
-            "AND l.seller.id NOT IN (" +
-            "  SELECT b.id FROM AgoraUser u JOIN u.blockedUsers b WHERE u.id = :currentUserId" +
-            ") " +
-            "AND l.seller.id NOT IN (" +
-            "  SELECT u.id FROM AgoraUser u JOIN u.blockedByUsers u2 WHERE u.id = :currentUserId" +
-            ")")
-    Page<Listings> findAllAvailableFiltered(@Param("currentUserId") Long currentUserId, Pageable pageable);
+    // pg_trgm cut-off for the <% operator, for the rest of the current transaction.
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', CAST(:threshold AS text), true)",
+            nativeQuery = true)
+    String applyWordSimilarityThreshold(@Param("threshold") double threshold);
 
-    Page<Listings> findByItemStatus(ItemStatus itemStatus, Pageable pageable);
+    // Batches of index rows in id order; pass the last id seen to get the next batch.
+    @Query("SELECT l.id AS id, l.college.id AS collegeId, l.seller.id AS sellerId, l.title AS title, " +
+            "l.description AS description, l.category AS category, l.price AS price, " +
+            "l.itemCondition AS itemCondition, l.postDate AS postDate " +
+            "FROM Listings l WHERE l.itemStatus = :status AND l.id > :afterId ORDER BY l.id")
+    List<ListingIndexRow> findIndexRows(@Param("status") ItemStatus status, @Param("afterId") Long afterId,
+                                        Pageable pageable);
 
 
     @Modifying
@@ -0,0 +1,48 @@
+package com.Agora.Agora.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Model.Listings;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+public interface ListingsRepoCustom {
+
+    // Keyset page: rows strictly after the cursor position, ordered by (sort key, id).
+    // rankQuery is the tsquery for RELEVANCE or the trigram query for SIMILARITY; collegeDistances
+    // (college id -> km) is needed for DISTANCE. Both are unused otherwise.
+    List<SearchHit> findSearchPage(Specification<Listings> spec, ListingSearchCursor position,
+                                   String rankQuery, Map<Long, Double> collegeDistances, int limit);
+
+    // Category, condition and price-bucket counts for every match, from a single grouped query.
+    ListingFacetCounter findFacetCounts(Specification<Listings> spec);
+
+    // One page of listing cards. The COUNT only runs when the page itself can't tell the total.
+    Page<ListingCardDto> findCardPage(Specification<Listings> spec, Pageable pageable);
+
+    // One page of listing cards and whether another follows, from a single query with no COUNT.
+    Slice<ListingCardDto> findCardSlice(Specification<Listings> spec, Pageable pageable);
+
+    // Every matching listing card, in the given order.
+    List<ListingCardDto> findCards(Specification<Listings> spec, Sort sort);
+
+    // Cards for a user's favorites, in the order they were favorited.
+    List<ListingCardDto> findFavoriteCards(Long userId);
+
+    // A listing card plus the value it was sorted by, used to build the next cursor.
+    @Getter
+    @AllArgsConstructor
+    class SearchHit {
+        private final ListingCardDto card;
+        private final Comparable<?> sortValue;
+    }
+}
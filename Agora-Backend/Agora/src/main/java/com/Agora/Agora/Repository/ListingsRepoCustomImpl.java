@@ -0,0 +1,314 @@
+package com.Agora.Agora.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Model.College;
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.Enums.VerificationStatus;
+import com.Agora.Agora.Model.Favorite;
+import com.Agora.Agora.Model.ListingImage;
+import com.Agora.Agora.Model.ListingSearchDocument;
+import com.Agora.Agora.Model.Listings;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.ListJoin;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+
+public class ListingsRepoCustomImpl implements ListingsRepoCustom {
+
+    // Number of columns cardColumns selects; findSearchPage puts the sort key right after them.
+    private static final int CARD_COLUMNS = 16;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SearchHit> findSearchPage(Specification<Listings> spec, ListingSearchCursor position,
+                                          String rankQuery, Map<Long, Double> collegeDistances, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Listings> root = cq.from(Listings.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, cq, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+
+        Expression<? extends Comparable<?>> sortKey = sortExpression(position.getSortKey(), rankQuery, collegeDistances,
+                root, cq, cb);
+        Path<Long> id = root.get("id");
+        boolean descending = position.getDirection().isDescending();
+
+        if (!position.isStart()) {
+            predicates.add(seekAfter(cb, sortKey, position.getLastValue(), id, position.getLastId(), descending));
+        }
+
+        List<Selection<?>> columns = new ArrayList<>(cardColumns(root, cq, cb));
+        columns.add(sortKey);
+        cq.multiselect(columns)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order(cb, sortKey, descending), order(cb, id, descending));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> new SearchHit(toCard(tuple), (Comparable<?>) tuple.get(CARD_COLUMNS)))
+                .toList();
+    }
+
+    @Override
+    public Page<ListingCardDto> findCardPage(Specification<Listings> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = cardQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<ListingCardDto> cards = query.getResultList().stream().map(this::toCard).toList();
+        return PageableExecutionUtils.getPage(cards, pageable, () -> countMatches(spec));
+    }
+
+    @Override
+    public Slice<ListingCardDto> findCardSlice(Specification<Listings> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = cardQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList().stream().map(this::toCard).toList());
+        }
+        // One extra row tells us whether there is a next page.
+        query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1);
+        List<ListingCardDto> cards = query.getResultList().stream().map(this::toCard).toList();
+        boolean hasNext = cards.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? cards.subList(0, pageable.getPageSize()) : cards, pageable, hasNext);
+    }
+
+    @Override
+    public List<ListingCardDto> findCards(Specification<Listings> spec, Sort sort) {
+        return cardQuery(spec, sort).getResultList().stream().map(this::toCard).toList();
+    }
+
+    @Override
+    public List<ListingCardDto> findFavoriteCards(Long userId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Favorite> favorite = cq.from(Favorite.class);
+        Join<Favorite, Listings> listing = favorite.join("listing");
+
+        cq.multiselect(cardColumns(listing, cq, cb))
+                .where(cb.equal(favorite.get("user").get("id"), userId))
+                .orderBy(cb.asc(favorite.get("id")));
+
+        return entityManager.createQuery(cq).getResultList().stream().map(this::toCard).toList();
+    }
+
+    private TypedQuery<Tuple> cardQuery(Specification<Listings> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Listings> root = cq.from(Listings.class);
+
+        Predicate filter = spec.toPredicate(root, cq, cb);
+        if (filter != null) {
+            cq.where(filter);
+        }
+        cq.multiselect(cardColumns(root, cq, cb));
+        if (sort.isSorted()) {
+            // Ties broken by id so offset pages don't overlap.
+            cq.orderBy(QueryUtils.toOrders(sort.and(Sort.by(Sort.Direction.DESC, "id")), root, cb));
+        }
+        return entityManager.createQuery(cq);
+    }
+
+    private long countMatches(Specification<Listings> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Listings> root = cq.from(Listings.class);
+
+        Predicate filter = spec.toPredicate(root, cq, cb);
+        if (filter != null) {
+            cq.where(filter);
+        }
+        return entityManager.createQuery(cq.select(cb.count(root))).getSingleResult();
+    }
+
+    // The card columns in the order toCard reads them back. The seller and their college are
+    // outer-joined into the same row; the thumbnail is a correlated single-row subquery.
+    private List<Selection<?>> cardColumns(From<?, Listings> listing, AbstractQuery<?> query, CriteriaBuilder cb) {
+        Join<Listings, AgoraUser> seller = listing.join("seller", JoinType.LEFT);
+        Join<AgoraUser, College> college = seller.join("college", JoinType.LEFT);
+        return List.of(
+                listing.get("id"),
+                listing.get("title"),
+                listing.get("price"),
+                listing.get("category"),
+                listing.get("itemCondition"),
+                listing.get("itemStatus"),
+                listing.get("postDate"),
+                thumbnail(listing, query, cb),
+                seller.get("id"),
+                seller.get("userName"),
+                seller.get("firstName"),
+                seller.get("lastName"),
+                seller.get("profileImage"),
+                seller.get("verificationStatus"),
+                college.get("id"),
+                college.get("collegeName"));
+    }
+
+    // The first of the listing's images, as the detail view lists them; its thumbnail when it has one.
+    private Expression<String> thumbnail(From<?, Listings> listing, AbstractQuery<?> query, CriteriaBuilder cb) {
+        Subquery<String> first = query.subquery(String.class);
+        Root<Listings> owner = first.from(Listings.class);
+        ListJoin<Listings, ListingImage> image = owner.joinList("images");
+        first.select(cb.coalesce(image.<String>get("thumbnailUrl"), image.<String>get("url"))).where(cb.equal(owner.get("id"), listing.get("id")));
+        return ((JpaSubQuery<String>) first).orderBy(cb.asc(image.index())).fetch(1);
+    }
+
+    private ListingCardDto toCard(Tuple row) {
+        Long sellerId = row.get(8, Long.class);
+        ListingCardDto.SellerSummary seller = sellerId == null ? null : new ListingCardDto.SellerSummary(
+                sellerId,
+                row.get(9, String.class),
+                row.get(10, String.class),
+                row.get(11, String.class),
+                row.get(12, String.class),
+                row.get(13, VerificationStatus.class));
+        Long collegeId = row.get(14, Long.class);
+        ListingCardDto.CollegeSummary college = collegeId == null ? null
+                : new ListingCardDto.CollegeSummary(collegeId, row.get(15, String.class));
+
+        return new ListingCardDto(
+                row.get(0, Long.class),
+                row.get(1, String.class),
+                row.get(2, BigDecimal.class),
+                row.get(3, String.class),
+                row.get(4, ItemCondition.class),
+                row.get(5, ItemStatus.class),
+                row.get(6, Instant.class),
+                row.get(7, String.class),
+                seller,
+                college);
+    }
+
+    // Groups by (category, condition, price bucket) once; the three facets are folded out of that in memory.
+    // The combinations are few, so this costs one scan of the matches rather than one per facet.
+    @Override
+    public ListingFacetCounter findFacetCounts(Specification<Listings> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+        Root<Listings> root = cq.from(Listings.class);
+
+        Predicate filter = spec.toPredicate(root, cq, cb);
+        if (filter != null) {
+            cq.where(filter);
+        }
+
+        Path<String> category = root.get("category");
+        Path<ItemCondition> condition = root.get("itemCondition");
+        Expression<Integer> bucket = priceBucket(cb, root.get("price"));
+        cq.multiselect(category, condition, bucket, cb.count(root))
+                .groupBy(category, condition, bucket);
+
+        ListingFacetCounter counter = new ListingFacetCounter();
+        for (Tuple row : entityManager.createQuery(cq).getResultList()) {
+            counter.add(row.get(0, String.class), row.get(1, ItemCondition.class),
+                    row.get(2, Integer.class), row.get(3, Long.class));
+        }
+        return counter;
+    }
+
+    // CASE WHEN price < 500 THEN 0 WHEN price < 1000 THEN 1 ... ELSE n END, with literals so the
+    // same expression text can appear in both SELECT and GROUP BY.
+    private Expression<Integer> priceBucket(CriteriaBuilder cb, Path<BigDecimal> price) {
+        List<BigDecimal> bounds = ListingFacetCounter.PRICE_BUCKET_BOUNDS;
+        CriteriaBuilder.Case<Integer> bucket = cb.selectCase();
+        for (int i = 0; i < bounds.size(); i++) {
+            bucket = bucket.when(cb.lessThan(price, cb.literal(bounds.get(i))), cb.literal(i));
+        }
+        return bucket.otherwise(cb.literal(bounds.size()));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Expression<? extends Comparable<?>> sortExpression(ListingSearchCursor.SortKey sortKey, String rankQuery,
+                                                               Map<Long, Double> collegeDistances, Root<Listings> root, CriteriaQuery<?> cq,
+                                                               CriteriaBuilder cb) {
+        return switch (sortKey) {
+            case POST_DATE -> (Expression) root.get("postDate");
+            case PRICE -> (Expression) root.get("price");
+            case RELEVANCE -> (Expression) cb.function("fts_rank", Double.class,
+                    documentRoot(cq).get("searchVector"), cb.literal(rankQuery));
+            case SIMILARITY -> (Expression) cb.function("trgm_word_similarity", Double.class,
+                    cb.literal(rankQuery), cb.lower(root.get("title")));
+            case DISTANCE -> (Expression) collegeDistance(cb, root.get("college").get("id"), collegeDistances);
+        };
+    }
+
+    // CASE college_id WHEN 7 THEN 1.2 WHEN 3 THEN 4.8 ... END: the distances were already worked out
+    // from the in-memory college grid, so the database only has to look them up per row.
+    private Expression<Double> collegeDistance(CriteriaBuilder cb, Path<Long> collegeId,
+                                               Map<Long, Double> collegeDistances) {
+        if (collegeDistances == null || collegeDistances.isEmpty()) {
+            return cb.literal(0d);
+        }
+        CriteriaBuilder.SimpleCase<Long, Double> distance = cb.selectCase(collegeId);
+        for (Map.Entry<Long, Double> college : collegeDistances.entrySet()) {
+            distance = distance.when(cb.literal(college.getKey()), cb.literal(college.getValue()));
+        }
+        return distance.otherwise(cb.literal(Double.MAX_VALUE));
+    }
+
+    // The full-text Specification joins the search document in as a second root.
+    private Root<?> documentRoot(CriteriaQuery<?> cq) {
+        return cq.getRoots().stream()
+                .filter(r -> ListingSearchDocument.class.equals(r.getJavaType()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Relevance ordering requires a full-text query"));
+    }
+
+    // (key, id) strictly after (lastValue, lastId) in the requested direction, written as
+    // key <= v AND (key < v OR id < lastId) so the leading bound can be an index condition.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Predicate seekAfter(CriteriaBuilder cb, Expression key, Comparable lastValue,
+                                Path<Long> id, Long lastId, boolean descending) {
+        Predicate keyBound = descending
+                ? cb.lessThanOrEqualTo(key, lastValue)
+                : cb.greaterThanOrEqualTo(key, lastValue);
+        Predicate keyBeyond = descending ? cb.lessThan(key, lastValue) : cb.greaterThan(key, lastValue);
+        Predicate idBeyond = descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+        return cb.and(keyBound, cb.or(keyBeyond, idBeyond));
+    }
+
+    private Order order(CriteriaBuilder cb, Expression<?> expression, boolean descending) {
+        return descending ? cb.desc(expression) : cb.asc(expression);
+    }
+}
@@ -12,7 +12,7 @@ import jakarta.transaction.Transactional;
 import com.Agora.Agora.Model.Notification;
 
 @Repository
-public interface NotificationRepo extends JpaRepository<Notification, Long> {
+public interface NotificationRepo extends JpaRepository<Notification, Long>, NotificationRepoCustom {
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<Notification> findByUserIdAndReadFalse(Long userId);
@@ -0,0 +1,13 @@
+package com.Agora.Agora.Repository;
+
+import java.util.List;
+
+public interface NotificationRepoCustom {
+
+    // An unread notification to insert in bulk.
+    record NewNotification(Long userId, Long listingId, String title, String body, String type) {
+    }
+
+    // Inserts the notifications in one JDBC batch, instead of one save per row.
+    void insertAll(List<NewNotification> notifications);
+}
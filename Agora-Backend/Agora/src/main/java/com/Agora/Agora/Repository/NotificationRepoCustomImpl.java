@@ -0,0 +1,40 @@
+package com.Agora.Agora.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class NotificationRepoCustomImpl implements NotificationRepoCustom {
+
+    private static final String INSERT = "INSERT INTO notification (user_id, listings_id, title, body, type, read, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, false, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<NewNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        // created_at is a local timestamp, like Notification.createdAt.
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, notifications, notifications.size(), (ps, notification) -> {
+            ps.setLong(1, notification.userId());
+            if (notification.listingId() != null) {
+                ps.setLong(2, notification.listingId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, notification.title());
+            ps.setString(4, notification.body());
+            ps.setString(5, notification.type());
+            ps.setTimestamp(6, now);
+        });
+    }
+}
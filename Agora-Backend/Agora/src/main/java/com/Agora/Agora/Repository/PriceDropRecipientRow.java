@@ -0,0 +1,11 @@
+package com.Agora.Agora.Repository;
+
+// Someone who favorited a listing, from FavoriteRepo.findPriceDropRecipients.
+public interface PriceDropRecipientRow {
+
+    Long getListingId();
+
+    Long getUserId();
+
+    String getExpoPushToken();
+}
@@ -0,0 +1,9 @@
+package com.Agora.Agora.Repository;
+
+// A user the For You ranking computes a feed for, from UserRepo.findRankingUsers.
+public interface RankingUserRow {
+
+    Long getId();
+
+    Long getCollegeId();
+}
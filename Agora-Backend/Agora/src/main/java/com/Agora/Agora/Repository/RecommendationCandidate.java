@@ -0,0 +1,17 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+
+// A listing as the For You ranking sees it, from ListingsRepo.findRecommendationCandidates.
+public interface RecommendationCandidate {
+
+    Long getId();
+
+    Long getCollegeId();
+
+    Long getSellerId();
+
+    String getCategory();
+
+    Instant getPostDate();
+}
@@ -1,5 +1,6 @@
 package com.Agora.Agora.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,6 +19,10 @@ public interface ReviewRepo extends JpaRepository<Review, Long> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.seller.id = :sellerId")
     Double findAverageRatingForSeller(@Param("sellerId") Long sellerId);
 
+    @Query("SELECT r.seller.id AS sellerId, AVG(r.rating) AS averageRating FROM Review r " +
+            "WHERE r.seller.id IN :sellerIds GROUP BY r.seller.id")
+    List<SellerRatingRow> findAverageRatingsForSellers(@Param("sellerIds") Collection<Long> sellerIds);
+
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.reviewer.id = :userId")
     Double findAverageRatingByUser(@Param("userId") Long userId);
 
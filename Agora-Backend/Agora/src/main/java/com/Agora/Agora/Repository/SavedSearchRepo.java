@@ -0,0 +1,23 @@
+package com.Agora.Agora.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.Agora.Agora.Model.SavedSearch;
+
+public interface SavedSearchRepo extends JpaRepository<SavedSearch, Long> {
+
+    List<SavedSearch> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    long countByUserId(Long userId);
+
+    @Query("SELECT s.id FROM SavedSearch s")
+    List<Long> findAllIds();
+
+    // Serializes a user's saves for the rest of the transaction, so the per-user cap holds.
+    @Query(value = "SELECT id FROM agora_users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockUser(@Param("userId") Long userId);
+}
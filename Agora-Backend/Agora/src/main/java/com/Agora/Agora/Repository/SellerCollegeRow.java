@@ -0,0 +1,9 @@
+package com.Agora.Agora.Repository;
+
+// A seller and their college, from UserRepo.findSellerColleges.
+public interface SellerCollegeRow {
+
+    Long getId();
+
+    Long getCollegeId();
+}
@@ -0,0 +1,16 @@
+package com.Agora.Agora.Repository;
+
+import java.time.Instant;
+
+// A seller's publicly visible listings in aggregate, from ListingsRepo.findSellerListingStats.
+public interface SellerListingStats {
+
+    Long getListingCount();
+
+    Long getAvailableCount();
+
+    Long getSoldCount();
+
+    // Null when the seller has no visible listings.
+    Instant getLastModified();
+}
@@ -0,0 +1,9 @@
+package com.Agora.Agora.Repository;
+
+// One seller's average review rating, from ReviewRepo.findAverageRatingsForSellers.
+public interface SellerRatingRow {
+
+    Long getSellerId();
+
+    Double getAverageRating();
+}
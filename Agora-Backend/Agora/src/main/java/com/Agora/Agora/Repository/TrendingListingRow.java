@@ -0,0 +1,9 @@
+package com.Agora.Agora.Repository;
+
+// A listing that can trend, from ListingsRepo.findTrendingListings.
+public interface TrendingListingRow {
+
+    Long getId();
+
+    Long getCollegeId();
+}
@@ -1,9 +1,12 @@
 package com.Agora.Agora.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import com.Agora.Agora.Model.Enums.UserStatus;
 import com.Agora.Agora.Model.Listings;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.Agora.Agora.Model.AgoraUser;
@@ -25,6 +28,13 @@ public interface UserRepo extends JpaRepository<AgoraUser, Long> {
     boolean existsBlockRelation(@Param("blockerId") Long blockerId,
                                 @Param("blockedId") Long blockedId);
 
+    // Whether either user blocked the other; one lookup on the join table.
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM user_blocks " +
+            "WHERE (blocker_id = :userId1 AND blocked_id = :userId2) " +
+            "OR (blocker_id = :userId2 AND blocked_id = :userId1))",
+            nativeQuery = true)
+    boolean existsBlockBetween(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
+
     @Query("SELECT l FROM Listings l WHERE l.seller.id = :sellerId " +
             "AND NOT EXISTS (" +
             "  SELECT 1 FROM AgoraUser u JOIN u.blockedUsers ub " +
@@ -33,6 +43,22 @@ public interface UserRepo extends JpaRepository<AgoraUser, Long> {
             ")")
     List<Listings> findListingsVisibleToUser(@Param("currentUserId") Long currentUserId);
 
+    // Everyone the user blocked or was blocked by, straight off the join table.
+    @Query(value = "SELECT blocked_id FROM user_blocks WHERE blocker_id = :userId " +
+            "UNION SELECT blocker_id FROM user_blocks WHERE blocked_id = :userId",
+            nativeQuery = true)
+    List<Long> findBlockRelatedIds(@Param("userId") Long userId);
+
+    // Users with this status in id order, after the given id; pass the last id seen for the next batch.
+    @Query("SELECT u.id AS id, u.college.id AS collegeId FROM AgoraUser u " +
+            "WHERE u.userStatus = :status AND u.id > :afterId ORDER BY u.id")
+    List<RankingUserRow> findRankingUsers(@Param("status") UserStatus status, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // Only the users that exist come back; bulk import rejects rows for the others.
+    @Query("SELECT u.id AS id, u.college.id AS collegeId FROM AgoraUser u WHERE u.id IN :ids")
+    List<SellerCollegeRow> findSellerColleges(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT u FROM AgoraUser u JOIN u.blockedUsers ub WHERE ub.id = :blockedUserId")
     List<AgoraUser> findUsersWhoBlockedUser(@Param("blockedUserId") Long blockedUserId);
 }
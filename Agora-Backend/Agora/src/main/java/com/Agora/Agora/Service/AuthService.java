@@ -38,6 +38,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final DtoMapper dto;
     private final OtpService otpService;
+    private final ResourceVersions resourceVersions;
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
 //    @Transactional
@@ -178,6 +179,7 @@ public class AuthService {
             }
 
             user = userRepo.save(user);
+            resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
 
             String jwt = jwtTokenProvider.generateToken(user);
             RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
@@ -239,6 +241,7 @@ public class AuthService {
         user.setVerificationStatus(VerificationStatus.VERIFIED);
 
         AgoraUser savedUser = userRepo.save(user);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
         log.info("User profile completed and verified: email={}", email);
 
         // 8. Generate new tokens
@@ -291,6 +294,7 @@ public class AuthService {
         user.setVerificationStatus(VerificationStatus.VERIFIED);
 
         AgoraUser savedUser = userRepo.save(user);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
         log.info("User profile completed and verified: email={}", email);
 
         // 7. GENERATE NEW TOKENS (Standard practice after profile update)
@@ -0,0 +1,56 @@
+package com.Agora.Agora.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// A heavy read-model job on its own daemon thread, so a long run never holds up the single @Scheduled
+// thread that the view flush, outbox and other short jobs share. Requests made while a run is still
+// waiting to start are merged into it; one made while the job runs queues exactly one more run.
+final class BackgroundJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundJob.class);
+
+    private final String name;
+    private final Runnable job;
+    private final ExecutorService thread;
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    BackgroundJob(String name, Runnable job) {
+        this.name = name;
+        this.job = job;
+        this.thread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread worker = new Thread(runnable, name);
+            worker.setDaemon(true);
+            return worker;
+        });
+    }
+
+    void request() {
+        if (!queued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            thread.execute(() -> {
+                queued.set(false);
+                try {
+                    job.run();
+                } catch (RuntimeException e) {
+                    log.error("Background job {} failed", name, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down.
+            queued.set(false);
+        }
+    }
+
+    // Interrupts a run in progress; the next start recomputes everything anyway.
+    void shutdown() {
+        thread.shutdownNow();
+    }
+}
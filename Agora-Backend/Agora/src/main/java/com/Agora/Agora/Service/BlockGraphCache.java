@@ -0,0 +1,84 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Event.UserBlockChangedEvent;
+import com.Agora.Agora.Repository.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Each user's block relations in both directions (people they blocked and people who blocked them),
+// cached as a sorted long[]. Loaded with one id-only query on the join table and dropped for both
+// users whenever either side blocks or unblocks. Other nodes don't hear about those changes, so
+// entries are also reloaded a short while after they were loaded; good enough for filtering feeds
+// and search, while checks that gate an action (ModerationService.canUsersInteract) go to the database.
+@Service
+public class BlockGraphCache {
+
+    private final UserRepo userRepo;
+    private final Cache<Long, BlockSet> sets;
+
+    public BlockGraphCache(UserRepo userRepo,
+                           @Value("${application.moderation.block-cache.max-users:10000}") long maxUsers,
+                           @Value("${application.moderation.block-cache.ttl:1m}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.sets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public BlockSet get(Long userId) {
+        return sets.get(userId, id -> BlockSet.of(userRepo.findBlockRelatedIds(id)));
+    }
+
+    // After commit, so a reload can't read the old rows back in.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlockChanged(UserBlockChangedEvent event) {
+        sets.invalidate(event.getBlockerId());
+        sets.invalidate(event.getBlockedId());
+    }
+
+    // An immutable set of user ids. Most users have no block relations and share EMPTY.
+    public static final class BlockSet {
+
+        public static final BlockSet EMPTY = new BlockSet(new long[0]);
+
+        private final long[] ids;
+
+        private BlockSet(long[] ids) {
+            this.ids = ids;
+        }
+
+        static BlockSet of(List<Long> ids) {
+            if (ids.isEmpty()) {
+                return EMPTY;
+            }
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            return new BlockSet(sorted);
+        }
+
+        public boolean contains(long userId) {
+            return ids.length > 0 && Arrays.binarySearch(ids, userId) >= 0;
+        }
+
+        public boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        // Boxed copy, for query parameters.
+        public List<Long> toList() {
+            return Arrays.stream(ids).boxed().toList();
+        }
+    }
+}
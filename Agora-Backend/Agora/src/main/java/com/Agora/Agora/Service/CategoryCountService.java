@@ -0,0 +1,141 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.CategoryCountResponseDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Repository.CategoryCountRow;
+import com.Agora.Agora.Repository.ListingsRepo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Number of AVAILABLE listings per category, overall and per college, kept in memory so
+// /popular-categories never scans the listings table. Counters move with every ListingChangedEvent
+// and are periodically reconciled against a GROUP BY over the table, which also catches bulk
+// updates that bypass ListingService (e.g. a ban deactivating a seller's listings).
+@Service
+@RequiredArgsConstructor
+public class CategoryCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryCountService.class);
+    // ConcurrentHashMap has no null keys; listings without a college are counted under this id.
+    private static final long NO_COLLEGE = 0L;
+
+    private final ListingsRepo listingsRepo;
+
+    private volatile Counts counts;
+    // Moves whenever the counts do; the ETag of /popular-categories.
+    private final AtomicLong version = new AtomicLong();
+
+    public List<CategoryCountResponseDto> popularCategories(Long collegeId) {
+        Counts current = counts;
+        if (current == null) {
+            current = load();
+        }
+        Map<String, LongAdder> byCategory = collegeId == null
+                ? current.overall
+                : current.byCollege.getOrDefault(collegeId, Map.of());
+
+        return byCategory.entrySet().stream()
+                .map(e -> new CategoryCountResponseDto(e.getKey(), e.getKey(), e.getValue().sum()))
+                .filter(c -> c.getItemCount() > 0)
+                .sorted(Comparator.comparing(CategoryCountResponseDto::getItemCount).reversed()
+                        .thenComparing(CategoryCountResponseDto::getCategoryId))
+                .toList();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        Counts current = counts;
+        if (current == null) {
+            return;
+        }
+        if (event.wasAvailable()) {
+            current.add(event.getCollegeId(), event.getPreviousCategory(), -1);
+        }
+        if (event.isAvailable()) {
+            current.add(event.getCollegeId(), event.getCategory(), 1);
+        }
+        if (event.wasAvailable() || event.isAvailable()) {
+            version.incrementAndGet();
+        }
+    }
+
+    // Replaces the counters with fresh ones from the table. A change committed between the query and
+    // the swap is lost until the next run; that window is milliseconds and the run repeats.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${application.listing.category-counts.reconcile-interval:PT10M}",
+            initialDelayString = "${application.listing.category-counts.reconcile-interval:PT10M}")
+    public void reconcile() {
+        Counts previous = counts;
+        Counts fresh = load();
+        long drift = previous == null ? 1 : fresh.drift(previous);
+        if (previous != null && drift > 0) {
+            log.warn("Category counts were off by {} listings; reconciled", drift);
+        }
+        counts = fresh;
+        if (drift > 0) {
+            version.incrementAndGet();
+        }
+    }
+
+    private Counts load() {
+        Counts fresh = new Counts();
+        for (CategoryCountRow row : listingsRepo.countByCollegeAndCategory(ItemStatus.AVAILABLE)) {
+            fresh.add(row.getCollegeId(), row.getCategory(), row.getItemCount());
+        }
+        return fresh;
+    }
+
+    private static class Counts {
+        private final Map<String, LongAdder> overall = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, LongAdder>> byCollege = new ConcurrentHashMap<>();
+
+        void add(Long collegeId, String category, long delta) {
+            if (category == null) {
+                return;
+            }
+            overall.computeIfAbsent(category, k -> new LongAdder()).add(delta);
+            byCollege.computeIfAbsent(collegeId == null ? NO_COLLEGE : collegeId, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(category, k -> new LongAdder()).add(delta);
+        }
+
+        // Total absolute difference between the per-college counts here and in other.
+        long drift(Counts other) {
+            long drift = 0;
+            for (Map.Entry<Long, Map<String, LongAdder>> college : byCollege.entrySet()) {
+                Map<String, LongAdder> theirs = other.byCollege.getOrDefault(college.getKey(), Map.of());
+                for (Map.Entry<String, LongAdder> category : college.getValue().entrySet()) {
+                    LongAdder count = theirs.get(category.getKey());
+                    drift += Math.abs(category.getValue().sum() - (count == null ? 0 : count.sum()));
+                }
+            }
+            for (Map.Entry<Long, Map<String, LongAdder>> college : other.byCollege.entrySet()) {
+                Map<String, LongAdder> ours = byCollege.getOrDefault(college.getKey(), Map.of());
+                for (Map.Entry<String, LongAdder> category : college.getValue().entrySet()) {
+                    if (!ours.containsKey(category.getKey())) {
+                        drift += Math.abs(category.getValue().sum());
+                    }
+                }
+            }
+            return drift;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Event.ChatMessageEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Pushes committed chat messages over STOMP: to the room's topic, for open conversations, and to
+// each participant's inbox queue, for their chat list. Delivery is best effort; clients reload the
+// room over REST when they (re)subscribe, so a missed push only delays a message.
+@Service
+@RequiredArgsConstructor
+public class ChatMessageBroadcaster {
+
+    public static final String ROOM_TOPIC_PREFIX = "/topic/chat-rooms.";
+    // Subscribed to as /user/queue/inbox; resolved per session by the user destination handler.
+    public static final String INBOX_QUEUE = "/queue/inbox";
+
+    private static final Logger log = LoggerFactory.getLogger(ChatMessageBroadcaster.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChatMessage(ChatMessageEvent event) {
+        try {
+            messagingTemplate.convertAndSend(ROOM_TOPIC_PREFIX + event.getChatRoomId(), event.getMessage());
+            messagingTemplate.convertAndSendToUser(event.getBuyerUsername(), INBOX_QUEUE, event.getMessage());
+            messagingTemplate.convertAndSendToUser(event.getSellerUsername(), INBOX_QUEUE, event.getMessage());
+        } catch (MessagingException e) {
+            // The message is saved either way; don't fail the request that sent it.
+            log.warn("Failed to push message {} in chat room {}", event.getMessage().getId(),
+                    event.getChatRoomId(), e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,8 @@ import com.Agora.Agora.Dto.Request.MessageRequestDto;
 import com.Agora.Agora.Dto.Request.OfferReqDto;
 import com.Agora.Agora.Dto.Response.ChatRoomResponseDto;
 import com.Agora.Agora.Dto.Response.MessageResponseDto;
+import com.Agora.Agora.Event.ChatMessageEvent;
+import com.Agora.Agora.Event.ListingActivityEvent;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.ChatRoom;
@@ -37,6 +40,7 @@ public class ChatService {
     private final ListingsRepo listingsRepo;
     private final UserService userService;
     private final DtoMapper dto;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Checking existing room if not present creating a new one.
     @Transactional
@@ -68,6 +72,7 @@ public class ChatService {
             chatRoom.setLastMessageAt(Instant.now());
 
             chatRoom = chatRoomRepo.save(chatRoom);
+            eventPublisher.publishEvent(ListingActivityEvent.of(listingId, ListingActivityEvent.Activity.CHAT));
         }
         ChatRoomResponseDto responseDto = dto.mapToChatRoomResponseDto(chatRoom, currentUser);
         return responseDto;
@@ -104,6 +109,7 @@ public class ChatService {
         Message savedMessage = messageRepo.save(message);
 
         MessageResponseDto responseDto = dto.mapToMessageResponseDto(savedMessage);
+        eventPublisher.publishEvent(ChatMessageEvent.of(chatRoom, responseDto));
         return responseDto;
     }
 
@@ -178,9 +184,12 @@ public class ChatService {
 
         // save.
         Message savedMessage = messageRepo.save(message);
+        eventPublisher.publishEvent(ListingActivityEvent.of(chatRoom.getListing().getId(),
+                ListingActivityEvent.Activity.OFFER));
 
         // Mapping.
         MessageResponseDto responseDto = dto.mapToMessageResponseDto(savedMessage);
+        eventPublisher.publishEvent(ChatMessageEvent.of(chatRoom, responseDto));
         return responseDto;
     }
 
@@ -224,7 +233,9 @@ public class ChatService {
         // response.
         Message savedResponse = messageRepo.save(responseMessage);
 
-        return dto.mapToMessageResponseDto(savedResponse);
+        MessageResponseDto responseDto = dto.mapToMessageResponseDto(savedResponse);
+        eventPublisher.publishEvent(ChatMessageEvent.of(chatRoom, responseDto));
+        return responseDto;
 
     }
 }
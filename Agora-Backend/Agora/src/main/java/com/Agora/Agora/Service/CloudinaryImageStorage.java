@@ -0,0 +1,57 @@
+package com.Agora.Agora.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+// The production ImageStorage. Uploads from the temp file, so an image is never held in memory whole.
+@Service
+@ConditionalOnProperty(name = "application.images.storage", havingValue = "cloudinary", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private static final String FOLDER = "listings";
+    // The Admin API's limit for one delete call.
+    private static final int MAX_IDS_PER_DELETE = 100;
+
+    private final CloudinaryService cloudinaryService;
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public StoredImage store(Path file, String key, String format) throws IOException {
+        Map result = cloudinaryService.uploadListingImage(file.toFile(), FOLDER, key);
+        return new StoredImage(result.get("secure_url").toString(), result.get("public_id").toString());
+    }
+
+    @Override
+    public void deleteAll(Collection<String> publicIds) throws IOException {
+        List<String> ids = List.copyOf(publicIds);
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_DELETE) {
+            List<String> batch = ids.subList(from, Math.min(from + MAX_IDS_PER_DELETE, ids.size()));
+            Map<String, String> outcomes;
+            try {
+                outcomes = cloudinaryService.deleteImages(batch);
+            } catch (Exception e) {
+                throw new IOException("Cloudinary delete failed", e);
+            }
+            for (String id : batch) {
+                String outcome = outcomes.get(id);
+                if (!"deleted".equals(outcome) && !"not_found".equals(outcome)) {
+                    failed.add(id + "=" + outcome);
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new IOException("Cloudinary could not delete " + failed);
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.Agora.Agora.Service;
 
+import java.io.File;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.Map;
 import java.io.IOException;
 import java.net.URL;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Transformation;
@@ -45,31 +46,13 @@ public class CloudinaryService {
         }
     }
 
-    // public String uploadFile(MultipartFile file, String filename) throws
-    // Exception {
-    // byte[] filebytes = file.getBytes();
-    // Map uploadResult = uploadIdCard(filebytes, filename);
-    // return uploadResult.get("secure_url").toString();
-    // }
-
-    public String uploadFile(MultipartFile file, String filename) throws Exception {
-        // Validate file
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("File cannot be empty");
-        }
-
-        if (file.getSize() > 10 * 1024 * 1024) {
-            throw new IllegalArgumentException("File size exceeds 10MB limit");
-        }
-
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
-            throw new IllegalArgumentException("File must be an image");
-        }
-
-        byte[] filebytes = file.getBytes();
-        Map uploadResult = uploadIdCard(filebytes, filename);
-        return uploadResult.get("secure_url").toString();
+    // Listing images come through ImagePipeline, which streams the upload to a temp file first.
+    public Map uploadListingImage(File file, String folder, String publicId) throws IOException {
+        return cloudinary.uploader().upload(file, ObjectUtils.asMap(
+                "folder", folder + "/",
+                "public_id", publicId,
+                "overwrite", true,
+                "resource_type", "image"));
     }
 
     public Map uploadIdCard(byte[] fileBytes, String filename) throws Exception {
@@ -81,12 +64,10 @@ public class CloudinaryService {
                 "transformation", new Transformation().quality("auto").fetchFormat("auto")));
     }
 
-    @SuppressWarnings({ "CallToPrintStackTrace", "UseSpecificCatch" })
-    public void deleteImages(String publicId) {
-        try {
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    // Up to 100 public ids per call. Maps each id to its outcome: "deleted", "not_found", or an error.
+    @SuppressWarnings("unchecked")
+    public Map<String, String> deleteImages(Collection<String> publicIds) throws Exception {
+        Map result = cloudinary.api().deleteResources(publicIds, ObjectUtils.emptyMap());
+        return (Map<String, String>) result.get("deleted");
     }
 }
@@ -0,0 +1,165 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Event.CollegeChangedEvent;
+import com.Agora.Agora.Model.College;
+import com.Agora.Agora.Repository.CollegeRepo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// College coordinates bucketed into a fixed lat/lng grid, so "colleges within N km" only looks at
+// the cells the radius overlaps. There are few colleges, so the whole grid lives in memory and
+// search turns the answer into a college_id IN (...) filter instead of a spatial join.
+@Service
+@RequiredArgsConstructor
+public class CollegeGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CollegeGeoIndex.class);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    // Roughly 55 km cells.
+    private static final double CELL_DEGREES = 0.5;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private final CollegeRepo collegeRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, List<CollegePoint>> cells = new HashMap<>();
+    private final Map<Long, CollegePoint> byId = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<College> colleges = collegeRepo.findAll();
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            byId.clear();
+            colleges.forEach(college -> putLocked(college.getId(), college.getLatitude(), college.getLongitude()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Geo index loaded {} of {} colleges with coordinates", byId.size(), colleges.size());
+    }
+
+    // Adds, moves or drops a college. After commit, so a rolled-back edit never reaches the index.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCollegeChanged(CollegeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                removeLocked(event.getCollegeId());
+            } else {
+                putLocked(event.getCollegeId(), event.getLatitude(), event.getLongitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // College ids within radiusKm of the point, nearest first, mapped to their distance in km.
+    public LinkedHashMap<Long, Double> within(double latitude, double longitude, double radiusKm) {
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        int minLatCell = latCell(Math.max(-90, latitude - latSpan));
+        int maxLatCell = latCell(Math.min(90, latitude + latSpan));
+
+        // Longitude degrees shrink towards the poles; widen the span by the worst latitude in range.
+        double worstLat = Math.min(89.9, Math.max(Math.abs(latitude - latSpan), Math.abs(latitude + latSpan)));
+        double lngSpan = radiusKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(worstLat)));
+        // Unwrapped cell numbers, so a range crossing the antimeridian is still one run of cells.
+        int firstLngCell = (int) Math.floor((longitude - lngSpan + 180) / CELL_DEGREES);
+        int lastLngCell = (int) Math.floor((longitude + lngSpan + 180) / CELL_DEGREES);
+        int lngCellCount = Math.min(LNG_CELLS, lastLngCell - firstLngCell + 1);
+
+        List<Map.Entry<Long, Double>> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int lat = minLatCell; lat <= maxLatCell; lat++) {
+                for (int i = 0; i < lngCellCount; i++) {
+                    int lng = Math.floorMod(firstLngCell + i, LNG_CELLS);
+                    List<CollegePoint> points = cells.get(cellKey(lat, lng));
+                    if (points == null) {
+                        continue;
+                    }
+                    for (CollegePoint point : points) {
+                        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                        if (distance <= radiusKm) {
+                            matches.add(Map.entry(point.collegeId(), distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparing((Map.Entry<Long, Double> e) -> e.getValue()).thenComparing(Map.Entry::getKey));
+        LinkedHashMap<Long, Double> result = new LinkedHashMap<>();
+        matches.forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    // Haversine great-circle distance.
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // A college without coordinates is dropped.
+    private void putLocked(Long collegeId, Double latitude, Double longitude) {
+        removeLocked(collegeId);
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        CollegePoint point = new CollegePoint(collegeId, latitude, longitude);
+        byId.put(point.collegeId(), point);
+        cells.computeIfAbsent(cellKey(latCell(point.latitude()), lngCell(point.longitude())), k -> new ArrayList<>())
+                .add(point);
+    }
+
+    private void removeLocked(Long collegeId) {
+        CollegePoint previous = byId.remove(collegeId);
+        if (previous == null) {
+            return;
+        }
+        int key = cellKey(latCell(previous.latitude()), lngCell(previous.longitude()));
+        List<CollegePoint> points = cells.get(key);
+        if (points != null) {
+            points.removeIf(p -> p.collegeId().equals(collegeId));
+            if (points.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int lngCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static int cellKey(int latCell, int lngCell) {
+        return latCell * LNG_CELLS + lngCell;
+    }
+
+    private record CollegePoint(Long collegeId, double latitude, double longitude) {
+    }
+}
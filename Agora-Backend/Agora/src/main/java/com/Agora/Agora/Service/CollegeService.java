@@ -1,16 +1,21 @@
 package com.Agora.Agora.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.Agora.Agora.Dto.Request.CollegeReqDto;
 import com.Agora.Agora.Dto.Response.CollegeResponseDto;
+import com.Agora.Agora.Event.CollegeChangedEvent;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.College;
 import com.Agora.Agora.Repository.CollegeRepo;
+import com.Agora.Agora.Repository.ListingSearchRepo;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -22,6 +27,12 @@ public class CollegeService {
 
     private final CollegeRepo collegeRepo;
     private final DtoMapper dto;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersions resourceVersions;
+    private static final int SEARCH_LIMIT = 20;
+
+    @Value("${application.search.fuzzy.threshold:0.4}")
+    private double fuzzyThreshold;
 
     @Transactional
     public CollegeResponseDto addCollege(CollegeReqDto req) {
@@ -35,8 +46,12 @@ public class CollegeService {
         college.setState(req.getState());
         college.setCountry(req.getCountry());
         college.setWebsite(req.getWebsite());
+        college.setLatitude(req.getLatitude());
+        college.setLongitude(req.getLongitude());
 
         College savedCollege = collegeRepo.save(college);
+        eventPublisher.publishEvent(CollegeChangedEvent.saved(savedCollege));
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.COLLEGES);
 
         CollegeResponseDto responseDto = dto.mapToCollegeResponseDto(savedCollege);
         return responseDto;
@@ -52,9 +67,25 @@ public class CollegeService {
     }
 
     //Search Colleges.
+    // Substring matches first; if there are too few, top up with typo-tolerant matches ("IIT Bombey").
+    @Transactional
     public List<CollegeResponseDto> searchColleges(String query) {
-        PageRequest limit = PageRequest.of(0, 20);
-        List<College> colleges = collegeRepo.searchByCollegeName(query.trim(), limit);
+        PageRequest limit = PageRequest.of(0, SEARCH_LIMIT);
+        List<College> colleges = new ArrayList<>(collegeRepo.searchByCollegeName(query.trim(), limit));
+
+        String trigramQuery = ListingSearchRepo.toTrigramQuery(query);
+        if (colleges.size() < SEARCH_LIMIT && trigramQuery != null) {
+            collegeRepo.applyWordSimilarityThreshold(fuzzyThreshold);
+            for (College college : collegeRepo.searchByCollegeNameSimilarity(trigramQuery, limit)) {
+                if (colleges.size() >= SEARCH_LIMIT) {
+                    break;
+                }
+                if (colleges.stream().noneMatch(c -> c.getId().equals(college.getId()))) {
+                    colleges.add(college);
+                }
+            }
+        }
+
         return colleges.stream()
                 .map(dto::mapToCollegeResponseDto)
                 .collect(Collectors.toList());
@@ -83,8 +114,12 @@ public class CollegeService {
         college.setState(req.getState());
         college.setCountry(req.getCountry());
         college.setWebsite(req.getWebsite());
+        college.setLatitude(req.getLatitude());
+        college.setLongitude(req.getLongitude());
 
         College updatedCollege = collegeRepo.save(college);
+        eventPublisher.publishEvent(CollegeChangedEvent.saved(updatedCollege));
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.COLLEGES);
 
         CollegeResponseDto responseDto = dto.mapToCollegeResponseDto(updatedCollege);
 
@@ -97,6 +132,8 @@ public class CollegeService {
                 .orElseThrow(() -> new EntityNotFoundException("College not found"));
 
         collegeRepo.delete(college);
+        eventPublisher.publishEvent(CollegeChangedEvent.deleted(id));
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.COLLEGES);
     }
 
 }
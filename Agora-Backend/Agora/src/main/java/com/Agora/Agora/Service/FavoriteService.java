@@ -1,6 +1,8 @@
 package com.Agora.Agora.Service;
 
+import com.Agora.Agora.Dto.Response.ListingCardDto;
 import com.Agora.Agora.Dto.Response.ListingResponseDto;
+import com.Agora.Agora.Event.ListingActivityEvent;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.Favorite;
@@ -10,6 +12,7 @@ import com.Agora.Agora.Repository.ListingsRepo;
 import com.Agora.Agora.Repository.UserRepo;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +27,7 @@ public class FavoriteService {
     private final ListingsRepo listingsRepo;
     private final DtoMapper dto;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ListingResponseDto addFavorite(String username, Long listingId) {
@@ -32,7 +36,7 @@ public class FavoriteService {
                 .orElseGet(() -> userRepo.findByUserEmail(username)
                         .orElseThrow(() -> new EntityNotFoundException("User not found")));
 
-        Listings listing = listingsRepo.findById(listingId)
+        Listings listing = listingsRepo.findDetailById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
 
         if (favoriteRepo.findByUserAndListing(user, listing).isPresent()) {
@@ -43,6 +47,7 @@ public class FavoriteService {
         favorite.setUser(user);
         favorite.setListing(listing);
         favoriteRepo.save(favorite);
+        eventPublisher.publishEvent(ListingActivityEvent.of(listingId, ListingActivityEvent.Activity.FAVORITE));
 
         AgoraUser receiver = listing.getSeller();
         notificationService.sendListingLikedNotification(receiver, listing, user);
@@ -57,7 +62,7 @@ public class FavoriteService {
                 .orElseGet(() -> userRepo.findByUserEmail(username)
                         .orElseThrow(() -> new EntityNotFoundException("User not found")));
 
-        Listings listing = listingsRepo.findById(listingId)
+        Listings listing = listingsRepo.findDetailById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
 
         Favorite favorite = favoriteRepo.findByUserAndListing(user, listing)
@@ -67,12 +72,11 @@ public class FavoriteService {
         return dto.mapToListingResponseDto(listing);
     }
 
-    public List<ListingResponseDto> getUserFavoritesById(Long userId) {
-        AgoraUser user = userRepo.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User ID " + userId + " not found"));
+    public List<ListingCardDto> getUserFavoritesById(Long userId) {
+        if (!userRepo.existsById(userId)) {
+            throw new EntityNotFoundException("User ID " + userId + " not found");
+        }
 
-        return favoriteRepo.findAllByUser(user).stream()
-                .map(fav -> dto.mapToListingResponseDto(fav.getListing()))
-                .toList();
+        return listingsRepo.findFavoriteCards(userId);
     }
 }
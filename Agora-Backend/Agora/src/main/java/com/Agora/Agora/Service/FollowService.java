@@ -51,10 +51,10 @@ public class FollowService {
     }
 
     public long getFollowersCount(Long userId) {
-        return followRepo.findByFollowingId(userId).stream().count();
+        return followRepo.countByFollowingId(userId);
     }
 
     public long getFollowingCount(Long userId) {
-        return followRepo.findByFollowerId(userId).stream().count();
+        return followRepo.countByFollowerId(userId);
     }
 }
@@ -0,0 +1,266 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Dto.Response.ListingFeedSliceDto;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.Enums.UserStatus;
+import com.Agora.Agora.Model.ListingRecommendation;
+import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Repository.FavoriteCategoryRow;
+import com.Agora.Agora.Repository.FavoriteRepo;
+import com.Agora.Agora.Repository.FollowEdgeRow;
+import com.Agora.Agora.Repository.FollowRepo;
+import com.Agora.Agora.Repository.ListingRecommendationRepo;
+import com.Agora.Agora.Repository.ListingsRepo;
+import com.Agora.Agora.Repository.RankingUserRow;
+import com.Agora.Agora.Repository.RecommendationCandidate;
+import com.Agora.Agora.Repository.ReviewRepo;
+import com.Agora.Agora.Repository.SellerRatingRow;
+import com.Agora.Agora.Repository.UserRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// The personalized "For You" feed. A scheduled job scores the newest AVAILABLE listings for every
+// active user and stores the top ids per user in listing_recommendations, so serving a page is one
+// keyed read plus a card load. Users the job hasn't reached yet get the regular feed.
+@Service
+public class ForYouService {
+
+    private static final Logger log = LoggerFactory.getLogger(ForYouService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int USER_BATCH_SIZE = 500;
+
+    // Score weights. Before the seller's rating, a listing posted today by a followed seller at the
+    // user's college, in the only category they favorite, scores 11; a week-old one with no signals 1.
+    private static final double FOLLOWED_SELLER_WEIGHT = 4.0;
+    private static final double SAME_COLLEGE_WEIGHT = 3.0;
+    // Times the share of the user's favorites in the listing's category.
+    private static final double CATEGORY_WEIGHT = 2.0;
+    // Times (average rating - 3) / 2: -1 for a 1-star seller, +1 for a 5-star one, 0 if unrated.
+    private static final double RATING_WEIGHT = 1.0;
+    // Halves every RECENCY_HALF_LIFE.
+    private static final double RECENCY_WEIGHT = 2.0;
+    private static final Duration RECENCY_HALF_LIFE = Duration.ofDays(7);
+
+    private final ListingsRepo listingsRepo;
+    private final UserRepo userRepo;
+    private final FollowRepo followRepo;
+    private final FavoriteRepo favoriteRepo;
+    private final ReviewRepo reviewRepo;
+    private final ListingRecommendationRepo recommendationRepo;
+    private final ListingService listingService;
+    private final BlockGraphCache blockGraphCache;
+    private final int topK;
+    private final int candidatePool;
+    // Ranking every user takes a while; it runs off the scheduler thread.
+    private final BackgroundJob refreshJob = new BackgroundJob("for-you-refresh", this::refresh);
+
+    public ForYouService(ListingsRepo listingsRepo,
+                         UserRepo userRepo,
+                         FollowRepo followRepo,
+                         FavoriteRepo favoriteRepo,
+                         ReviewRepo reviewRepo,
+                         ListingRecommendationRepo recommendationRepo,
+                         ListingService listingService,
+                         BlockGraphCache blockGraphCache,
+                         @Value("${application.listing.for-you.top-k:200}") int topK,
+                         @Value("${application.listing.for-you.candidate-pool:5000}") int candidatePool) {
+        this.listingsRepo = listingsRepo;
+        this.userRepo = userRepo;
+        this.followRepo = followRepo;
+        this.favoriteRepo = favoriteRepo;
+        this.reviewRepo = reviewRepo;
+        this.recommendationRepo = recommendationRepo;
+        this.listingService = listingService;
+        this.blockGraphCache = blockGraphCache;
+        this.topK = topK;
+        this.candidatePool = candidatePool;
+    }
+
+    public ListingFeedSliceDto getFeed(Long userId, int page, int size) {
+        page = Math.max(page, 0);
+        size = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Optional<ListingRecommendation> ranking = recommendationRepo.findById(userId);
+        if (ranking.isEmpty()) {
+            return listingService.getListingFeedSlice(page, size, "postDate", "DESC", userId);
+        }
+
+        Long[] ranked = ranking.get().getListingIds();
+        int from = (int) Math.min((long) page * size, ranked.length);
+        int to = Math.min(from + size, ranked.length);
+        List<Long> ids = Arrays.asList(ranked).subList(from, to);
+        if (ids.isEmpty()) {
+            return new ListingFeedSliceDto(List.of(), page, size, false);
+        }
+
+        // Listings sold or blocked since the run drop out, so a page can come back short.
+        Specification<Listings> spec = (root, query, cb) -> cb.and(
+                root.get("id").in(ids),
+                cb.equal(root.get("itemStatus"), ItemStatus.AVAILABLE));
+        if (!blockGraphCache.get(userId).isEmpty()) {
+            spec = spec.and(ListingsRepo.notBlockedWith(userId));
+        }
+        Map<Long, ListingCardDto> cards = listingsRepo.findCards(spec, Sort.unsorted()).stream()
+                .collect(Collectors.toMap(ListingCardDto::id, Function.identity()));
+
+        List<ListingCardDto> content = ids.stream()
+                .map(cards::get)
+                .filter(card -> card != null)
+                .toList();
+        return new ListingFeedSliceDto(content, page, size, to < ranked.length);
+    }
+
+    @Scheduled(fixedDelayString = "${application.listing.for-you.refresh-interval:PT1H}", initialDelayString = "PT1M")
+    public void scheduleRefresh() {
+        refreshJob.request();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshJob.shutdown();
+    }
+
+    public void refresh() {
+        // Postgres keeps microseconds; truncating keeps deleteComputedBefore off the rows written below.
+        Instant started = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Candidate> candidates = loadCandidates(started);
+
+        int users = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<RankingUserRow> batch = userRepo.findRankingUsers(UserStatus.ACTIVE, afterId,
+                    PageRequest.of(0, USER_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            Set<Long> userIds = batch.stream().map(RankingUserRow::getId).collect(Collectors.toSet());
+
+            Map<Long, Set<Long>> followed = new HashMap<>();
+            for (FollowEdgeRow edge : followRepo.findEdgesByFollowerIds(userIds)) {
+                followed.computeIfAbsent(edge.getFollowerId(), k -> new HashSet<>()).add(edge.getFollowingId());
+            }
+            Map<Long, Map<String, Double>> categoryShares = categoryShares(
+                    favoriteRepo.countCategoriesByUserIds(userIds));
+
+            Map<Long, long[]> rankings = new HashMap<>();
+            for (RankingUserRow user : batch) {
+                rankings.put(user.getId(), rank(candidates, user,
+                        followed.getOrDefault(user.getId(), Set.of()),
+                        categoryShares.getOrDefault(user.getId(), Map.of())));
+            }
+            recommendationRepo.upsertAll(rankings, started);
+
+            users += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        int removed = recommendationRepo.deleteComputedBefore(started);
+        log.info("Ranked For You feeds for {} users from {} listings in {} ms ({} stale removed)",
+                users, candidates.size(), Duration.between(started, Instant.now()).toMillis(), removed);
+    }
+
+    // The candidate pool with the user-independent part of each score (recency, seller rating).
+    private List<Candidate> loadCandidates(Instant now) {
+        List<RecommendationCandidate> pool = listingsRepo.findRecommendationCandidates(ItemStatus.AVAILABLE,
+                PageRequest.of(0, candidatePool));
+        if (pool.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> sellerIds = pool.stream().map(RecommendationCandidate::getSellerId).collect(Collectors.toSet());
+        Map<Long, Double> ratings = reviewRepo.findAverageRatingsForSellers(sellerIds).stream()
+                .collect(Collectors.toMap(SellerRatingRow::getSellerId, SellerRatingRow::getAverageRating));
+
+        double halfLifeMillis = RECENCY_HALF_LIFE.toMillis();
+        return pool.stream().map(listing -> {
+            double ageMillis = Math.max(0, Duration.between(listing.getPostDate(), now).toMillis());
+            double score = RECENCY_WEIGHT * Math.pow(0.5, ageMillis / halfLifeMillis);
+            Double rating = ratings.get(listing.getSellerId());
+            if (rating != null) {
+                score += RATING_WEIGHT * (rating - 3) / 2;
+            }
+            return new Candidate(listing.getId(), listing.getCollegeId(), listing.getSellerId(),
+                    listing.getCategory(), score);
+        }).toList();
+    }
+
+    // Each user's favorites per category as a share of all their favorites.
+    private static Map<Long, Map<String, Double>> categoryShares(List<FavoriteCategoryRow> rows) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (FavoriteCategoryRow row : rows) {
+            totals.merge(row.getUserId(), row.getFavoriteCount(), Long::sum);
+        }
+        Map<Long, Map<String, Double>> shares = new HashMap<>();
+        for (FavoriteCategoryRow row : rows) {
+            shares.computeIfAbsent(row.getUserId(), k -> new HashMap<>())
+                    .put(row.getCategory(), (double) row.getFavoriteCount() / totals.get(row.getUserId()));
+        }
+        return shares;
+    }
+
+    // The user's top-K candidate ids, best first. The user's own listings are left out.
+    private long[] rank(List<Candidate> candidates, RankingUserRow user, Set<Long> followed,
+                        Map<String, Double> categoryShares) {
+        Long collegeId = user.getCollegeId();
+        PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+        for (Candidate candidate : candidates) {
+            if (user.getId().equals(candidate.sellerId())) {
+                continue;
+            }
+            double score = candidate.baseScore();
+            if (collegeId != null && collegeId.equals(candidate.collegeId())) {
+                score += SAME_COLLEGE_WEIGHT;
+            }
+            if (candidate.sellerId() != null && followed.contains(candidate.sellerId())) {
+                score += FOLLOWED_SELLER_WEIGHT;
+            }
+            Double share = categoryShares.get(candidate.category());
+            if (share != null) {
+                score += CATEGORY_WEIGHT * share;
+            }
+
+            if (top.size() < topK) {
+                top.add(new Scored(candidate.id(), score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Scored(candidate.id(), score));
+            }
+        }
+
+        long[] ids = new long[top.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = top.poll().listingId();
+        }
+        return ids;
+    }
+
+    private record Candidate(long id, Long collegeId, Long sellerId, String category, double baseScore) {
+    }
+
+    private record Scored(long listingId, double score) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Repository.ImageDeletionRepo;
+import com.Agora.Agora.Repository.ImageDeletionRepoCustom.ClaimedDeletion;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Deletes stored images once the transaction that dropped them has committed, away from the request.
+// Services enqueue public ids inside their transaction, so a rollback keeps the images and a commit
+// can't lose the deletions. A scheduled dispatcher claims due rows, deletes them in bulk batches on
+// a few threads, and retries failed batches with exponential backoff until they succeed.
+@Service
+public class ImageDeletionOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDeletionOutbox.class);
+
+    // A claimed row becomes due again after this if its dispatcher dies mid-batch.
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY = Duration.ofHours(6);
+    // About a day of failures at the capped backoff; worth a look by then.
+    private static final int WARN_AFTER_ATTEMPTS = 10;
+
+    private final ImageDeletionRepo deletionRepo;
+    private final ImageStorage storage;
+    private final int batchSize;
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    public ImageDeletionOutbox(ImageDeletionRepo deletionRepo,
+                               ImageStorage storage,
+                               @Value("${application.images.deletion.batch-size:100}") int batchSize,
+                               @Value("${application.images.deletion.parallelism:4}") int parallelism) {
+        this.deletionRepo = deletionRepo;
+        this.storage = storage;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "image-deletion-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Must run inside the caller's transaction: the deletions are written or rolled back with it.
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueue(Collection<String> publicIds) {
+        deletionRepo.enqueue(publicIds);
+    }
+
+    // Claims up to parallelism batches at a time and keeps going while that fills them.
+    @Scheduled(fixedDelayString = "${application.images.deletion.poll-interval:PT5S}",
+            initialDelayString = "${application.images.deletion.poll-interval:PT5S}")
+    public void dispatch() {
+        int limit = batchSize * parallelism;
+        List<ClaimedDeletion> claimed;
+        do {
+            claimed = deletionRepo.claimDue(limit, LEASE);
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < claimed.size(); from += batchSize) {
+                List<ClaimedDeletion> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+                batches.add(CompletableFuture.runAsync(() -> delete(batch), workers));
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        } while (claimed.size() == limit);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Anything not finished is still claimed in the table and is retried once the lease runs out.
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void delete(List<ClaimedDeletion> batch) {
+        List<Long> ids = batch.stream().map(ClaimedDeletion::id).toList();
+        try {
+            // An image still on some listing stays; a listing should never have taken another's images,
+            // but deleting one that is shown somewhere can't be undone.
+            List<String> publicIds = batch.stream().map(ClaimedDeletion::publicId).toList();
+            Set<String> inUse = deletionRepo.findInUse(publicIds.stream().map(ImagePipeline::originalId).toList());
+            List<String> unused = publicIds.stream().filter(id -> !inUse.contains(ImagePipeline.originalId(id))).toList();
+            if (unused.size() < publicIds.size()) {
+                log.warn("Not deleting {} stored images still used by a listing", publicIds.size() - unused.size());
+            }
+            storage.deleteAll(unused);
+            deletionRepo.complete(ids);
+        } catch (Exception e) {
+            int attempts = batch.stream().mapToInt(ClaimedDeletion::attempts).max().orElse(0) + 1;
+            Duration backoff = backoff(attempts);
+            if (attempts >= WARN_AFTER_ATTEMPTS) {
+                log.warn("Deleting {} stored images failed {} times; retrying in {}", ids.size(), attempts, backoff, e);
+            } else {
+                log.info("Deleting {} stored images failed; retrying in {}: {}", ids.size(), backoff, e.toString());
+            }
+            deletionRepo.retryLater(ids, backoff, e.toString());
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        // 30s, 1m, 2m, ... capped at MAX_RETRY.
+        long seconds = FIRST_RETRY.toSeconds() << Math.min(attempts - 1, 20);
+        return Duration.ofSeconds(Math.min(seconds, MAX_RETRY.toSeconds()));
+    }
+}
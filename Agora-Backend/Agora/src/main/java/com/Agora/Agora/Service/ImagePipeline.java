@@ -0,0 +1,341 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.ImageUploadDto;
+import com.Agora.Agora.Model.ImageUpload;
+import com.Agora.Agora.Model.ListingImage;
+import com.Agora.Agora.Repository.ImageUploadRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Listing image uploads. The request only streams the file to a temp file and returns; a small
+// worker pool then decodes it once, writes a thumbnail and a feed-size JPEG, and stores all three
+// through ImageStorage. Clients poll the upload until it is READY and send its URLs with the listing.
+//
+// Upload state is kept in memory for an hour, so polling has to reach the instance that took the upload.
+@Service
+public class ImagePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ImagePipeline.class);
+
+    private static final long MAX_BYTES = 10 * 1024 * 1024;
+    // Longest edge of each variant, in pixels.
+    private static final int THUMBNAIL_SIZE = 320;
+    private static final int FEED_SIZE = 1080;
+    // Checked before decoding: a small PNG can claim dimensions that take gigabytes to decode.
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.8f;
+    // Variants are stored under the original's key plus these, so they can be deleted with it.
+    private static final String THUMBNAIL_SUFFIX = "_thumb";
+    private static final String FEED_SUFFIX = "_feed";
+
+    public enum State {
+        PENDING,
+        PROCESSING,
+        READY,
+        FAILED
+    }
+
+    private final ImageStorage storage;
+    private final ImageUploadRepo uploadRepo;
+    private final ThreadPoolExecutor workers;
+    private final Cache<String, Upload> uploads;
+
+    public ImagePipeline(ImageStorage storage,
+                         ImageUploadRepo uploadRepo,
+                         @Value("${application.images.workers:2}") int workers,
+                         @Value("${application.images.queue-capacity:32}") int queueCapacity) {
+        this.storage = storage;
+        this.uploadRepo = uploadRepo;
+        AtomicInteger threads = new AtomicInteger();
+        // A full queue rejects the upload rather than piling up temp files.
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-pipeline-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.uploads = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    // Throws IllegalArgumentException for a file that can't be an image, and
+    // RejectedExecutionException when too many uploads are already waiting.
+    public ImageUploadDto submit(MultipartFile file, Long userId) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+        if (file.getSize() > MAX_BYTES) {
+            throw new IllegalArgumentException("File size exceeds 10MB limit");
+        }
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("File must be an image");
+        }
+
+        Path temp = Files.createTempFile("agora-upload-", ".tmp");
+        try {
+            // Copied in small chunks from the part the container spooled to disk.
+            file.transferTo(temp);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+
+        Upload upload = new Upload(UUID.randomUUID().toString(), userId, temp);
+        uploads.put(upload.id, upload);
+        try {
+            workers.execute(() -> process(upload));
+        } catch (RejectedExecutionException e) {
+            uploads.invalidate(upload.id);
+            deleteQuietly(temp);
+            throw e;
+        }
+        return upload.toDto();
+    }
+
+    // Null if there is no such upload, it has expired, or it belongs to someone else.
+    public ImageUploadDto get(String id, Long userId) {
+        Upload upload = uploads.getIfPresent(id);
+        return upload == null || !upload.userId.equals(userId) ? null : upload.toDto();
+    }
+
+    // What ImageStorage holds for a listing image: the original and, if it has them, its variants.
+    public static List<String> storedIds(ListingImage image) {
+        String publicId = image.getPublicId();
+        if (publicId == null || publicId.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(3);
+        ids.add(publicId);
+        if (image.getThumbnailUrl() != null) {
+            ids.add(publicId + THUMBNAIL_SUFFIX);
+        }
+        if (image.getFeedUrl() != null) {
+            ids.add(publicId + FEED_SUFFIX);
+        }
+        return ids;
+    }
+
+    // The original's public id for any id storedIds returns.
+    public static String originalId(String storedId) {
+        for (String suffix : List.of(THUMBNAIL_SUFFIX, FEED_SUFFIX)) {
+            if (storedId.endsWith(suffix)) {
+                return storedId.substring(0, storedId.length() - suffix.length());
+            }
+        }
+        return storedId;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Image uploads still running at shutdown were abandoned");
+            workers.shutdownNow();
+        }
+    }
+
+    private void process(Upload upload) {
+        upload.state = State.PROCESSING;
+        long started = System.nanoTime();
+        List<String> stored = new ArrayList<>();
+        Path thumbnail = null;
+        Path feed = null;
+        try {
+            Decoded decoded = decode(upload.file);
+            thumbnail = writeJpeg(scale(decoded.image(), THUMBNAIL_SIZE));
+            feed = writeJpeg(scale(decoded.image(), FEED_SIZE));
+
+            ImageStorage.StoredImage original = storage.store(upload.file, upload.id, decoded.format());
+            stored.add(original.publicId());
+            ImageStorage.StoredImage storedThumbnail = storage.store(thumbnail, upload.id + THUMBNAIL_SUFFIX, "jpeg");
+            stored.add(storedThumbnail.publicId());
+            ImageStorage.StoredImage storedFeed = storage.store(feed, upload.id + FEED_SUFFIX, "jpeg");
+            stored.add(storedFeed.publicId());
+            // Listings only accept public ids their seller uploaded; see ListingService.
+            uploadRepo.save(new ImageUpload(original.publicId(), upload.userId, Instant.now()));
+
+            upload.ready(original, storedThumbnail.url(), storedFeed.url());
+            log.debug("Processed image upload {} in {} ms", upload.id,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            log.warn("Image upload {} failed", upload.id, e);
+            try {
+                storage.deleteAll(stored);
+            } catch (IOException cleanup) {
+                log.warn("Failed to remove the stored parts of image upload {}: {}", upload.id, stored, cleanup);
+            }
+            upload.fail(e instanceof IllegalArgumentException ? e.getMessage() : "Image could not be processed");
+        } finally {
+            deleteQuietly(upload.file);
+            deleteQuietly(thumbnail);
+            deleteQuietly(feed);
+        }
+    }
+
+    // Decodes the first frame, subsampled while reading when the image is far bigger than the
+    // largest variant, so a 48-megapixel photo never sits in memory at full size.
+    private static Decoded decode(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Image dimensions are too large");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (FEED_SIZE * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return new Decoded(reader.read(0, param), reader.getFormatName().toLowerCase(Locale.ROOT));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Fits the image in size x size, halving in steps so downscaling stays smooth. Never enlarges.
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        // RGB on white: JPEG has no alpha channel.
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static Path writeJpeg(BufferedImage image) throws IOException {
+        Path file = Files.createTempFile("agora-variant-", ".jpg");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        return file;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}", file, e);
+        }
+    }
+
+    private record Decoded(BufferedImage image, String format) {
+    }
+
+    private static final class Upload {
+        private final String id;
+        private final Long userId;
+        private final Path file;
+
+        // The results are written before the state, which is read first.
+        private volatile State state = State.PENDING;
+        private volatile String url;
+        private volatile String publicId;
+        private volatile String thumbnailUrl;
+        private volatile String feedUrl;
+        private volatile String error;
+
+        Upload(String id, Long userId, Path file) {
+            this.id = id;
+            this.userId = userId;
+            this.file = file;
+        }
+
+        void ready(ImageStorage.StoredImage original, String thumbnailUrl, String feedUrl) {
+            this.url = original.url();
+            this.publicId = original.publicId();
+            this.thumbnailUrl = thumbnailUrl;
+            this.feedUrl = feedUrl;
+            this.state = State.READY;
+        }
+
+        void fail(String error) {
+            this.error = error;
+            this.state = State.FAILED;
+        }
+
+        ImageUploadDto toDto() {
+            State current = state;
+            return current == State.READY
+                    ? new ImageUploadDto(id, current.name(), url, publicId, thumbnailUrl, feedUrl, null)
+                    : new ImageUploadDto(id, current.name(), null, null, null, null, error);
+        }
+    }
+}
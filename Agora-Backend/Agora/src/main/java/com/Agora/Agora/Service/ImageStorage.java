@@ -0,0 +1,21 @@
+package com.Agora.Agora.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+// Where ImagePipeline puts listing images. Exactly one implementation is active, chosen by
+// application.images.storage: Cloudinary in production, the local filesystem for tests and development.
+public interface ImageStorage {
+
+    // Stores the file under key (unique per image), in the given ImageIO format name
+    // ("jpeg", "png", ...). Returns where it can be fetched and the id to delete it by.
+    StoredImage store(Path file, String key, String format) throws IOException;
+
+    // Removes stored images, in as few calls as the backend allows. Ids that don't exist count as
+    // deleted; anything else that can't be deleted throws, so the caller can retry the lot.
+    void deleteAll(Collection<String> publicIds) throws IOException;
+
+    record StoredImage(String url, String publicId) {
+    }
+}
@@ -0,0 +1,435 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Request.ImageDto;
+import com.Agora.Agora.Dto.Request.ListingImportReqDto;
+import com.Agora.Agora.Dto.Response.BulkTransferDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.ListingImage;
+import com.Agora.Agora.Repository.ImageUploadRepo;
+import com.Agora.Agora.Repository.ListingsBulkRepo.BulkListing;
+import com.Agora.Agora.Repository.ListingsRepo;
+import com.Agora.Agora.Repository.SellerCollegeRow;
+import com.Agora.Agora.Repository.UserRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Admin bulk export and import of listings.
+//
+// Export reads every listing through one forward-only cursor and writes each row as it arrives,
+// so memory stays flat however big the table is. Import reads NDJSON line by line and inserts
+// chunk-size listings per transaction as JDBC batches; a failed chunk stops the import, and the
+// chunks before it stay committed.
+//
+// Both register a transfer that /transfers reports while it runs and for a while after.
+@Service
+public class ListingBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingBulkService.class);
+
+    private static final int LOG_EVERY_ROWS = 10_000;
+    private static final int MAX_ERRORS = 50;
+    private static final int KEPT_TRANSFERS = 20;
+
+    private static final String CSV_HEADER = "id,title,description,price,category,item_condition,item_status," +
+            "post_date,updated_at,seller_id,college_id,image_urls";
+
+    public enum Format {
+        NDJSON, CSV;
+
+        // null for anything else.
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ListingsRepo listingsRepo;
+    private final UserRepo userRepo;
+    private final ImageUploadRepo imageUploadRepo;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int fetchSize;
+    private final int chunkSize;
+
+    // Oldest first; running transfers plus the last few finished ones.
+    private final Deque<Transfer> transfers = new ConcurrentLinkedDeque<>();
+
+    public ListingBulkService(ListingsRepo listingsRepo,
+                              UserRepo userRepo,
+                              ImageUploadRepo imageUploadRepo,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${application.listing.bulk.export-fetch-size:1000}") int fetchSize,
+                              @Value("${application.listing.bulk.import-chunk-size:1000}") int chunkSize) {
+        this.listingsRepo = listingsRepo;
+        this.userRepo = userRepo;
+        this.imageUploadRepo = imageUploadRepo;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    // The export is one transaction, so it is a consistent snapshot of the table.
+    public void export(Format format, ItemStatus status, OutputStream out) throws IOException {
+        Transfer transfer = start("EXPORT", format);
+        try {
+            if (format == Format.CSV) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+                stream(status, transfer, listing -> writeCsv(writer, listing));
+                writer.flush();
+            } else {
+                SequenceWriter writer = objectMapper.writerFor(BulkListing.class)
+                        .withRootValueSeparator("\n")
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValues(out);
+                stream(status, transfer, listing -> {
+                    try {
+                        writer.write(listing);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.close();
+                if (transfer.rows > 0) {
+                    out.write('\n');
+                }
+            }
+            out.flush();
+            transfer.finish(null);
+        } catch (UncheckedIOException e) {
+            // Usually the client hanging up.
+            transfer.finish(e.getCause());
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            transfer.finish(e);
+            throw e;
+        }
+    }
+
+    // Lines that aren't valid listings are skipped and reported; the rest are inserted. Returns
+    // the final report, FAILED if a chunk could not be written.
+    public BulkTransferDto importNdjson(InputStream in) throws IOException {
+        Transfer transfer = start("IMPORT", Format.NDJSON);
+        ObjectReader reader = objectMapper.readerFor(ListingImportReqDto.class);
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            long lineNumber = 0;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ListingImportReqDto row;
+                try {
+                    row = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    transfer.reject(lineNumber, e.getOriginalMessage());
+                    continue;
+                }
+                Set<ConstraintViolation<ListingImportReqDto>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    transfer.reject(lineNumber, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                chunk.add(new PendingRow(lineNumber, row));
+                if (chunk.size() == chunkSize) {
+                    insertChunk(chunk, transfer);
+                    chunk.clear();
+                }
+            }
+            insertChunk(chunk, transfer);
+            transfer.finish(null);
+        } catch (IOException e) {
+            transfer.finish(e);
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Listing import {} stopped after {} rows", transfer.id, transfer.rows, e);
+            transfer.finish(e);
+        }
+        return transfer.toDto();
+    }
+
+    public List<BulkTransferDto> transfers() {
+        return transfers.stream().map(Transfer::toDto).toList();
+    }
+
+    private void stream(ItemStatus status, Transfer transfer, Consumer<BulkListing> writer) {
+        readTransaction.executeWithoutResult(tx -> listingsRepo.streamAll(status, fetchSize, listing -> {
+            writer.accept(listing);
+            transfer.advance(1);
+        }));
+    }
+
+    private static List<String> publicIds(ListingImportReqDto row) {
+        if (row.getImages() == null) {
+            return List.of();
+        }
+        return row.getImages().stream()
+                .filter(image -> image != null && image.getPublicId() != null)
+                .map(ImageDto::getPublicId)
+                .toList();
+    }
+
+    // Rejects the row unless every image id is the seller's and still free; claims them if so,
+    // so a later row in the same chunk can't take them too.
+    private static boolean claimImages(List<String> publicIds, Long sellerId, Map<String, Long> uploaderOf,
+                                       Set<String> taken, PendingRow pending, Transfer transfer) {
+        for (String publicId : publicIds) {
+            if (!sellerId.equals(uploaderOf.get(publicId))) {
+                transfer.reject(pending.lineNumber(), "Image " + publicId + " was not uploaded by seller " + sellerId);
+                return false;
+            }
+            if (taken.contains(publicId)) {
+                transfer.reject(pending.lineNumber(), "Image " + publicId + " is already used by another listing");
+                return false;
+            }
+        }
+        taken.addAll(publicIds);
+        return true;
+    }
+
+    private void insertChunk(List<PendingRow> chunk, Transfer transfer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> sellerIds = chunk.stream().map(p -> p.row().getSellerId()).collect(Collectors.toSet());
+        // Values can be null: sellers without a college.
+        Map<Long, Long> collegeBySeller = new HashMap<>();
+        for (SellerCollegeRow seller : userRepo.findSellerColleges(sellerIds)) {
+            collegeBySeller.put(seller.getId(), seller.getCollegeId());
+        }
+        // As in ListingService: a row's image ids must be its seller's own uploads, on no other listing.
+        Set<String> publicIds = chunk.stream().flatMap(p -> publicIds(p.row()).stream()).collect(Collectors.toSet());
+        Map<String, Long> uploaderOf = new HashMap<>();
+        Set<String> taken = new HashSet<>();
+        if (!publicIds.isEmpty()) {
+            imageUploadRepo.findAllById(publicIds).forEach(u -> uploaderOf.put(u.getPublicId(), u.getUserId()));
+            taken.addAll(imageUploadRepo.findUsedByOtherListings(publicIds, 0L));
+        }
+
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            Long sellerId = pending.row().getSellerId();
+            if (!collegeBySeller.containsKey(sellerId)) {
+                transfer.reject(pending.lineNumber(), "Seller " + sellerId + " not found");
+            } else if (pending.row().getCollegeId() == null && collegeBySeller.get(sellerId) == null) {
+                transfer.reject(pending.lineNumber(), "Seller " + sellerId + " is not linked to any college");
+            } else if (claimImages(publicIds(pending.row()), sellerId, uploaderOf, taken, pending, transfer)) {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        writeTransaction.executeWithoutResult(tx -> {
+            List<Long> ids = listingsRepo.reserveIds(accepted.size());
+            List<BulkListing> listings = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                listings.add(toListing(ids.get(i), accepted.get(i).row(), collegeBySeller, now));
+            }
+            listingsRepo.insertAll(listings);
+            // Delivered after this chunk commits, like edits made through ListingService.
+            for (BulkListing listing : listings) {
+                eventPublisher.publishEvent(created(listing));
+            }
+        });
+        transfer.advance(accepted.size());
+    }
+
+    private static BulkListing toListing(Long id, ListingImportReqDto row, Map<Long, Long> collegeBySeller,
+                                         Instant now) {
+        List<ListingImage> images = row.getImages() == null ? List.of() : row.getImages().stream()
+                .filter(image -> image != null && image.getUrl() != null)
+                .map(image -> new ListingImage(image.getUrl(), image.getPublicId(), image.getThumbnailUrl(),
+                        image.getFeedUrl()))
+                .toList();
+        return new BulkListing(
+                id,
+                row.getTitle(),
+                row.getDescription(),
+                row.getPrice(),
+                row.getCategory(),
+                row.getItemCondition(),
+                row.getItemStatus() != null ? row.getItemStatus() : ItemStatus.AVAILABLE,
+                row.getPostDate() != null ? row.getPostDate() : now,
+                now,
+                row.getSellerId(),
+                row.getCollegeId() != null ? row.getCollegeId() : collegeBySeller.get(row.getSellerId()),
+                images);
+    }
+
+    private static ListingChangedEvent created(BulkListing listing) {
+        return new ListingChangedEvent(ListingChangedEvent.Type.CREATED, listing.id(), listing.collegeId(),
+                listing.sellerId(), listing.title(), listing.description(), listing.category(), listing.price(),
+                listing.itemCondition(), listing.itemStatus(), listing.postDate(), null, null, null);
+    }
+
+    private static void writeCsv(Writer writer, BulkListing listing) {
+        String imageUrls = listing.images().stream().map(ListingImage::getUrl).collect(Collectors.joining(" "));
+        try {
+            writer.write(listing.id().toString());
+            writeCsvField(writer, listing.title());
+            writeCsvField(writer, listing.description());
+            writeCsvField(writer, listing.price().toPlainString());
+            writeCsvField(writer, listing.category());
+            writeCsvField(writer, listing.itemCondition().name());
+            writeCsvField(writer, listing.itemStatus().name());
+            writeCsvField(writer, listing.postDate().toString());
+            writeCsvField(writer, listing.updatedAt() != null ? listing.updatedAt().toString() : "");
+            writeCsvField(writer, listing.sellerId() != null ? listing.sellerId().toString() : "");
+            writeCsvField(writer, listing.collegeId() != null ? listing.collegeId().toString() : "");
+            writeCsvField(writer, imageUrls);
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180: quote fields with separators, quotes or line breaks, doubling the quotes.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private Transfer start(String kind, Format format) {
+        Transfer transfer = new Transfer(UUID.randomUUID().toString().substring(0, 8), kind, format);
+        transfers.addLast(transfer);
+        // Drop the oldest finished transfers beyond the limit; running ones always stay.
+        if (transfers.size() > KEPT_TRANSFERS) {
+            transfers.stream()
+                    .filter(t -> t.finishedAt != null)
+                    .limit(transfers.size() - KEPT_TRANSFERS)
+                    .toList()
+                    .forEach(transfers::remove);
+        }
+        log.info("Listing {} {} ({}) started", kind.toLowerCase(), transfer.id, format);
+        return transfer;
+    }
+
+    private record PendingRow(long lineNumber, ListingImportReqDto row) {
+    }
+
+    // Updated by the thread running the transfer, read by /transfers.
+    private static final class Transfer {
+
+        private final String id;
+        private final String kind;
+        private final Format format;
+        private final Instant startedAt = Instant.now();
+        private final List<String> errors = new ArrayList<>();
+        private long rows;
+        private long rejectedRows;
+        private Instant finishedAt;
+        private boolean failed;
+
+        Transfer(String id, String kind, Format format) {
+            this.id = id;
+            this.kind = kind;
+            this.format = format;
+        }
+
+        synchronized void advance(int count) {
+            long before = rows;
+            rows += count;
+            if (rows / LOG_EVERY_ROWS != before / LOG_EVERY_ROWS) {
+                log.info("Listing {} {}: {} rows, {} rows/s", kind.toLowerCase(), id, rows,
+                        Math.round(rowsPerSecond(Instant.now())));
+            }
+        }
+
+        synchronized void reject(long lineNumber, String reason) {
+            rejectedRows++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("Line " + lineNumber + ": " + reason);
+            }
+        }
+
+        synchronized void finish(Exception failure) {
+            finishedAt = Instant.now();
+            failed = failure != null;
+            if (failed) {
+                errors.add(failure.getClass().getSimpleName() + ": " + failure.getMessage());
+            }
+            log.info("Listing {} {} {} after {} rows ({} rejected) in {} ms, {} rows/s", kind.toLowerCase(), id,
+                    failed ? "failed" : "finished", rows, rejectedRows,
+                    Duration.between(startedAt, finishedAt).toMillis(), Math.round(rowsPerSecond(finishedAt)));
+        }
+
+        synchronized BulkTransferDto toDto() {
+            String state = finishedAt == null ? "RUNNING" : failed ? "FAILED" : "COMPLETED";
+            return new BulkTransferDto(id, kind, format.name(), state, startedAt, finishedAt, rows, rejectedRows,
+                    rowsPerSecond(finishedAt != null ? finishedAt : Instant.now()), List.copyOf(errors));
+        }
+
+        private double rowsPerSecond(Instant until) {
+            long millis = Duration.between(startedAt, until).toMillis();
+            return millis == 0 ? rows : rows * 1000.0 / millis;
+        }
+    }
+}
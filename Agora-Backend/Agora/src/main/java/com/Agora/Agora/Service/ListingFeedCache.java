@@ -0,0 +1,99 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.FeedCacheStatsDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// The anonymous listing feed, cached as ready-to-send JSON. Every visitor without an account sees the
+// same first pages, so a hit skips both the query and the serialization. Entries live for a short TTL
+// and are dropped as soon as a listing is created, updated, deactivated or deleted.
+@Service
+public class ListingFeedCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingFeedCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<FeedKey, byte[]> pages;
+    // Part of every key. Bumped on invalidation, so a page loaded before a change committed can't be
+    // stored under a key that is still being read.
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ListingFeedCache(ObjectMapper objectMapper,
+                            @Value("${application.listing.feed-cache.enabled:true}") boolean enabled,
+                            @Value("${application.listing.feed-cache.max-size:16MB}") DataSize maxSize,
+                            @Value("${application.listing.feed-cache.ttl:30s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                // Weighed by JSON length: clients pick the page size, so a page count alone doesn't bound memory.
+                .maximumWeight(maxSize.toBytes())
+                .weigher((FeedKey key, byte[] body) -> body.length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // The serialized page for these parameters, loading it with the supplier on a miss.
+    public byte[] getPage(int page, int size, String sortBy, String sortDir, boolean slice, Supplier<?> loader) {
+        if (!enabled) {
+            return serialize(loader.get());
+        }
+        FeedKey key = new FeedKey(generation.get(), page, size, sortBy, sortDir.toUpperCase(Locale.ROOT), slice);
+        return pages.get(key, k -> serialize(loader.get()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    public FeedCacheStatsDto stats() {
+        CacheStats stats = pages.stats();
+        return new FeedCacheStatsDto(
+                enabled,
+                pages.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.get(),
+                stats.averageLoadPenalty() / 1_000_000d);
+    }
+
+    private byte[] serialize(Object page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize feed page", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record FeedKey(long generation, int page, int size, String sortBy, String sortDir, boolean slice) {
+    }
+}
@@ -0,0 +1,721 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Request.ListingFilterReqDto;
+import com.Agora.Agora.Dto.Response.SearchIndexReportDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Repository.ListingFacetCounter;
+import com.Agora.Agora.Repository.ListingIndexRow;
+import com.Agora.Agora.Repository.ListingSearchCursor;
+import com.Agora.Agora.Repository.ListingsRepo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+
+// Optional in-process search over AVAILABLE listings, one shard per college.
+// Postgres stays the source of truth: the index is rebuilt from it on startup, follows
+// ListingChangedEvents after commit, and can be checked (and repaired) against it on demand.
+@Service
+@RequiredArgsConstructor
+public class ListingSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingSearchIndex.class);
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final int REPORT_SAMPLE_SIZE = 50;
+    private static final long NO_COLLEGE = 0L;
+
+    // Field weights for relevance, same order as ts_rank's A/B/C weights.
+    private static final int TITLE = 0;
+    private static final int CATEGORY = 1;
+    private static final int DESCRIPTION = 2;
+    private static final double[] FIELD_WEIGHTS = { 1.0, 0.4, 0.2 };
+
+    private final ListingsRepo listingsRepo;
+
+    @Value("${application.search.in-memory.enabled:false}")
+    private boolean enabled;
+
+    private volatile Map<Long, CollegeShard> shards = new ConcurrentHashMap<>();
+    // Listing id -> college shard it lives in.
+    private volatile Map<Long, Long> shardOf = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Changes seen while a rebuild is running, replayed onto the new shards before they go live.
+    private final Object rebuildMonitor = new Object();
+    private List<PendingChange> pendingChanges;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The index answers everything except fuzzy searches and the title and college-name filters,
+    // and only once it's built.
+    public boolean canServe(ListingFilterReqDto req) {
+        if (!enabled || !ready || req.isFuzzy()) {
+            return false;
+        }
+        if (req.getTitle() != null && !req.getTitle().isEmpty()) {
+            return false;
+        }
+        if (req.getCollegeName() != null && !req.getCollegeName().isEmpty()) {
+            return false;
+        }
+        // Keywords with no word characters fall back to LIKE matching in the database.
+        return req.getKeyword() == null || req.getKeyword().isEmpty() || !tokenize(req.getKeyword()).isEmpty();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            if (pendingChanges != null) {
+                log.info("Search index rebuild already running");
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+
+        long started = System.nanoTime();
+        Map<Long, CollegeShard> newShards = new ConcurrentHashMap<>();
+        Map<Long, Long> newShardOf = new ConcurrentHashMap<>();
+        long count = 0;
+        try {
+            Long afterId = 0L;
+            List<ListingIndexRow> rows;
+            do {
+                rows = listingsRepo.findIndexRows(ItemStatus.AVAILABLE, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (ListingIndexRow row : rows) {
+                    upsert(newShards, newShardOf, IndexedListing.from(row));
+                    afterId = row.getId();
+                }
+                count += rows.size();
+            } while (rows.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (rebuildMonitor) {
+                pendingChanges = null;
+            }
+            log.error("Search index rebuild failed; searches keep using the database", e);
+            return;
+        }
+
+        synchronized (rebuildMonitor) {
+            for (PendingChange change : pendingChanges) {
+                if (change.listing() != null) {
+                    upsert(newShards, newShardOf, change.listing());
+                } else {
+                    remove(newShards, newShardOf, change.listingId());
+                }
+            }
+            shards = newShards;
+            shardOf = newShardOf;
+            pendingChanges = null;
+            ready = true;
+        }
+        log.info("Search index rebuilt: {} listings across {} colleges in {} ms",
+                count, newShards.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (event.isAvailable()) {
+                reindex(IndexedListing.from(event));
+            } else {
+                evict(event.getListingId());
+            }
+        } catch (RuntimeException e) {
+            // The database already committed; the consistency check will pick this up.
+            log.warn("Failed to apply {} for listing {} to the search index", event.getType(), event.getListingId(), e);
+        }
+    }
+
+    // Drops a listing the database no longer considers searchable.
+    public void evict(Long listingId) {
+        synchronized (rebuildMonitor) {
+            if (pendingChanges != null) {
+                pendingChanges.add(new PendingChange(listingId, null));
+            }
+            remove(shards, shardOf, listingId);
+        }
+    }
+
+    // Listing ids strictly after the cursor position, best first, plus the total number of matches
+    // and, if the request asks for them, facet counts over all matches.
+    // collegeDistances (college id -> km) limits the search to those colleges and feeds DISTANCE ordering.
+    public SearchResult search(ListingFilterReqDto req, BlockGraphCache.BlockSet excludedSellerIds,
+                               Map<Long, Double> collegeDistances, ListingSearchCursor position, int limit) {
+        Query query = new Query(req, excludedSellerIds, position);
+        Comparator<Candidate> order = position.getDirection().isDescending()
+                ? Comparator.comparingDouble(Candidate::key).thenComparingLong(Candidate::listingId).reversed()
+                : Comparator.comparingDouble(Candidate::key).thenComparingLong(Candidate::listingId);
+
+        // Worst candidate on top so it can be dropped once we have more than we need.
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, order.reversed());
+        ListingFacetCounter facets = req.isIncludeFacets() ? new ListingFacetCounter() : null;
+        long total = 0;
+
+        for (Map.Entry<Long, CollegeShard> entry : shards.entrySet()) {
+            Long collegeId = entry.getKey();
+            if (req.getCollegeId() != null && !req.getCollegeId().equals(collegeId)) {
+                continue;
+            }
+            if (collegeDistances != null && !collegeDistances.containsKey(collegeId)) {
+                continue;
+            }
+            double distance = collegeDistances != null ? collegeDistances.get(collegeId) : 0;
+            total += entry.getValue().collect(query, best, limit, facets, distance);
+        }
+
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        List<Hit> hits = sorted.stream()
+                .map(c -> new Hit(c.listingId(), sortValue(position.getSortKey(), c.key())))
+                .toList();
+        return new SearchResult(hits, total, facets);
+    }
+
+    // Compares the index with the database and optionally fixes whatever differs.
+    public SearchIndexReportDto verify(boolean repair) {
+        if (!enabled) {
+            return new SearchIndexReportDto(false, false, 0, 0, 0, 0, 0, List.of(), List.of(), List.of(), false);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<IndexedListing> missing = new ArrayList<>();
+        List<IndexedListing> stale = new ArrayList<>();
+
+        Long afterId = 0L;
+        List<ListingIndexRow> rows;
+        do {
+            rows = listingsRepo.findIndexRows(ItemStatus.AVAILABLE, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (ListingIndexRow row : rows) {
+                IndexedListing expected = IndexedListing.from(row);
+                seen.add(expected.id());
+                Long collegeId = shardOf.get(expected.id());
+                CollegeShard shard = collegeId != null ? shards.get(collegeId) : null;
+                Integer fingerprint = shard != null ? shard.fingerprintOf(expected.id()) : null;
+                if (fingerprint == null) {
+                    missing.add(expected);
+                } else if (!collegeId.equals(expected.collegeId()) || fingerprint != expected.fingerprint()) {
+                    stale.add(expected);
+                }
+                afterId = row.getId();
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        List<Long> unexpected = shardOf.keySet().stream().filter(id -> !seen.contains(id)).sorted().toList();
+        long indexedCount = shardOf.size();
+
+        if (repair) {
+            missing.forEach(this::reindex);
+            stale.forEach(this::reindex);
+            unexpected.forEach(this::evict);
+        }
+
+        if (!missing.isEmpty() || !stale.isEmpty() || !unexpected.isEmpty()) {
+            log.warn("Search index differs from the database: {} missing, {} stale, {} unexpected (repaired: {})",
+                    missing.size(), stale.size(), unexpected.size(), repair);
+        }
+
+        return new SearchIndexReportDto(true, ready, seen.size(), indexedCount,
+                missing.size(), stale.size(), unexpected.size(),
+                sample(missing.stream().map(IndexedListing::id).toList()),
+                sample(stale.stream().map(IndexedListing::id).toList()),
+                sample(unexpected),
+                repair);
+    }
+
+    private void reindex(IndexedListing listing) {
+        synchronized (rebuildMonitor) {
+            if (pendingChanges != null) {
+                pendingChanges.add(new PendingChange(listing.id(), listing));
+            }
+            upsert(shards, shardOf, listing);
+        }
+    }
+
+    private static List<Long> sample(List<Long> ids) {
+        return ids.size() <= REPORT_SAMPLE_SIZE ? ids : ids.subList(0, REPORT_SAMPLE_SIZE);
+    }
+
+    private static void upsert(Map<Long, CollegeShard> shards, Map<Long, Long> shardOf, IndexedListing listing) {
+        Long previous = shardOf.put(listing.id(), listing.collegeId());
+        if (previous != null && !previous.equals(listing.collegeId())) {
+            CollegeShard old = shards.get(previous);
+            if (old != null) {
+                old.remove(listing.id());
+            }
+        }
+        shards.computeIfAbsent(listing.collegeId(), id -> new CollegeShard()).add(listing);
+    }
+
+    private static void remove(Map<Long, CollegeShard> shards, Map<Long, Long> shardOf, Long listingId) {
+        Long collegeId = shardOf.remove(listingId);
+        if (collegeId != null) {
+            CollegeShard shard = shards.get(collegeId);
+            if (shard != null) {
+                shard.remove(listingId);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // Sort keys are kept as doubles: cents and epoch microseconds are both exact below 2^53.
+    private static double sortKey(ListingSearchCursor.SortKey sortKey, Comparable<?> value) {
+        return switch (sortKey) {
+            case POST_DATE -> toMicros((Instant) value);
+            case PRICE -> toCents((BigDecimal) value);
+            case RELEVANCE, SIMILARITY, DISTANCE -> (Double) value;
+        };
+    }
+
+    private static Comparable<?> sortValue(ListingSearchCursor.SortKey sortKey, double key) {
+        return switch (sortKey) {
+            case POST_DATE -> Instant.ofEpochSecond(Math.floorDiv((long) key, 1_000_000L),
+                    Math.floorMod((long) key, 1_000_000L) * 1000);
+            case PRICE -> BigDecimal.valueOf((long) key, 2);
+            case RELEVANCE, SIMILARITY, DISTANCE -> key;
+        };
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1000;
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final Long listingId;
+        private final Comparable<?> sortValue;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Hit> hits;
+        private final long totalCount;
+        // Null unless facets were requested.
+        private final ListingFacetCounter facets;
+    }
+
+    private record Candidate(double key, long listingId) {
+    }
+
+    // A change that arrived mid-rebuild; a null listing means it was removed.
+    private record PendingChange(long listingId, IndexedListing listing) {
+    }
+
+    // A search request with everything resolved to the index's own units.
+    private static final class Query {
+        final List<String> tokens;
+        final String category;
+        final long minCents;
+        final long maxCents;
+        final ItemCondition condition;
+        final BlockGraphCache.BlockSet excludedSellerIds;
+        final ListingSearchCursor.SortKey sortKey;
+        final boolean descending;
+        final boolean seek;
+        final double afterKey;
+        final long afterId;
+
+        Query(ListingFilterReqDto req, BlockGraphCache.BlockSet excludedSellerIds, ListingSearchCursor position) {
+            this.tokens = tokenize(req.getKeyword());
+            this.category = req.getCategory() == null || req.getCategory().isEmpty()
+                    ? null
+                    : req.getCategory().toLowerCase(Locale.ROOT);
+            // Prices are stored with two decimals, so round the bounds inwards.
+            this.minCents = req.getMinPrice() == null
+                    ? Long.MIN_VALUE
+                    : req.getMinPrice().setScale(2, RoundingMode.CEILING).unscaledValue().longValue();
+            this.maxCents = req.getMaxPrice() == null
+                    ? Long.MAX_VALUE
+                    : req.getMaxPrice().setScale(2, RoundingMode.FLOOR).unscaledValue().longValue();
+            this.condition = req.getItemCondition();
+            this.excludedSellerIds = excludedSellerIds == null ? BlockGraphCache.BlockSet.EMPTY : excludedSellerIds;
+            this.sortKey = position.getSortKey();
+            this.descending = position.getDirection().isDescending();
+            this.seek = !position.isStart();
+            this.afterKey = seek ? sortKey(sortKey, position.getLastValue()) : 0;
+            this.afterId = seek ? position.getLastId() : 0;
+        }
+
+        boolean isAfterCursor(double key, long listingId) {
+            if (!seek) {
+                return true;
+            }
+            int cmp = Double.compare(key, afterKey);
+            if (cmp == 0) {
+                cmp = Long.compare(listingId, afterId);
+            }
+            return descending ? cmp < 0 : cmp > 0;
+        }
+    }
+
+    // What the index keeps per listing, built from either an event or a rebuild row.
+    private record IndexedListing(long id, long collegeId, long sellerId, String title, String description,
+                                  String category, long priceCents, ItemCondition condition, long postedMicros) {
+
+        static IndexedListing from(ListingChangedEvent event) {
+            return new IndexedListing(event.getListingId(),
+                    event.getCollegeId() != null ? event.getCollegeId() : NO_COLLEGE,
+                    event.getSellerId() != null ? event.getSellerId() : 0L,
+                    event.getTitle(), event.getDescription(), event.getCategory(),
+                    toCents(event.getPrice()), event.getItemCondition(), toMicros(event.getPostDate()));
+        }
+
+        static IndexedListing from(ListingIndexRow row) {
+            return new IndexedListing(row.getId(),
+                    row.getCollegeId() != null ? row.getCollegeId() : NO_COLLEGE,
+                    row.getSellerId() != null ? row.getSellerId() : 0L,
+                    row.getTitle(), row.getDescription(), row.getCategory(),
+                    toCents(row.getPrice()), row.getItemCondition(), toMicros(row.getPostDate()));
+        }
+
+        // Cheap equality check against the database for the consistency report.
+        int fingerprint() {
+            return Objects.hash(sellerId, title, description, category, priceCents, condition, postedMicros);
+        }
+    }
+
+    // Sorted doc ids stored as varint-encoded gaps. Doc ids only ever grow within a shard,
+    // so adding is always an append.
+    private static final class PostingList {
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int size;
+        private int lastDoc = -1;
+
+        void add(int doc) {
+            int gap = doc - lastDoc;
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((gap & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+            lastDoc = doc;
+            size++;
+        }
+
+        void forEach(IntConsumer consumer) {
+            int pos = 0;
+            int doc = -1;
+            while (pos < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += gap;
+                consumer.accept(doc);
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    // One college's listings. Each listing gets a doc id; field values live in parallel
+    // primitive arrays indexed by doc id. Updates retire the old doc and append a new one,
+    // and the shard compacts itself once retired docs outnumber live ones.
+    private static final class CollegeShard {
+        private static final int INITIAL_CAPACITY = 64;
+        private static final int MIN_DEAD_TO_COMPACT = 256;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<NavigableMap<String, PostingList>> fields =
+                List.of(new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+        private final Map<Long, Integer> docOf = new HashMap<>();
+
+        private long[] listingIds = new long[INITIAL_CAPACITY];
+        private long[] sellerIds = new long[INITIAL_CAPACITY];
+        private long[] priceCents = new long[INITIAL_CAPACITY];
+        private long[] postedMicros = new long[INITIAL_CAPACITY];
+        private byte[] conditions = new byte[INITIAL_CAPACITY];
+        private int[] fingerprints = new int[INITIAL_CAPACITY];
+        private String[] categories = new String[INITIAL_CAPACITY];
+        private String[] categoryNames = new String[INITIAL_CAPACITY];
+        private byte[] priceBuckets = new byte[INITIAL_CAPACITY];
+        private final BitSet live = new BitSet();
+        private int docCount;
+
+        void add(IndexedListing listing) {
+            lock.writeLock().lock();
+            try {
+                Integer previous = docOf.remove(listing.id());
+                if (previous != null) {
+                    live.clear(previous);
+                }
+                ensureCapacity(docCount + 1);
+                int doc = docCount++;
+                listingIds[doc] = listing.id();
+                sellerIds[doc] = listing.sellerId();
+                priceCents[doc] = listing.priceCents();
+                postedMicros[doc] = listing.postedMicros();
+                conditions[doc] = (byte) (listing.condition() != null ? listing.condition().ordinal() : -1);
+                fingerprints[doc] = listing.fingerprint();
+                categories[doc] = listing.category() != null ? listing.category().toLowerCase(Locale.ROOT) : "";
+                categoryNames[doc] = listing.category();
+                priceBuckets[doc] = (byte) ListingFacetCounter.priceBucket(BigDecimal.valueOf(listing.priceCents(), 2));
+                index(TITLE, listing.title(), doc);
+                index(CATEGORY, listing.category(), doc);
+                index(DESCRIPTION, listing.description(), doc);
+                docOf.put(listing.id(), doc);
+                live.set(doc);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long listingId) {
+            lock.writeLock().lock();
+            try {
+                Integer doc = docOf.remove(listingId);
+                if (doc != null) {
+                    live.clear(doc);
+                    compactIfNeeded();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Integer fingerprintOf(long listingId) {
+            lock.readLock().lock();
+            try {
+                Integer doc = docOf.get(listingId);
+                return doc != null ? fingerprints[doc] : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Offers every match after the cursor to the shared top-k heap and counts facets in the
+        // same pass; returns the match count. distance is this shard's college distance from the searcher.
+        long collect(Query query, PriorityQueue<Candidate> best, int limit, ListingFacetCounter facets,
+                     double distance) {
+            lock.readLock().lock();
+            try {
+                BitSet matches;
+                double[] scores = null;
+                if (query.tokens.isEmpty()) {
+                    // Only read below, under the read lock, so no copy is needed.
+                    matches = live;
+                } else {
+                    scores = new double[docCount];
+                    matches = null;
+                    for (String token : query.tokens) {
+                        BitSet tokenDocs = matchToken(token, scores);
+                        if (matches == null) {
+                            matches = tokenDocs;
+                        } else {
+                            matches.and(tokenDocs);
+                        }
+                        if (matches.isEmpty()) {
+                            return 0;
+                        }
+                    }
+                    matches.and(live);
+                }
+
+                long total = 0;
+                for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                    if (!passesFilters(query, doc)) {
+                        continue;
+                    }
+                    total++;
+                    if (facets != null) {
+                        ItemCondition condition = conditions[doc] >= 0 ? ItemCondition.values()[conditions[doc]] : null;
+                        facets.add(categoryNames[doc], condition, priceBuckets[doc], 1);
+                    }
+                    double key = switch (query.sortKey) {
+                        case POST_DATE -> postedMicros[doc];
+                        case PRICE -> priceCents[doc];
+                        case RELEVANCE, SIMILARITY -> scores != null ? scores[doc] : 0;
+                        case DISTANCE -> distance;
+                    };
+                    if (query.isAfterCursor(key, listingIds[doc])) {
+                        best.offer(new Candidate(key, listingIds[doc]));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+                return total;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Docs with any indexed word starting with the token; adds each matching field's weight to the score.
+        private BitSet matchToken(String token, double[] scores) {
+            BitSet docs = new BitSet(docCount);
+            for (int field = 0; field < fields.size(); field++) {
+                BitSet fieldDocs = new BitSet(docCount);
+                for (PostingList postings : fields.get(field).subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    postings.forEach(fieldDocs::set);
+                }
+                double weight = FIELD_WEIGHTS[field];
+                for (int doc = fieldDocs.nextSetBit(0); doc >= 0; doc = fieldDocs.nextSetBit(doc + 1)) {
+                    scores[doc] += weight;
+                }
+                docs.or(fieldDocs);
+            }
+            return docs;
+        }
+
+        private boolean passesFilters(Query query, int doc) {
+            if (priceCents[doc] < query.minCents || priceCents[doc] > query.maxCents) {
+                return false;
+            }
+            if (query.condition != null && conditions[doc] != query.condition.ordinal()) {
+                return false;
+            }
+            // Same substring semantics as the category LIKE filter.
+            if (query.category != null && !categories[doc].contains(query.category)) {
+                return false;
+            }
+            return !query.excludedSellerIds.contains(sellerIds[doc]);
+        }
+
+        private void index(int field, String text, int doc) {
+            NavigableMap<String, PostingList> terms = fields.get(field);
+            for (String token : tokenize(text)) {
+                terms.computeIfAbsent(token, t -> new PostingList()).add(doc);
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= listingIds.length) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, listingIds.length * 2);
+            listingIds = Arrays.copyOf(listingIds, newCapacity);
+            sellerIds = Arrays.copyOf(sellerIds, newCapacity);
+            priceCents = Arrays.copyOf(priceCents, newCapacity);
+            postedMicros = Arrays.copyOf(postedMicros, newCapacity);
+            conditions = Arrays.copyOf(conditions, newCapacity);
+            fingerprints = Arrays.copyOf(fingerprints, newCapacity);
+            categories = Arrays.copyOf(categories, newCapacity);
+            categoryNames = Arrays.copyOf(categoryNames, newCapacity);
+            priceBuckets = Arrays.copyOf(priceBuckets, newCapacity);
+        }
+
+        // Renumbers live docs densely and rewrites every posting list without the retired ones.
+        private void compactIfNeeded() {
+            int liveCount = docOf.size();
+            int dead = docCount - liveCount;
+            if (dead < MIN_DEAD_TO_COMPACT || dead < liveCount) {
+                return;
+            }
+
+            int[] remap = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (live.get(doc)) {
+                    remap[doc] = next;
+                    listingIds[next] = listingIds[doc];
+                    sellerIds[next] = sellerIds[doc];
+                    priceCents[next] = priceCents[doc];
+                    postedMicros[next] = postedMicros[doc];
+                    conditions[next] = conditions[doc];
+                    fingerprints[next] = fingerprints[doc];
+                    categories[next] = categories[doc];
+                    categoryNames[next] = categoryNames[doc];
+                    priceBuckets[next] = priceBuckets[doc];
+                    next++;
+                } else {
+                    remap[doc] = -1;
+                }
+            }
+            Arrays.fill(categories, next, docCount, null);
+            Arrays.fill(categoryNames, next, docCount, null);
+
+            for (NavigableMap<String, PostingList> terms : fields) {
+                terms.replaceAll((term, postings) -> {
+                    PostingList rewritten = new PostingList();
+                    postings.forEach(doc -> {
+                        if (remap[doc] >= 0) {
+                            rewritten.add(remap[doc]);
+                        }
+                    });
+                    return rewritten;
+                });
+                terms.values().removeIf(PostingList::isEmpty);
+            }
+
+            docOf.replaceAll((id, doc) -> remap[doc]);
+            live.clear();
+            live.set(0, next);
+            docCount = next;
+        }
+    }
+}
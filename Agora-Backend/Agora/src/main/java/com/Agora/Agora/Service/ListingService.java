@@ -1,35 +1,57 @@
 package com.Agora.Agora.Service;
 
+import com.Agora.Agora.Dto.Request.ImageDto;
 import com.Agora.Agora.Dto.Request.ListingFilterReqDto;
 import com.Agora.Agora.Dto.Request.ListingReqDto;
 import com.Agora.Agora.Dto.Response.CategoryCountResponseDto;
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Dto.Response.ListingFacetsDto;
+import com.Agora.Agora.Dto.Response.ListingFeedSliceDto;
 import com.Agora.Agora.Dto.Response.ListingResponseDto;
+import com.Agora.Agora.Dto.Response.ListingSearchPageDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.College;
 import com.Agora.Agora.Model.Enums.ItemStatus;
 import com.Agora.Agora.Model.Enums.UserRole;
+import com.Agora.Agora.Model.ImageUpload;
 import com.Agora.Agora.Model.ListingImage;
+import com.Agora.Agora.Model.ListingPriceHistory;
 import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Repository.ImageUploadRepo;
+import com.Agora.Agora.Repository.ListingFacetCounter;
+import com.Agora.Agora.Repository.ListingPriceHistoryRepo;
+import com.Agora.Agora.Repository.ListingSearchCursor;
 import com.Agora.Agora.Repository.ListingSearchRepo;
 import com.Agora.Agora.Repository.ListingsRepo;
+import com.Agora.Agora.Repository.ListingsRepoCustom;
 import com.Agora.Agora.Repository.UserRepo;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,11 +62,27 @@ public class ListingService {
     private final UserService userService;
     private final ListingsRepo listingRepo;
     private final DtoMapper dto;
-    private final CloudinaryService cloudinaryService;
+    private final ImageDeletionOutbox imageDeletionOutbox;
+    private final ImageUploadRepo imageUploadRepo;
+    private final ListingPriceHistoryRepo priceHistoryRepo;
     private final UserRepo userRepo;
     private static final Logger log = LoggerFactory.getLogger(ListingService.class);
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final double DEFAULT_SEARCH_RADIUS_KM = 25;
+    private static final double MAX_SEARCH_RADIUS_KM = 500;
     private final ModerationService moderationService;
+    private final ListingSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollegeGeoIndex collegeGeoIndex;
+    private final CategoryCountService categoryCounts;
+    private final ResourceVersions resourceVersions;
 
+    @Value("${application.search.full-text.enabled:true}")
+    private boolean fullTextSearchEnabled;
+
+    @Value("${application.search.fuzzy.threshold:0.4}")
+    private double fuzzyThreshold;
 
     @Transactional
     public ListingResponseDto createListing(ListingReqDto req) {
@@ -65,12 +103,16 @@ public class ListingService {
         listing.setItemCondition(req.getItemCondition());
         listing.setItemStatus(ItemStatus.AVAILABLE);
         if (req.getImages() != null) {
+            checkOwnImages(req.getImages().stream().map(ImageDto::getPublicId).filter(Objects::nonNull).toList(),
+                    currentUser.getId(), null);
             listing.setImages(
                     req.getImages().stream()
                             .map(img -> {
                                 ListingImage listingImage = new ListingImage();
                                 listingImage.setUrl(img.getUrl());
                                 listingImage.setPublicId(img.getPublicId());
+                                listingImage.setThumbnailUrl(img.getThumbnailUrl());
+                                listingImage.setFeedUrl(img.getFeedUrl());
                                 return listingImage;
                             })
                             .collect(Collectors.toList()));
@@ -86,13 +128,14 @@ public class ListingService {
         }
 
         Listings savedListing = listingRepo.save(listing);
+        eventPublisher.publishEvent(ListingChangedEvent.of(ListingChangedEvent.Type.CREATED, savedListing));
 
         ListingResponseDto responseDto = dto.mapToListingResponseDto(savedListing);
         return responseDto;
     }
 
     public ListingResponseDto getListingById(Long id) {
-        Listings listing = listingRepo.findById(id)
+        Listings listing = listingRepo.findDetailById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found with id: " + id));
 
         return dto.mapToListingResponseDto(listing);
@@ -106,15 +149,47 @@ public class ListingService {
 //                .collect(Collectors.toList());
 //    }
 
-    public Page<ListingResponseDto> getAllListings(int page, int size, String sortBy, String sortDir, Long currentUserId) {
+    public Page<ListingCardDto> getAllListings(int page, int size, String sortBy, String sortDir, Long currentUserId) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortDir), sortBy));
+        return listingRepo.findCardPage(feedSpec(currentUserId), pageable);
+    }
+
+    // The same feed without the COUNT query, for infinite scroll.
+    public ListingFeedSliceDto getListingFeedSlice(int page, int size, String sortBy, String sortDir,
+                                                   Long currentUserId) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortDir), sortBy));
-        if (currentUserId == null) {
-            return listingRepo.findByItemStatus(ItemStatus.AVAILABLE, pageable)
-                    .map(dto::mapToListingResponseDto);
+        Slice<ListingCardDto> slice = listingRepo.findCardSlice(feedSpec(currentUserId), pageable);
+        return new ListingFeedSliceDto(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    // Public ids a listing takes on must be the user's own uploads and on no other listing; deleting
+    // the listing deletes its images, so anything else would let one user delete another's.
+    private void checkOwnImages(Collection<String> publicIds, Long userId, Long listingId) {
+        if (publicIds.isEmpty()) {
+            return;
+        }
+        Set<String> owned = imageUploadRepo.findAllById(publicIds).stream()
+                .filter(upload -> upload.getUserId().equals(userId))
+                .map(ImageUpload::getPublicId)
+                .collect(Collectors.toSet());
+        for (String publicId : publicIds) {
+            if (!owned.contains(publicId)) {
+                throw new IllegalArgumentException("Unknown image publicId: " + publicId);
+            }
         }
+        List<String> used = imageUploadRepo.findUsedByOtherListings(publicIds, listingId != null ? listingId : 0L);
+        if (!used.isEmpty()) {
+            throw new IllegalArgumentException("Image is already used by another listing: " + used.get(0));
+        }
+    }
 
-        return listingRepo.findAllAvailableFiltered(currentUserId, pageable)
-                .map(dto::mapToListingResponseDto);
+    private Specification<Listings> feedSpec(Long currentUserId) {
+        Specification<Listings> spec = (root, query, cb) -> cb.equal(root.get("itemStatus"), ItemStatus.AVAILABLE);
+        // Users with no block relations, which is most of them, skip the anti-join.
+        if (currentUserId != null && !moderationService.getAllRelatedBlockedIds(currentUserId).isEmpty()) {
+            spec = spec.and(ListingsRepo.notBlockedWith(currentUserId));
+        }
+        return spec;
     }
 
     @Transactional
@@ -127,13 +202,18 @@ public class ListingService {
         if (!updatedListings.getSeller().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("Permission Denied");
         }
+        String previousCategory = updatedListings.getCategory();
+        ItemStatus previousStatus = updatedListings.getItemStatus();
+        BigDecimal previousPrice = updatedListings.getPrice();
 
         if (req.getTitle() != null)
             updatedListings.setTitle(req.getTitle());
         if (req.getDescription() != null)
             updatedListings.setDescription(req.getDescription());
-        if (req.getPrice() != null)
+        if (req.getPrice() != null && req.getPrice().compareTo(previousPrice) != 0) {
             updatedListings.setPrice(req.getPrice());
+            priceHistoryRepo.save(new ListingPriceHistory(listingId, previousPrice, req.getPrice(), Instant.now()));
+        }
         if (req.getCategory() != null)
             updatedListings.setCategory(req.getCategory());
         if (req.getItemCondition() != null)
@@ -141,17 +221,45 @@ public class ListingService {
         if (req.getItemStatus() != null)
             updatedListings.setItemStatus(req.getItemStatus());
         if (req.getImages() != null) {
+            // Edits resend kept images by URL alone; don't lose their public id and variants.
+            Map<String, ListingImage> kept = updatedListings.getImages().stream()
+                    .filter(img -> img.getUrl() != null)
+                    .collect(Collectors.toMap(ListingImage::getUrl, img -> img, (a, b) -> a));
+            Set<String> current = updatedListings.getImages().stream()
+                    .map(ListingImage::getPublicId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            checkOwnImages(req.getImages().stream()
+                    .map(ImageDto::getPublicId)
+                    .filter(publicId -> publicId != null && !current.contains(publicId))
+                    .toList(), currentUser.getId(), listingId);
+            // Images the edit drops are deleted from storage once it commits.
+            Set<String> resent = req.getImages().stream().map(ImageDto::getUrl).collect(Collectors.toSet());
+            imageDeletionOutbox.enqueue(updatedListings.getImages().stream()
+                    .filter(img -> !resent.contains(img.getUrl()))
+                    .flatMap(img -> ImagePipeline.storedIds(img).stream())
+                    .toList());
             updatedListings.setImages(
                     req.getImages().stream()
                             .map(img -> {
+                                ListingImage existing = kept.get(img.getUrl());
                                 ListingImage listingImage = new ListingImage();
                                 listingImage.setUrl(img.getUrl());
-                                listingImage.setPublicId(img.getPublicId());
+                                listingImage.setPublicId(img.getPublicId() != null || existing == null
+                                        ? img.getPublicId() : existing.getPublicId());
+                                listingImage.setThumbnailUrl(img.getThumbnailUrl() != null || existing == null
+                                        ? img.getThumbnailUrl() : existing.getThumbnailUrl());
+                                listingImage.setFeedUrl(img.getFeedUrl() != null || existing == null
+                                        ? img.getFeedUrl() : existing.getFeedUrl());
                                 return listingImage;
                             })
                             .collect(Collectors.toList()));
         }
+        // Image-only edits don't dirty the row itself; updated_at is the detail page's ETag.
+        updatedListings.setUpdatedAt(Instant.now());
         Listings updatedListing = listingRepo.save(updatedListings);
+        eventPublisher.publishEvent(ListingChangedEvent.of(ListingChangedEvent.Type.UPDATED, updatedListing,
+                previousCategory, previousStatus, previousPrice));
 
         ListingResponseDto responseDto = dto.mapToListingResponseDto(updatedListing);
 
@@ -162,34 +270,209 @@ public class ListingService {
     public void deleteListingCloudinary(Long listingId) {
         Listings listing = listingRepo.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
-        listing.getImages().forEach(img -> {
-            if (img.getPublicId() != null && !img.getPublicId().isEmpty()) {
-                cloudinaryService.deleteImages(img.getPublicId());
-            }
-        });
+        // Deleted from storage after commit; the request doesn't wait on the remote calls.
+        imageDeletionOutbox.enqueue(listing.getImages().stream()
+                .flatMap(img -> ImagePipeline.storedIds(img).stream())
+                .toList());
+        eventPublisher.publishEvent(ListingChangedEvent.of(ListingChangedEvent.Type.DELETED, listing));
         listingRepo.delete(listing);
+        // The listing's reviews go with it.
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.REVIEWS);
     }
 
-    @SuppressWarnings("removal")
-    public List<ListingResponseDto> searchListings(ListingFilterReqDto req, Long currentUserId) {
-        Specification<Listings> spec = Specification.where((root, query, cb) ->
-                cb.equal(root.get("itemStatus"), ItemStatus.AVAILABLE));
+    @Transactional
+    public List<ListingCardDto> searchListings(ListingFilterReqDto req, Long currentUserId) {
+        return searchListingsPage(req, currentUserId).getItems();
+    }
+
+    // Keyset-paginated search: every page is a bounded seek on (sort key, id), so deep pages cost the same as the first.
+    @Transactional
+    public ListingSearchPageDto searchListingsPage(ListingFilterReqDto req, Long currentUserId) {
+        // Fuzzy keywords match titles by trigram similarity instead of full-text terms.
+        String trigramQuery = req.isFuzzy() ? ListingSearchRepo.toTrigramQuery(req.getKeyword()) : null;
+        String tsQuery = (fullTextSearchEnabled && !req.isFuzzy() && req.getKeyword() != null)
+                ? ListingSearchRepo.toPrefixTsQuery(req.getKeyword())
+                : null;
+        BlockGraphCache.BlockSet excludedIds = currentUserId != null
+                ? moderationService.getAllRelatedBlockedIds(currentUserId)
+                : BlockGraphCache.BlockSet.EMPTY;
+        Map<Long, Double> collegeDistances = nearbyColleges(req);
+
+        ListingSearchCursor position;
+        if (req.getCursor() != null && !req.getCursor().isEmpty()) {
+            position = ListingSearchCursor.decode(req.getCursor());
+            if ((position.getSortKey() == ListingSearchCursor.SortKey.RELEVANCE && tsQuery == null)
+                    || (position.getSortKey() == ListingSearchCursor.SortKey.SIMILARITY && trigramQuery == null)
+                    || (position.getSortKey() == ListingSearchCursor.SortKey.DISTANCE && collegeDistances == null)) {
+                throw new IllegalArgumentException("Cursor does not match this search");
+            }
+        } else {
+            position = initialSearchPosition(req, tsQuery, trigramQuery, collegeDistances != null);
+        }
+
+        int size = req.getSize() <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(req.getSize(), MAX_SEARCH_PAGE_SIZE);
+
+        // One extra row tells us whether another page exists without a COUNT.
+        List<ListingsRepoCustom.SearchHit> hits;
+        Long totalCount = null;
+        ListingFacetsDto facets = null;
+        if (searchIndex.canServe(req)) {
+            int wanted = size + 1;
+            ListingSearchIndex.SearchResult result = searchIndex.search(req, excludedIds, collegeDistances,
+                    position, wanted);
+            List<ListingSearchIndex.Hit> indexHits = result.getHits();
+            hits = new ArrayList<>(loadIndexHits(indexHits));
+            long evicted = indexHits.size() - hits.size();
+            // Stale hits were evicted, so the page came up short; top it up from just past the last
+            // hit the index returned. Stops once the index has nothing more after the cursor.
+            int requested = wanted;
+            while (hits.size() < wanted && indexHits.size() == requested) {
+                ListingSearchIndex.Hit last = indexHits.get(indexHits.size() - 1);
+                requested = wanted - hits.size();
+                indexHits = searchIndex.search(req, excludedIds, collegeDistances,
+                        position.after(last.getSortValue(), last.getListingId()), requested).getHits();
+                List<ListingsRepoCustom.SearchHit> loaded = loadIndexHits(indexHits);
+                evicted += indexHits.size() - loaded.size();
+                hits.addAll(loaded);
+            }
+            if (req.isIncludeTotal()) {
+                totalCount = result.getTotalCount() - evicted;
+            }
+            if (result.getFacets() != null) {
+                facets = result.getFacets().toDto();
+            }
+        } else {
+            if (req.isFuzzy()) {
+                listingRepo.applyWordSimilarityThreshold(fuzzyThreshold);
+            }
+            Specification<Listings> spec = buildSearchSpec(req, excludedIds, tsQuery, trigramQuery);
+            if (collegeDistances != null) {
+                spec = spec.and(ListingSearchRepo.searchByCollegeIds(collegeDistances.keySet()));
+            }
+            String rankQuery = position.getSortKey() == ListingSearchCursor.SortKey.SIMILARITY ? trigramQuery : tsQuery;
+            hits = listingRepo.findSearchPage(spec, position, rankQuery, collegeDistances, size + 1);
+            if (req.isIncludeFacets()) {
+                // The facet counts add up to the total, so no separate COUNT is needed.
+                ListingFacetCounter counter = listingRepo.findFacetCounts(spec);
+                facets = counter.toDto();
+                if (req.isIncludeTotal()) {
+                    totalCount = counter.total();
+                }
+            } else if (req.isIncludeTotal()) {
+                totalCount = listingRepo.count(spec);
+            }
+        }
+
+        boolean hasMore = hits.size() > size;
+        if (hasMore) {
+            hits = hits.subList(0, size);
+        }
 
-        if (currentUserId != null) {
-            Set<Long> excludedIds = moderationService.getAllRelatedBlockedIds(currentUserId);
+        String nextCursor = null;
+        if (hasMore) {
+            ListingsRepoCustom.SearchHit last = hits.get(hits.size() - 1);
+            nextCursor = position.after(last.getSortValue(), last.getCard().id()).encode();
+        }
+
+        List<ListingCardDto> items = hits.stream()
+                .map(ListingsRepoCustom.SearchHit::getCard)
+                .collect(Collectors.toList());
 
-            if (excludedIds != null && !excludedIds.isEmpty()) {
-                spec = spec.and((root, query, cb) ->
-                        cb.not(root.get("seller").get("id").in(excludedIds)));
+        return new ListingSearchPageDto(items, nextCursor, hasMore, totalCount, facets);
+    }
+
+    // Loads the cards for the listings the index picked, keeping its order. Anything the database no
+    // longer has as AVAILABLE (e.g. bulk-deactivated on a ban) is dropped here and evicted from the index.
+    private List<ListingsRepoCustom.SearchHit> loadIndexHits(List<ListingSearchIndex.Hit> indexHits) {
+        List<Long> ids = indexHits.stream().map(ListingSearchIndex.Hit::getListingId).toList();
+        Map<Long, ListingCardDto> byId = ids.isEmpty()
+                ? Map.of()
+                : listingRepo.findCards((root, query, cb) -> root.get("id").in(ids), Sort.unsorted()).stream()
+                        .collect(Collectors.toMap(ListingCardDto::id, Function.identity()));
+
+        List<ListingsRepoCustom.SearchHit> hits = new ArrayList<>(indexHits.size());
+        for (ListingSearchIndex.Hit indexHit : indexHits) {
+            ListingCardDto card = byId.get(indexHit.getListingId());
+            if (card == null || card.itemStatus() != ItemStatus.AVAILABLE) {
+                searchIndex.evict(indexHit.getListingId());
+                continue;
             }
+            hits.add(new ListingsRepoCustom.SearchHit(card, indexHit.getSortValue()));
+        }
+        return hits;
+    }
+
+    // Colleges within the requested radius, nearest first, mapped to km; null when the search isn't geographic.
+    private Map<Long, Double> nearbyColleges(ListingFilterReqDto req) {
+        if (req.getLatitude() == null && req.getLongitude() == null) {
+            return null;
         }
+        if (req.getLatitude() == null || req.getLongitude() == null
+                || Math.abs(req.getLatitude()) > 90 || Math.abs(req.getLongitude()) > 180) {
+            throw new IllegalArgumentException("Both latitude and longitude are required and must be valid");
+        }
+        double radiusKm = req.getRadiusKm() == null ? DEFAULT_SEARCH_RADIUS_KM : req.getRadiusKm();
+        if (radiusKm <= 0 || radiusKm > MAX_SEARCH_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + MAX_SEARCH_RADIUS_KM);
+        }
+        return collegeGeoIndex.within(req.getLatitude(), req.getLongitude(), radiusKm);
+    }
 
-        if (req.getKeyword() != null && !req.getKeyword().isEmpty()) {
+    private ListingSearchCursor initialSearchPosition(ListingFilterReqDto req, String tsQuery, String trigramQuery,
+                                                      boolean geo) {
+        String sortBy = req.getSortBy() == null ? "" : req.getSortBy();
+
+        ListingSearchCursor.SortKey sortKey = switch (sortBy) {
+            case "price" -> ListingSearchCursor.SortKey.PRICE;
+            case "postDate" -> ListingSearchCursor.SortKey.POST_DATE;
+            case "distance" -> {
+                if (!geo) {
+                    throw new IllegalArgumentException("Sorting by distance needs latitude and longitude");
+                }
+                yield ListingSearchCursor.SortKey.DISTANCE;
+            }
+            case "relevance", "" -> tsQuery != null
+                    ? ListingSearchCursor.SortKey.RELEVANCE
+                    : trigramQuery != null
+                    ? ListingSearchCursor.SortKey.SIMILARITY
+                    : geo
+                    ? ListingSearchCursor.SortKey.DISTANCE
+                    : ListingSearchCursor.SortKey.POST_DATE;
+            default -> throw new IllegalArgumentException("Unsupported sortBy: " + sortBy);
+        };
+
+        // Best matches always come first.
+        if (sortKey == ListingSearchCursor.SortKey.RELEVANCE || sortKey == ListingSearchCursor.SortKey.SIMILARITY) {
+            return ListingSearchCursor.start(sortKey, Sort.Direction.DESC);
+        }
+        // Nearest always comes first.
+        if (sortKey == ListingSearchCursor.SortKey.DISTANCE) {
+            return ListingSearchCursor.start(sortKey, Sort.Direction.ASC);
+        }
+
+        Sort.Direction direction = Sort.Direction.fromOptionalString(req.getSortOrder()).orElse(Sort.Direction.DESC);
+        return ListingSearchCursor.start(sortKey, direction);
+    }
+
+    @SuppressWarnings("removal")
+    private Specification<Listings> buildSearchSpec(ListingFilterReqDto req, BlockGraphCache.BlockSet excludedIds,
+                                                    String tsQuery, String trigramQuery) {
+        Specification<Listings> spec = Specification.where((root, query, cb) ->
+                cb.equal(root.get("itemStatus"), ItemStatus.AVAILABLE));
+        spec = spec.and(ListingsRepo.excludeBlockedUsers(excludedIds.toList()));
+
+        if (trigramQuery != null) {
+            spec = spec.and(ListingSearchRepo.searchByTitleSimilarity(trigramQuery));
+        } else if (tsQuery != null) {
+            spec = spec.and(ListingSearchRepo.searchByFullText(tsQuery));
+        } else if (req.getKeyword() != null && !req.getKeyword().isEmpty()) {
             spec = spec.and(ListingSearchRepo.searchByKeyword(req.getKeyword()));
         }
 
         if (req.getTitle() != null && !req.getTitle().isEmpty()) {
-            spec = spec.and(ListingSearchRepo.searchByTitle(req.getTitle()));
+            spec = spec.and(req.isFuzzy()
+                    ? ListingSearchRepo.searchByTitleSimilarity(ListingSearchRepo.toTrigramQuery(req.getTitle()))
+                    : ListingSearchRepo.searchByTitle(req.getTitle()));
         }
 
         if (req.getCategory() != null && !req.getCategory().isEmpty()) {
@@ -209,33 +492,34 @@ public class ListingService {
         }
 
         if (req.getCollegeName() != null && !req.getCollegeName().isEmpty()) {
-            spec = spec.and(ListingSearchRepo.searchByCollegeName(req.getCollegeName()));
+            spec = spec.and(req.isFuzzy()
+                    ? ListingSearchRepo.searchByCollegeNameSimilarity(ListingSearchRepo.toTrigramQuery(req.getCollegeName()))
+                    : ListingSearchRepo.searchByCollegeName(req.getCollegeName()));
         }
 
-        List<Listings> searchListings = listingRepo.findAll(spec);
-
-        return searchListings.stream()
-                .map(dto::mapToListingResponseDto)
-                .collect(Collectors.toList());
+        return spec;
     }
 
     @Transactional
     public void deactivateListing(Long listingId) {
         Listings listing = listingRepo.findById(listingId)
                 .orElseThrow(() -> new EntityNotFoundException("Listing not found"));
+        ItemStatus previousStatus = listing.getItemStatus();
         listing.setItemStatus(ItemStatus.DEACTIVATED);
         listingRepo.save(listing);
+        eventPublisher.publishEvent(ListingChangedEvent.of(ListingChangedEvent.Type.DEACTIVATED, listing,
+                listing.getCategory(), previousStatus));
     }
 
-    public List<ListingResponseDto> getListingByUserId(Long userId) {
-        List<Listings> listings = listingRepo.findAllBySellerId(userId);
-        List<ListingResponseDto> responseDto = listings.stream().map(dto::mapToListingResponseDto)
-                .collect(Collectors.toList());
-        return responseDto;
+    // Newest first.
+    public List<ListingCardDto> getListingByUserId(Long userId) {
+        return listingRepo.findCards((root, query, cb) -> cb.equal(root.get("seller").get("id"), userId),
+                Sort.by(Sort.Direction.DESC, "postDate"));
     }
 
-    public List<CategoryCountResponseDto> getPopularCategories() {
-        return listingRepo.findPopularCategories();
+    // Served from the in-memory counters; collegeId narrows to one campus.
+    public List<CategoryCountResponseDto> getPopularCategories(Long collegeId) {
+        return categoryCounts.popularCategories(collegeId);
     }
 
 }
@@ -0,0 +1,403 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.SuggestionDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Repository.ListingIndexRow;
+import com.Agora.Agora.Repository.ListingSearchRepo;
+import com.Agora.Agora.Repository.ListingsRepo;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Search-as-you-type completions from listing titles and categories, one prefix trie per college.
+// Every trie node caches its best completions, so a lookup is a walk down the typed prefix.
+// Weights are the number of AVAILABLE listings behind each phrase, kept current from ListingChangedEvents
+// and rebuilt from the database on a schedule in case a bulk update slipped past them.
+@Service
+@RequiredArgsConstructor
+public class ListingSuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingSuggestService.class);
+    private static final int TOP_K = 10;
+    private static final int MAX_PHRASE_LENGTH = 60;
+    // A phrase is reachable from the start of each of its first few words ("calc" finds "scientific calculator").
+    private static final int MAX_WORD_STARTS = 5;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    private final ListingsRepo listingsRepo;
+
+    @Value("${application.search.suggest.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SuggestState state = new SuggestState();
+    // Changes seen while a rebuild is running, replayed before the new state goes live.
+    private List<ListingChangedEvent> pendingChanges;
+    private final BackgroundJob rebuildJob = new BackgroundJob("listing-suggest-rebuild", this::rebuild);
+
+    public List<SuggestionDto> suggest(String query, Long collegeId, int limit) {
+        String prefix = normalize(query);
+        if (!enabled || prefix == null) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, TOP_K));
+
+        lock.readLock().lock();
+        try {
+            List<Suggestion> matches;
+            if (collegeId != null) {
+                SuggestTrie trie = state.tries.get(collegeId);
+                matches = trie != null ? trie.top(prefix) : List.of();
+            } else {
+                // No college given: merge every college's best matches for the same phrase.
+                Map<String, Integer> merged = new HashMap<>();
+                Map<String, Suggestion> first = new HashMap<>();
+                for (SuggestTrie trie : state.tries.values()) {
+                    for (Suggestion s : trie.top(prefix)) {
+                        merged.merge(s.id, s.weight, Integer::sum);
+                        first.putIfAbsent(s.id, s);
+                    }
+                }
+                matches = first.values().stream()
+                        .map(s -> new Suggestion(s.id, s.text, s.type, merged.get(s.id)))
+                        .sorted(Suggestion.ORDER)
+                        .toList();
+            }
+            return matches.stream()
+                    .limit(size)
+                    .map(s -> new SuggestionDto(s.text, s.type, s.weight))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuildJob.request();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.search.suggest.rebuild-interval:PT1H}",
+            initialDelayString = "${application.search.suggest.rebuild-interval:PT1H}")
+    public void scheduleRebuild() {
+        if (enabled) {
+            rebuildJob.request();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildJob.shutdown();
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SuggestState fresh = new SuggestState();
+        try {
+            Long afterId = 0L;
+            List<ListingIndexRow> rows;
+            do {
+                rows = listingsRepo.findIndexRows(ItemStatus.AVAILABLE, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (ListingIndexRow row : rows) {
+                    fresh.put(row.getId(), row.getCollegeId(), row.getTitle(), row.getCategory());
+                    afterId = row.getId();
+                }
+            } while (rows.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            pendingChanges = null;
+            lock.writeLock().unlock();
+            log.error("Suggestion rebuild failed", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(fresh::apply);
+            pendingChanges = null;
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Suggestions rebuilt for {} colleges", fresh.tries.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            state.apply(event);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} for listing {} to suggestions", event.getType(), event.getListingId(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lower-case words joined by single spaces, capped in length; null if nothing is left.
+    private static String normalize(String text) {
+        String normalized = ListingSearchRepo.toTrigramQuery(text);
+        if (normalized == null) {
+            return null;
+        }
+        return normalized.length() > MAX_PHRASE_LENGTH ? normalized.substring(0, MAX_PHRASE_LENGTH) : normalized;
+    }
+
+    // Everything the suggester knows; replaced wholesale on rebuild.
+    private static final class SuggestState {
+        private final Map<Long, SuggestTrie> tries = new HashMap<>();
+        // Which phrases each listing currently counts towards, so edits and removals can undo it.
+        private final Map<Long, Contribution> contributions = new HashMap<>();
+
+        void apply(ListingChangedEvent event) {
+            if (event.isAvailable()) {
+                put(event.getListingId(), event.getCollegeId(), event.getTitle(), event.getCategory());
+            } else {
+                remove(event.getListingId());
+            }
+        }
+
+        void put(Long listingId, Long collegeId, String title, String category) {
+            remove(listingId);
+            if (collegeId == null) {
+                return;
+            }
+            SuggestTrie trie = tries.computeIfAbsent(collegeId, id -> new SuggestTrie());
+            trie.adjust("TITLE", title, 1);
+            trie.adjust("CATEGORY", category, 1);
+            contributions.put(listingId, new Contribution(collegeId, title, category));
+        }
+
+        void remove(Long listingId) {
+            Contribution previous = contributions.remove(listingId);
+            if (previous == null) {
+                return;
+            }
+            SuggestTrie trie = tries.get(previous.collegeId());
+            if (trie != null) {
+                trie.adjust("TITLE", previous.title(), -1);
+                trie.adjust("CATEGORY", previous.category(), -1);
+            }
+        }
+    }
+
+    private record Contribution(Long collegeId, String title, String category) {
+    }
+
+    // A completion: the phrase as first seen, its type and how many listings carry it.
+    private static final class Suggestion {
+        static final Comparator<Suggestion> ORDER = Comparator.comparingInt((Suggestion s) -> s.weight).reversed()
+                .thenComparing(s -> s.text);
+
+        final String id;
+        final String text;
+        final String type;
+        int weight;
+
+        Suggestion(String id, String text, String type, int weight) {
+            this.id = id;
+            this.text = text;
+            this.type = type;
+            this.weight = weight;
+        }
+    }
+
+    private static final class SuggestTrie {
+        private final Node root = new Node();
+        private final Map<String, Suggestion> phrases = new HashMap<>();
+
+        List<Suggestion> top(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node == null ? List.of() : Arrays.asList(node.top);
+        }
+
+        // Adds delta to the phrase's weight and refreshes the cached top lists along its keys.
+        void adjust(String type, String text, int delta) {
+            String key = normalize(text);
+            if (key == null) {
+                return;
+            }
+            String id = type + ":" + key;
+            Suggestion suggestion = phrases.get(id);
+            if (suggestion == null) {
+                if (delta <= 0) {
+                    return;
+                }
+                suggestion = new Suggestion(id, text.trim(), type, 0);
+                phrases.put(id, suggestion);
+            }
+            suggestion.weight += delta;
+
+            boolean present = suggestion.weight > 0;
+            if (!present) {
+                phrases.remove(id);
+            }
+            for (String start : wordStarts(key)) {
+                relink(start, suggestion, present);
+            }
+        }
+
+        private void relink(String key, Suggestion suggestion, boolean present) {
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node next = node.child(key.charAt(i));
+                if (next == null) {
+                    if (!present) {
+                        return;
+                    }
+                    next = node.addChild(key.charAt(i));
+                }
+                node = next;
+                path[i + 1] = node;
+            }
+            if (present) {
+                node.addTerminal(suggestion);
+            } else {
+                node.removeTerminal(suggestion);
+            }
+            for (int i = key.length(); i >= 0; i--) {
+                path[i].recomputeTop();
+                if (i > 0 && path[i].isEmpty()) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                }
+            }
+        }
+
+        // "scientific calculator 152" -> itself, "calculator 152", "152".
+        private static List<String> wordStarts(String key) {
+            List<String> starts = new ArrayList<>();
+            starts.add(key);
+            int from = 0;
+            while (starts.size() < MAX_WORD_STARTS) {
+                int space = key.indexOf(' ', from);
+                if (space < 0) {
+                    break;
+                }
+                starts.add(key.substring(space + 1));
+                from = space + 1;
+            }
+            return starts;
+        }
+    }
+
+    // Children are kept in parallel arrays sorted by character.
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NONE = new Suggestion[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NONE;
+        private Suggestion[] top = NONE;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = -(Arrays.binarySearch(keys, c) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            newKeys[i] = c;
+            newChildren[i] = new Node();
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[i];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void addTerminal(Suggestion suggestion) {
+            for (Suggestion s : terminals) {
+                if (s == suggestion) {
+                    return;
+                }
+            }
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = suggestion;
+        }
+
+        void removeTerminal(Suggestion suggestion) {
+            terminals = Arrays.stream(terminals).filter(s -> s != suggestion).toArray(Suggestion[]::new);
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+
+        // The subtree's best K is always among this node's own phrases and each child's best K.
+        void recomputeTop() {
+            Set<Suggestion> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+            candidates.addAll(Arrays.asList(terminals));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            top = candidates.stream()
+                    .sorted(Suggestion.ORDER)
+                    .limit(TOP_K)
+                    .toArray(Suggestion[]::new);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Event.ListingActivityEvent;
+import com.Agora.Agora.Repository.ListingsRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Listing views, counted in memory and added to listings.view_count in one statement every few
+// seconds, so a popular listing doesn't turn every view into an UPDATE on the same row.
+//
+// Each flush swaps in a fresh buffer. A view that lands in the old buffer after the swap goes out
+// with the next flush. Views still buffered are lost if the process dies without shutting down.
+@Service
+public class ListingViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingViewCounter.class);
+
+    private final ListingsRepo listingsRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxListings;
+
+    private volatile Map<Long, LongAdder> buffer = new ConcurrentHashMap<>();
+    // The buffer swapped out by the last flush and how much of each counter it wrote.
+    private Map<Long, LongAdder> previous = Map.of();
+    private Map<Long, Long> previousFlushed = Map.of();
+    // Views not counted because the buffer was full.
+    private final LongAdder dropped = new LongAdder();
+
+    public ListingViewCounter(ListingsRepo listingsRepo,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${application.listing.views.max-buffered-listings:50000}") long maxListings) {
+        this.listingsRepo = listingsRepo;
+        this.eventPublisher = eventPublisher;
+        this.maxListings = maxListings;
+    }
+
+    public void record(Long listingId) {
+        Map<Long, LongAdder> current = buffer;
+        LongAdder views = current.get(listingId);
+        if (views == null) {
+            if (current.size() >= maxListings) {
+                dropped.increment();
+                return;
+            }
+            views = current.computeIfAbsent(listingId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${application.listing.views.flush-interval:PT5S}",
+            initialDelayString = "${application.listing.views.flush-interval:PT5S}")
+    public synchronized void flush() {
+        Map<Long, LongAdder> swapped = buffer;
+        buffer = new ConcurrentHashMap<>();
+
+        Map<Long, Long> deltas = new HashMap<>();
+        Map<Long, Long> flushed = new HashMap<>();
+        try {
+            // A key can reach a swapped-out buffer after that flush read it: all of its views are late.
+            previous.forEach((id, views) -> {
+                long late = views.sum() - previousFlushed.getOrDefault(id, 0L);
+                if (late > 0) {
+                    deltas.merge(id, late, Long::sum);
+                }
+            });
+            swapped.forEach((id, views) -> {
+                long count = views.sum();
+                flushed.put(id, count);
+                deltas.merge(id, count, Long::sum);
+            });
+        } finally {
+            // Always rotate, so a bad interval can't keep failing every later flush.
+            previous = swapped;
+            previousFlushed = flushed;
+        }
+
+        long droppedViews = dropped.sumThenReset();
+        if (droppedViews > 0) {
+            log.warn("View buffer was full; {} views were not counted", droppedViews);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            listingsRepo.addViewCounts(deltas);
+        } catch (RuntimeException e) {
+            // Put them back for the next flush rather than lose them.
+            log.warn("Failed to flush views for {} listings; retrying next time", deltas.size(), e);
+            deltas.forEach((id, count) -> buffer.computeIfAbsent(id, k -> new LongAdder()).add(count));
+            return;
+        }
+        deltas.forEach((id, count) -> eventPublisher.publishEvent(
+                new ListingActivityEvent(id, ListingActivityEvent.Activity.VIEW, count)));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        // Anything that arrived during that flush.
+        flush();
+    }
+}
@@ -0,0 +1,73 @@
+package com.Agora.Agora.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Images as files in one directory, served by WebConfig at /images/**. For tests and local
+// development; a single instance's disk is not shared storage.
+@Service
+@ConditionalOnProperty(name = "application.images.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalImageStorage.class);
+
+    // ImagePipeline's keys: an upload UUID, plus a suffix for the variants.
+    private static final Pattern KEY = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(_thumb|_feed)?");
+    // Every extension store() can write: the formats the JDK's ImageIO reads, with jpeg as jpg.
+    private static final List<String> EXTENSIONS = List.of("jpg", "png", "gif", "bmp", "wbmp", "tiff");
+
+    private final Path directory;
+    private final String baseUrl;
+
+    public LocalImageStorage(@Value("${application.images.local.dir}") Path directory,
+                             @Value("${application.images.local.base-url:}") String baseUrl) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image directory " + this.directory, e);
+        }
+    }
+
+    // Resource location for the /images/** handler.
+    public String location() {
+        return directory.toUri().toString();
+    }
+
+    @Override
+    public StoredImage store(Path file, String key, String format) throws IOException {
+        String name = key + "." + ("jpeg".equals(format) ? "jpg" : format);
+        Files.copy(file, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        return new StoredImage(baseUrl + "/images/" + name, key);
+    }
+
+    @Override
+    public void deleteAll(Collection<String> publicIds) throws IOException {
+        for (String publicId : publicIds) {
+            if (publicId == null || !KEY.matcher(publicId).matches()) {
+                // Nothing this storage wrote; dropped rather than retried forever.
+                log.warn("Skipping deletion of unknown image id {}", publicId);
+                continue;
+            }
+            // The public id is the file name without its extension.
+            for (String extension : EXTENSIONS) {
+                Files.deleteIfExists(directory.resolve(publicId + "." + extension));
+            }
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.Agora.Agora.Service;
 import com.Agora.Agora.Dto.Request.ReportResolveReqDto;
 import com.Agora.Agora.Dto.Response.ReportResolveResponse;
 import com.Agora.Agora.Dto.Response.UserSummaryDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Event.UserBlockChangedEvent;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.Enums.ItemStatus;
 import com.Agora.Agora.Model.Enums.UserStatus;
+import com.Agora.Agora.Model.Listings;
 import com.Agora.Agora.Model.Report;
 import com.Agora.Agora.Repository.ListingsRepo;
 import com.Agora.Agora.Repository.ReportRepo;
@@ -17,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -38,6 +42,9 @@ public class ModerationService {
     private final ListingsRepo listingsRepo;
     private final UserRepo userRepo;
     private final DtoMapper dto;
+    private final BlockGraphCache blockGraphCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersions resourceVersions;
     private static final Logger log = LoggerFactory.getLogger(ModerationService.class);
 
     @Transactional
@@ -45,8 +52,18 @@ public class ModerationService {
         AgoraUser user = userRepo.findById(userId).orElseThrow();
         user.setUserStatus(UserStatus.BANNED);
         userRepo.save(user);
-
-        listingsRepo.deactivateAllBySellerId(userId, ItemStatus.DEACTIVATED);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
+
+        // One by one rather than a bulk update, so every read model hears about each listing going away.
+        for (Listings listing : listingsRepo.findBySeller(user)) {
+            ItemStatus previousStatus = listing.getItemStatus();
+            if (previousStatus == ItemStatus.DEACTIVATED) {
+                continue;
+            }
+            listing.setItemStatus(ItemStatus.DEACTIVATED);
+            eventPublisher.publishEvent(ListingChangedEvent.of(ListingChangedEvent.Type.DEACTIVATED, listing,
+                    listing.getCategory(), previousStatus));
+        }
     }
 
     @Transactional
@@ -78,6 +95,7 @@ public class ModerationService {
             AgoraUser reportedUser = report.getReportedUser();
             reportedUser.setUserStatus(UserStatus.BANNED);
             userRepo.save(reportedUser);
+            resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
         }
         report.setResolvedAt(Instant.now());
         Report updatedReport = reportRepo.save(report);
@@ -101,6 +119,8 @@ public class ModerationService {
 
         userRepo.save(currentUser);
         userRepo.save(targetUser);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
+        eventPublisher.publishEvent(new UserBlockChangedEvent(currentUserId, targetUserId));
     }
 
     @Transactional
@@ -117,6 +137,8 @@ public class ModerationService {
 
         userRepo.save(currentUser);
         userRepo.save(targetUser);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
+        eventPublisher.publishEvent(new UserBlockChangedEvent(currentUserId, targetUserId));
     }
 
 //    @Transactional
@@ -154,17 +176,9 @@ public class ModerationService {
         return result;
     }
 
-    public Set<Long> getAllRelatedBlockedIds(Long currentUserId) {
-        AgoraUser user = userRepo.findById(currentUserId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        Set<Long> ids = new HashSet<>();
-        // People I blocked
-        user.getBlockedUsers().forEach(u -> ids.add(u.getId()));
-        // People who blocked me (The Double-Sided fix!)
-        user.getBlockedByUsers().forEach(u -> ids.add(u.getId()));
-
-        return ids;
+    // People I blocked plus people who blocked me.
+    public BlockGraphCache.BlockSet getAllRelatedBlockedIds(Long currentUserId) {
+        return blockGraphCache.get(currentUserId);
     }
 
     public boolean canUsersInteract(Long userId1, Long userId2) {
@@ -172,10 +186,8 @@ public class ModerationService {
             return true;
         }
 
-        boolean user1BlockedUser2 = userRepo.existsBlockRelation(userId1, userId2);
-        boolean user2BlockedUser1 = userRepo.existsBlockRelation(userId2, userId1);
-
-        return !user1BlockedUser2 && !user2BlockedUser1;
+        // Gates chat, so it reads the database; the cache can lag a block made on another node.
+        return !userRepo.existsBlockBetween(userId1, userId2);
     }
 
     public boolean isBlockedBetween(Long currentUserId, Long targetUserId) {
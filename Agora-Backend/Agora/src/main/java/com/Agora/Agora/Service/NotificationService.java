@@ -10,16 +10,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.Agora.Agora.Dto.Response.NotificationResponseDto;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.Listings;
 import com.Agora.Agora.Model.Notification;
+import com.Agora.Agora.Repository.ListingsRepo;
 import com.Agora.Agora.Repository.NotificationRepo;
+import com.Agora.Agora.Repository.NotificationRepoCustom.NewNotification;
 import com.Agora.Agora.Repository.UserRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -28,9 +36,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    // Expo's limit per push request.
+    private static final int EXPO_MAX_MESSAGES = 100;
+
     private final NotificationRepo notificationRepo;
     private final UserRepo userRepo;
+    private final ListingsRepo listingsRepo;
     private final DtoMapper dto;
+    private final ObjectMapper objectMapper;
 
     private void sendPushToUser(AgoraUser user, String title, String body, String type, Long listingId) {
         String expoToken = user.getExpoPushToken();
@@ -134,6 +149,65 @@ public class NotificationService {
         sendPushToUser(followed, title, body, "FOLLOW", null);
     }
 
+    // One notification per user for a new listing matching their saved search, saved together.
+    @Transactional
+    public void sendSavedSearchNotifications(Long listingId, String listingTitle, Map<Long, String> searchNameByUser) {
+        Listings listing = listingsRepo.getReferenceById(listingId);
+        List<AgoraUser> users = userRepo.findAllById(searchNameByUser.keySet()).stream()
+                .filter(AgoraUser::isEnabled)
+                .toList();
+        List<Notification> notifList = new ArrayList<>();
+
+        for (AgoraUser user : users) {
+            Notification noti = new Notification();
+            noti.setUser(user);
+            noti.setTitle("New match for \"" + searchNameByUser.get(user.getId()) + "\"");
+            noti.setBody(listingTitle + " was just listed");
+            noti.setType("SAVED_SEARCH");
+            noti.setListings(listing);
+            noti.setRead(false);
+            notifList.add(noti);
+        }
+
+        notificationRepo.saveAll(notifList);
+
+        for (Notification noti : notifList) {
+            sendPushToUser(noti.getUser(), noti.getTitle(), noti.getBody(), "SAVED_SEARCH", listingId);
+        }
+    }
+
+    // Fan-out alerts (price drops): rows go in one JDBC batch, and pushes to users with a token in
+    // a few Expo requests rather than one per user, once the rows have committed.
+    @Transactional
+    public void sendAll(List<NewNotification> notifications, Map<Long, String> expoTokenByUser) {
+        notificationRepo.insertAll(notifications);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendPushes(notifications, expoTokenByUser);
+                }
+            });
+        } else {
+            sendPushes(notifications, expoTokenByUser);
+        }
+    }
+
+    private void sendPushes(List<NewNotification> notifications, Map<Long, String> expoTokenByUser) {
+        List<NewNotification> pushes = notifications.stream()
+                .filter(n -> {
+                    String token = expoTokenByUser.get(n.userId());
+                    return token != null && !token.isEmpty();
+                })
+                .toList();
+        HttpClient client = HttpClient.newHttpClient();
+        for (int from = 0; from < pushes.size(); from += EXPO_MAX_MESSAGES) {
+            sendPushBatch(client, pushes.subList(from, Math.min(from + EXPO_MAX_MESSAGES, pushes.size())),
+                    expoTokenByUser);
+        }
+    }
+
     @Transactional
     public void sendSystemNotification(String title, String body) {
         List<AgoraUser> allUsers = userRepo.findAll();
@@ -290,6 +364,71 @@ public class NotificationService {
         notificationRepo.deleteAllByUserId(userId);
     }
 
+    private void sendPushBatch(HttpClient client, List<NewNotification> batch, Map<Long, String> expoTokenByUser) {
+        try {
+            StringBuilder jsonBuilder = new StringBuilder("[");
+            for (NewNotification n : batch) {
+                if (jsonBuilder.length() > 1)
+                    jsonBuilder.append(",");
+                jsonBuilder.append("{")
+                        .append("\"to\":\"").append(expoTokenByUser.get(n.userId())).append("\",")
+                        .append("\"title\":\"").append(escapeJson(n.title())).append("\",")
+                        .append("\"body\":\"").append(escapeJson(n.body())).append("\",")
+                        .append("\"sound\":\"default\",")
+                        .append("\"priority\":\"high\",")
+                        .append("\"channelId\":\"default\",")
+                        .append("\"data\":{")
+                        .append("\"type\":\"").append(n.type()).append("\",")
+                        .append("\"listingId\":").append(n.listingId() != null ? n.listingId() : "null").append(",")
+                        .append("\"timestamp\":").append(System.currentTimeMillis())
+                        .append("}")
+                        .append("}");
+            }
+            jsonBuilder.append("]");
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create("https://exp.host/--/api/v2/push/send"))
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(jsonBuilder.toString()))
+                    .build();
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> logPushTickets(batch, response))
+                    .exceptionally(e -> {
+                        log.warn("Failed to send push batch of {}", batch.size(), e);
+                        return null;
+                    });
+
+        } catch (Exception e) {
+            log.warn("Failed to send push batch of {}", batch.size(), e);
+        }
+    }
+
+    // Expo answers 200 with one ticket per message, in order; a rejected message (an unregistered
+    // device, say) only shows up as an error ticket.
+    private void logPushTickets(List<NewNotification> batch, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            log.warn("Push batch of {} rejected with {}: {}", batch.size(), response.statusCode(), response.body());
+            return;
+        }
+        try {
+            JsonNode tickets = objectMapper.readTree(response.body()).path("data");
+            int failed = 0;
+            for (int i = 0; i < tickets.size() && i < batch.size(); i++) {
+                JsonNode ticket = tickets.get(i);
+                if ("error".equals(ticket.path("status").asText())) {
+                    failed++;
+                    log.warn("Push to user {} failed: {} ({})", batch.get(i).userId(),
+                            ticket.path("message").asText(), ticket.path("details").path("error").asText("no details"));
+                }
+            }
+            log.debug("Push batch of {} sent, {} failed", batch.size(), failed);
+        } catch (Exception e) {
+            log.warn("Unreadable push batch response: {}", response.body(), e);
+        }
+    }
+
     private String escapeJson(String str) {
         if (str == null)
             return "";
@@ -0,0 +1,145 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.UserStatus;
+import com.Agora.Agora.Repository.FavoriteRepo;
+import com.Agora.Agora.Repository.NotificationRepoCustom.NewNotification;
+import com.Agora.Agora.Repository.PriceDropRecipientRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tells everyone who favorited a listing when its price drops. A drop waits until the listing's
+// price has been left alone for the debounce window, so a seller nudging the price down a few
+// times sends one alert, from the first price to the last; if it ends up back where it started,
+// none. Due drops are sent together: one query for all their favoriters, one batch of notifications.
+//
+// Pending drops are kept in memory and sent on shutdown, so a restart only loses the wait.
+@Service
+public class PriceDropNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceDropNotifier.class);
+
+    private final FavoriteRepo favoriteRepo;
+    private final NotificationService notificationService;
+    private final BlockGraphCache blockGraphCache;
+    private final long debounceMillis;
+
+    private final Map<Long, PendingDrop> pending = new ConcurrentHashMap<>();
+
+    public PriceDropNotifier(FavoriteRepo favoriteRepo,
+                             NotificationService notificationService,
+                             BlockGraphCache blockGraphCache,
+                             @Value("${application.listing.price-drop.debounce:PT10M}") Duration debounce) {
+        this.favoriteRepo = favoriteRepo;
+        this.notificationService = notificationService;
+        this.blockGraphCache = blockGraphCache;
+        this.debounceMillis = debounce.toMillis();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        Long listingId = event.getListingId();
+        if (!event.isAvailable()) {
+            pending.remove(listingId);
+            return;
+        }
+        BigDecimal previous = event.getPreviousPrice();
+        if (previous == null || event.getPrice() == null || previous.compareTo(event.getPrice()) == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        pending.compute(listingId, (id, drop) -> {
+            if (drop == null) {
+                // A raise starts nothing; a later drop compares against the raised price.
+                return event.isPriceDrop()
+                        ? new PendingDrop(previous, event.getPrice(), event.getTitle(), event.getSellerId(), now)
+                        : null;
+            }
+            return new PendingDrop(drop.fromPrice(), event.getPrice(), event.getTitle(), event.getSellerId(), now);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.listing.price-drop.flush-interval:PT30S}",
+            initialDelayString = "${application.listing.price-drop.flush-interval:PT30S}")
+    public void flush() {
+        send(System.currentTimeMillis() - debounceMillis);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        send(Long.MAX_VALUE);
+    }
+
+    private void send(long settledBefore) {
+        Map<Long, PendingDrop> due = new HashMap<>();
+        for (Map.Entry<Long, PendingDrop> entry : pending.entrySet()) {
+            PendingDrop drop = entry.getValue();
+            // Removed only if unchanged, so an edit racing with the flush keeps waiting.
+            if (drop.changedAtMillis() <= settledBefore && pending.remove(entry.getKey(), drop)
+                    && drop.toPrice().compareTo(drop.fromPrice()) < 0) {
+                due.put(entry.getKey(), drop);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            notifyFavoriters(due);
+        } catch (RuntimeException e) {
+            // Retried by the next flush, unless the listing has changed again meanwhile.
+            log.warn("Failed to send price-drop alerts for {} listings", due.size(), e);
+            due.forEach(pending::putIfAbsent);
+        }
+    }
+
+    private void notifyFavoriters(Map<Long, PendingDrop> due) {
+        List<NewNotification> notifications = new ArrayList<>();
+        Map<Long, String> expoTokens = new HashMap<>();
+        Set<String> sent = new HashSet<>();
+        for (PriceDropRecipientRow row : favoriteRepo.findPriceDropRecipients(due.keySet(), UserStatus.ACTIVE)) {
+            PendingDrop drop = due.get(row.getListingId());
+            if (row.getUserId().equals(drop.sellerId())
+                    || (drop.sellerId() != null && blockGraphCache.get(row.getUserId()).contains(drop.sellerId()))
+                    || !sent.add(row.getListingId() + ":" + row.getUserId())) {
+                continue;
+            }
+            notifications.add(new NewNotification(row.getUserId(), row.getListingId(), "Price drop",
+                    drop.title() + " is now ₹" + format(drop.toPrice()) + " (was ₹" + format(drop.fromPrice()) + ")",
+                    "PRICE_DROP"));
+            if (row.getExpoPushToken() != null) {
+                expoTokens.put(row.getUserId(), row.getExpoPushToken());
+            }
+        }
+        if (!notifications.isEmpty()) {
+            notificationService.sendAll(notifications, expoTokens);
+        }
+        log.debug("Sent {} price-drop alerts for {} listings", notifications.size(), due.size());
+    }
+
+    // Prices as stored, with two decimals, whatever scale the edit sent.
+    private static String format(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private record PendingDrop(BigDecimal fromPrice, BigDecimal toPrice, String title, Long sellerId,
+                               long changedAtMillis) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Repository.ListingsRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cheap version strings for read-mostly resources, used as ETags by ConditionalGetInterceptor.
+// Colleges, reviews and user profiles carry an in-memory change counter bumped by the services that
+// write them (USERS by every save that changes what a user DTO shows, or who may see it); a listing's
+// version is its updated_at and view_count columns. Counters start over on every boot, so they are
+// prefixed with an epoch that keeps an old ETag from matching a new counter value.
+//
+// Like the other in-memory caches here, counters only see writes made through this instance.
+@Service
+@RequiredArgsConstructor
+public class ResourceVersions {
+
+    public enum Resource {
+        COLLEGES, REVIEWS, USERS, LISTING, CATEGORY_COUNTS
+    }
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ListingsRepo listingsRepo;
+    private final CategoryCountService categoryCountService;
+
+    private final Map<Resource, AtomicLong> counters = new EnumMap<>(Map.of(
+            Resource.COLLEGES, new AtomicLong(),
+            Resource.REVIEWS, new AtomicLong(),
+            Resource.USERS, new AtomicLong()));
+
+    // The current version, or null if there is none (e.g. the listing doesn't exist) and the
+    // request should go through to the handler.
+    public String version(Resource resource, Map<String, String> pathVariables) {
+        return switch (resource) {
+            case COLLEGES, USERS -> tag(resource) + EPOCH + "." + counters.get(resource).get();
+            // Reviews embed the reviewer's name and email.
+            case REVIEWS -> tag(resource) + EPOCH + "." + counters.get(Resource.REVIEWS).get()
+                    + "." + counters.get(Resource.USERS).get();
+            case CATEGORY_COUNTS -> tag(resource) + EPOCH + "." + categoryCountService.version();
+            case LISTING -> listingVersion(pathVariables.get("id"));
+        };
+    }
+
+    // Bumps after the surrounding transaction commits, so a request racing the write can't pair
+    // the old data with the new version. Without a transaction the write is already visible.
+    public void bumpAfterCommit(Resource resource) {
+        AtomicLong counter = counters.get(resource);
+        if (counter == null) {
+            throw new IllegalArgumentException(resource + " is not versioned by a counter");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.incrementAndGet();
+                }
+            });
+        } else {
+            counter.incrementAndGet();
+        }
+    }
+
+    // The detail response embeds the seller and their college, so their counters are part of it.
+    private String listingVersion(String id) {
+        Long listingId;
+        try {
+            listingId = Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return listingsRepo.findVersionById(listingId)
+                .map(row -> tag(Resource.LISTING) + Long.toString(micros(row.getUpdatedAt()), 36)
+                        + "." + Long.toString(row.getViewCount(), 36) + "." + EPOCH
+                        + "." + counters.get(Resource.USERS).get()
+                        + "." + counters.get(Resource.COLLEGES).get())
+                .orElse(null);
+    }
+
+    // Keeps versions of different resources from ever looking alike.
+    private static String tag(Resource resource) {
+        return resource.name().toLowerCase() + "-";
+    }
+
+    private static long micros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+}
@@ -24,6 +24,7 @@ public class ReviewService {
     private final ListingsRepo listingRepo;
     private final UserRepo userRepo;
     private final DtoMapper dto;
+    private final ResourceVersions resourceVersions;
 
     public ReviewResponse addReview(Long listingId, String email, ReviewReqDto req) {
         Listings listing = listingRepo.findById(listingId)
@@ -39,6 +40,7 @@ public class ReviewService {
         review.setComment(req.getComment());
 
         Review savedReview = reviewRepo.save(review);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.REVIEWS);
 
         notificationService.createReviewNotification(reviewer, listing);
 
@@ -108,6 +110,7 @@ public class ReviewService {
         review.setComment(req.getComment());
 
         Review savedReview = reviewRepo.save(review);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.REVIEWS);
         return dto.mapToReviewResponseDto(savedReview);
     }
 
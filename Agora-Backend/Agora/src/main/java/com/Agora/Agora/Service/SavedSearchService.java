@@ -0,0 +1,346 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Request.SavedSearchReqDto;
+import com.Agora.Agora.Dto.Response.SavedSearchResponseDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.SavedSearch;
+import com.Agora.Agora.Repository.SavedSearchRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Saved searches, matched against each new listing instead of users re-running them.
+//
+// Every saved search is compiled and filed in memory under one anchor: its longest keyword token,
+// else its college, else its category. A new listing only looks up the anchors it could satisfy
+// (each prefix of its words, its college, each substring of its category) and checks the full
+// filters of those candidates, so matching cost follows the listing's size, not the number of
+// saved searches. Matches use the search semantics: keyword tokens are prefixes of title, category
+// or description words, and the category is a case-insensitive substring.
+//
+// Each node keeps its own index. Saves and deletes apply to it at once on the node that served them,
+// and every node syncs with the table every sync-interval, which picks up the other nodes' changes.
+@Service
+public class SavedSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SavedSearchService.class);
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SAVED_SEARCHES_PER_USER = 20;
+    // Longer categories are only matched by keyword or college anchors.
+    private static final int MAX_CATEGORY_LENGTH = 100;
+
+    private final SavedSearchRepo savedSearchRepo;
+    private final NotificationService notificationService;
+    private final BlockGraphCache blockGraphCache;
+    private final TransactionTemplate transaction;
+
+    // Guarded by this.
+    private final Map<Long, Compiled> compiled = new HashMap<>();
+    private final Map<String, Set<Long>> byToken = new HashMap<>();
+    private final Map<Long, Set<Long>> byCollege = new HashMap<>();
+    private final Map<String, Set<Long>> byCategory = new HashMap<>();
+
+    public SavedSearchService(SavedSearchRepo savedSearchRepo,
+                              NotificationService notificationService,
+                              BlockGraphCache blockGraphCache,
+                              PlatformTransactionManager transactionManager) {
+        this.savedSearchRepo = savedSearchRepo;
+        this.notificationService = notificationService;
+        this.blockGraphCache = blockGraphCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public List<SavedSearchResponseDto> getSavedSearches(Long userId) {
+        return savedSearchRepo.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(SavedSearchService::toDto)
+                .toList();
+    }
+
+    // Throws IllegalArgumentException for a search that can't be saved.
+    public SavedSearchResponseDto create(Long userId, SavedSearchReqDto req) {
+        if (tokenize(req.getKeyword()).isEmpty() && req.getCollegeId() == null && isBlank(req.getCategory())) {
+            throw new IllegalArgumentException("Add a keyword, category or college to save this search");
+        }
+        if (req.getMinPrice() != null && req.getMaxPrice() != null && req.getMinPrice().compareTo(req.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price cannot be above maximum price");
+        }
+
+        SavedSearch search = new SavedSearch();
+        search.setUserId(userId);
+        search.setName(req.getName().trim());
+        search.setKeyword(isBlank(req.getKeyword()) ? null : req.getKeyword().trim());
+        search.setCategory(isBlank(req.getCategory()) ? null : req.getCategory().trim());
+        search.setCollegeId(req.getCollegeId());
+        search.setMinPrice(req.getMinPrice());
+        search.setMaxPrice(req.getMaxPrice());
+        search.setItemCondition(req.getItemCondition());
+        SavedSearch saved = transaction.execute(status -> {
+            savedSearchRepo.lockUser(userId);
+            if (savedSearchRepo.countByUserId(userId) >= MAX_SAVED_SEARCHES_PER_USER) {
+                throw new IllegalArgumentException("You can save up to " + MAX_SAVED_SEARCHES_PER_USER + " searches");
+            }
+            return savedSearchRepo.save(search);
+        });
+        // Committed by now, so the index never holds a search that was rolled back.
+        add(saved);
+        return toDto(saved);
+    }
+
+    // False if there is no such saved search or it belongs to someone else.
+    public boolean delete(Long userId, Long id) {
+        SavedSearch search = savedSearchRepo.findById(id).orElse(null);
+        if (search == null || !search.getUserId().equals(userId)) {
+            return false;
+        }
+        savedSearchRepo.delete(search);
+        remove(id);
+        return true;
+    }
+
+    // Listings created before this has run aren't matched.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        sync();
+        synchronized (this) {
+            log.info("Loaded {} saved searches", compiled.size());
+        }
+    }
+
+    // Brings the index in line with the table: adds searches saved on other nodes and drops deleted
+    // ones. Saved searches are never edited, so ids are enough to tell what changed.
+    @Scheduled(fixedDelayString = "${application.saved-search.sync-interval:PT30S}",
+            initialDelayString = "${application.saved-search.sync-interval:PT30S}")
+    public void sync() {
+        // Taken before the query: a search added here after it can't be dropped as deleted.
+        Set<Long> indexed;
+        synchronized (this) {
+            indexed = new HashSet<>(compiled.keySet());
+        }
+        Set<Long> stored = new HashSet<>(savedSearchRepo.findAllIds());
+
+        indexed.removeAll(stored);
+        indexed.forEach(this::remove);
+        List<Long> missing = new ArrayList<>();
+        synchronized (this) {
+            for (Long id : stored) {
+                if (!compiled.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            savedSearchRepo.findAllById(missing).forEach(this::add);
+        }
+        if (!indexed.isEmpty() || !missing.isEmpty()) {
+            log.debug("Saved search sync: {} added, {} removed", missing.size(), indexed.size());
+        }
+    }
+
+    // Off the request thread: the notifications are written in their own transaction.
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.getType() != ListingChangedEvent.Type.CREATED || !event.isAvailable()) {
+            return;
+        }
+        Map<Long, String> matches = match(event);
+        if (matches.isEmpty()) {
+            return;
+        }
+        notificationService.sendSavedSearchNotifications(event.getListingId(), event.getTitle(), matches);
+        log.debug("Listing {} matched saved searches of {} users", event.getListingId(), matches.size());
+    }
+
+    // The name of the first matching saved search per user, leaving out the seller and users
+    // blocked with them.
+    private Map<Long, String> match(ListingChangedEvent event) {
+        Set<String> words = new HashSet<>();
+        words.addAll(tokenize(event.getTitle()));
+        words.addAll(tokenize(event.getCategory()));
+        words.addAll(tokenize(event.getDescription()));
+        String category = event.getCategory() == null ? "" : event.getCategory().toLowerCase(Locale.ROOT);
+        long priceCents = event.getPrice() == null
+                ? 0
+                : event.getPrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+
+        List<Compiled> candidates = new ArrayList<>();
+        synchronized (this) {
+            Set<Long> ids = new HashSet<>();
+            for (String word : words) {
+                for (int end = 1; end <= word.length(); end++) {
+                    addAll(ids, byToken.get(word.substring(0, end)));
+                }
+            }
+            if (event.getCollegeId() != null) {
+                addAll(ids, byCollege.get(event.getCollegeId()));
+            }
+            if (category.length() <= MAX_CATEGORY_LENGTH) {
+                for (int start = 0; start < category.length(); start++) {
+                    for (int end = start + 1; end <= category.length(); end++) {
+                        addAll(ids, byCategory.get(category.substring(start, end)));
+                    }
+                }
+            }
+            ids.forEach(id -> candidates.add(compiled.get(id)));
+        }
+
+        Long sellerId = event.getSellerId();
+        Map<Long, String> matches = new LinkedHashMap<>();
+        for (Compiled search : candidates) {
+            if (matches.containsKey(search.userId())
+                    || (sellerId != null && search.userId() == sellerId)
+                    || !search.matches(words, category, event.getCollegeId(), priceCents, event.getItemCondition())) {
+                continue;
+            }
+            if (sellerId != null && blockGraphCache.get(search.userId()).contains(sellerId)) {
+                continue;
+            }
+            matches.put(search.userId(), search.name());
+        }
+        return matches;
+    }
+
+    private synchronized void add(SavedSearch search) {
+        Compiled entry = Compiled.of(search);
+        compiled.put(entry.id(), entry);
+        if (entry.tokens().length > 0) {
+            byToken.computeIfAbsent(entry.anchorToken(), k -> new HashSet<>()).add(entry.id());
+        } else if (entry.collegeId() != null) {
+            byCollege.computeIfAbsent(entry.collegeId(), k -> new HashSet<>()).add(entry.id());
+        } else if (entry.category() != null) {
+            byCategory.computeIfAbsent(entry.category(), k -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    private synchronized void remove(Long id) {
+        Compiled entry = compiled.remove(id);
+        if (entry == null) {
+            return;
+        }
+        if (entry.tokens().length > 0) {
+            removeFrom(byToken, entry.anchorToken(), id);
+        } else if (entry.collegeId() != null) {
+            removeFrom(byCollege, entry.collegeId(), id);
+        } else if (entry.category() != null) {
+            removeFrom(byCategory, entry.category(), id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> anchors, K key, Long id) {
+        Set<Long> ids = anchors.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                anchors.remove(key);
+            }
+        }
+    }
+
+    private static void addAll(Set<Long> ids, Set<Long> more) {
+        if (more != null) {
+            ids.addAll(more);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static SavedSearchResponseDto toDto(SavedSearch search) {
+        return new SavedSearchResponseDto(search.getId(), search.getName(), search.getKeyword(),
+                search.getCategory(), search.getCollegeId(), search.getMinPrice(), search.getMaxPrice(),
+                search.getItemCondition(), search.getCreatedAt());
+    }
+
+    // A saved search reduced to what matching needs.
+    private record Compiled(long id, long userId, String name, String[] tokens, String category, Long collegeId,
+                            long minCents, long maxCents, ItemCondition condition) {
+
+        static Compiled of(SavedSearch search) {
+            return new Compiled(
+                    search.getId(),
+                    search.getUserId(),
+                    search.getName(),
+                    tokenize(search.getKeyword()).toArray(String[]::new),
+                    isBlank(search.getCategory()) ? null : search.getCategory().toLowerCase(Locale.ROOT),
+                    search.getCollegeId(),
+                    // Prices are stored with two decimals, so round the bounds inwards.
+                    search.getMinPrice() == null ? Long.MIN_VALUE : cents(search.getMinPrice(), RoundingMode.CEILING),
+                    search.getMaxPrice() == null ? Long.MAX_VALUE : cents(search.getMaxPrice(), RoundingMode.FLOOR),
+                    search.getItemCondition());
+        }
+
+        // The longest token is usually the rarest prefix.
+        String anchorToken() {
+            String anchor = tokens[0];
+            for (String token : tokens) {
+                if (token.length() > anchor.length()) {
+                    anchor = token;
+                }
+            }
+            return anchor;
+        }
+
+        boolean matches(Set<String> words, String listingCategory, Long listingCollegeId, long priceCents,
+                        ItemCondition listingCondition) {
+            if (collegeId != null && !collegeId.equals(listingCollegeId)) {
+                return false;
+            }
+            if (category != null && !listingCategory.contains(category)) {
+                return false;
+            }
+            if (priceCents < minCents || priceCents > maxCents) {
+                return false;
+            }
+            if (condition != null && condition != listingCondition) {
+                return false;
+            }
+            for (String token : tokens) {
+                if (words.stream().noneMatch(word -> word.startsWith(token))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long cents(BigDecimal price, RoundingMode rounding) {
+            return price.setScale(2, rounding).unscaledValue().longValue();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Dto.Response.ReviewStatsDto;
+import com.Agora.Agora.Dto.Response.SellerProfileHeaderDto;
+import com.Agora.Agora.Dto.Response.SellerProfilePageDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Repository.FollowRepo;
+import com.Agora.Agora.Repository.ListingSearchCursor;
+import com.Agora.Agora.Repository.ListingsRepo;
+import com.Agora.Agora.Repository.ListingsRepoCustom;
+import com.Agora.Agora.Repository.SellerListingStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+// Public seller profiles: a small header (counts, rating, followers) cached per seller, and the
+// seller's listings in keyset pages. The header doubles as the profile's version, so conditional
+// requests are answered from the cache without touching the listings.
+//
+// A listing change drops the seller's header right away. New followers, reviews and profile edits
+// show up when the header expires.
+@Service
+public class SellerProfileService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final UserService userService;
+    private final ReviewService reviewService;
+    private final ListingsRepo listingsRepo;
+    private final FollowRepo followRepo;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Header> headers;
+
+    public SellerProfileService(UserService userService,
+                                ReviewService reviewService,
+                                ListingsRepo listingsRepo,
+                                FollowRepo followRepo,
+                                ObjectMapper objectMapper,
+                                @Value("${application.profile.header-cache.max-sellers:5000}") long maxSellers,
+                                @Value("${application.profile.header-cache.ttl:60s}") Duration ttl) {
+        this.userService = userService;
+        this.reviewService = reviewService;
+        this.listingsRepo = listingsRepo;
+        this.followRepo = followRepo;
+        this.objectMapper = objectMapper;
+        this.headers = Caffeine.newBuilder()
+                .maximumSize(maxSellers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Header getHeader(Long sellerId) {
+        return headers.get(sellerId, this::loadHeader);
+    }
+
+    // Strong ETag for one page of the profile: the header's hash plus the page parameters. The status goes in by
+    // name; an enum's hashCode is its identity hash and differs between JVMs.
+    public String etag(Header header, ItemStatus status, String cursor, int size) {
+        return "\"" + header.hash() + "-" + Integer.toHexString(Objects.hash(status != null ? status.name() : null, cursor, size)) + "\"";
+    }
+
+    // status narrows to one status; without it, every status except DEACTIVATED.
+    public SellerProfilePageDto getPage(Header header, ItemStatus status, String cursor, int size) {
+        Long sellerId = header.dto().getSeller().getId();
+        ListingSearchCursor position = cursor == null || cursor.isEmpty()
+                ? ListingSearchCursor.start(ListingSearchCursor.SortKey.POST_DATE, Sort.Direction.DESC)
+                : ListingSearchCursor.decode(cursor);
+        if (position.getSortKey() != ListingSearchCursor.SortKey.POST_DATE) {
+            throw new IllegalArgumentException("Cursor does not match this profile");
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        Specification<Listings> spec = (root, query, cb) -> cb.and(
+                cb.equal(root.get("seller").get("id"), sellerId),
+                status != null
+                        ? cb.equal(root.get("itemStatus"), status)
+                        : cb.notEqual(root.get("itemStatus"), ItemStatus.DEACTIVATED));
+
+        // One extra row tells us whether another page exists.
+        List<ListingsRepoCustom.SearchHit> hits = listingsRepo.findSearchPage(spec, position, null, null,
+                pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ListingsRepoCustom.SearchHit last = hits.get(hits.size() - 1);
+            nextCursor = position.after(last.getSortValue(), last.getCard().id()).encode();
+        }
+        List<ListingCardDto> listings = hits.stream().map(ListingsRepoCustom.SearchHit::getCard).toList();
+        return new SellerProfilePageDto(header.dto(), listings, nextCursor, hasMore);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.getSellerId() != null) {
+            headers.invalidate(event.getSellerId());
+        }
+    }
+
+    private Header loadHeader(Long sellerId) {
+        SellerListingStats stats = listingsRepo.findSellerListingStats(sellerId, ItemStatus.AVAILABLE,
+                ItemStatus.SOLD, ItemStatus.DEACTIVATED);
+        ReviewStatsDto reviews = reviewService.getSellerStats(sellerId);
+
+        SellerProfileHeaderDto dto = new SellerProfileHeaderDto(
+                userService.findById(sellerId),
+                stats.getListingCount(),
+                stats.getAvailableCount() == null ? 0 : stats.getAvailableCount(),
+                stats.getSoldCount() == null ? 0 : stats.getSoldCount(),
+                reviews.getAverageRating(),
+                reviews.getTotalReviews(),
+                followRepo.countByFollowingId(sellerId),
+                stats.getLastModified());
+        return new Header(dto, hash(dto));
+    }
+
+    // A few hundred bytes of JSON; hashing it is far cheaper than rendering a page to hash.
+    private String hash(SellerProfileHeaderDto dto) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Header(SellerProfileHeaderDto dto, String hash) {
+    }
+}
@@ -0,0 +1,470 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.ListingSimilar;
+import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Repository.ListingIndexRow;
+import com.Agora.Agora.Repository.ListingSimilarRepo;
+import com.Agora.Agora.Repository.ListingsRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// "More like this" for the listing detail screen. Every AVAILABLE listing gets a TF-IDF vector from
+// its title, category and description; its top-K neighbours by cosine similarity are stored in
+// listing_similar, so serving is one keyed lookup plus one batch card fetch.
+//
+// Vectors and an inverted index are kept in memory. Listing changes are buffered and applied every
+// refresh interval: a changed listing is re-scored against the index, slotted into the lists of the
+// listings it now resembles, and the lists that held its old version are recomputed. Only those rows
+// are rewritten. IDF drifts as listings come and go, so a periodic full rebuild re-bases everything.
+@Service
+public class SimilarListingsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarListingsService.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIGITS = Pattern.compile("\\p{N}+");
+
+    // Per occurrence: a title word says more about the item than a description word.
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double CATEGORY_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // Terms in more than this share of listings ("good", "condition") say little and have the
+    // longest postings, so they are left out of scoring. Small catalogues score every term.
+    private static final double MAX_DOC_SHARE = 0.2;
+    private static final int MIN_DOCS_FOR_CUTOFF = 50;
+    private static final double MIN_SIMILARITY = 0.05;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final ListingsRepo listingsRepo;
+    private final ListingSimilarRepo similarRepo;
+    private final BlockGraphCache blockGraphCache;
+    private final int topK;
+
+    // Changes since the last refresh, by listing id.
+    private final Map<Long, Text> dirty = new ConcurrentHashMap<>();
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this; only the rebuild and refresh touch them.
+    private final Map<Long, Vector> vectors = new HashMap<>();
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Neighbours> neighbours = new HashMap<>();
+    // Reverse of neighbours: which listings' lists hold each listing.
+    private final Map<Long, Set<Long>> listedBy = new HashMap<>();
+
+    // Both run off the scheduler thread: a rebuild takes a while, and a refresh waits for it.
+    private final BackgroundJob rebuildJob = new BackgroundJob("similar-listings-rebuild", this::rebuild);
+    private final BackgroundJob refreshJob = new BackgroundJob("similar-listings-refresh", this::refresh);
+    private boolean loaded;
+
+    public SimilarListingsService(ListingsRepo listingsRepo,
+                                  ListingSimilarRepo similarRepo,
+                                  BlockGraphCache blockGraphCache,
+                                  @Value("${application.listing.similar.top-k:20}") int topK) {
+        this.listingsRepo = listingsRepo;
+        this.similarRepo = similarRepo;
+        this.blockGraphCache = blockGraphCache;
+        this.topK = topK;
+    }
+
+    // Listings sold since they were ranked and sellers blocked in either direction are left out,
+    // so the list can come back short.
+    public List<ListingCardDto> getSimilar(Long listingId, int size, Long userId) {
+        Optional<ListingSimilar> row = similarRepo.findById(listingId);
+        if (row.isEmpty()) {
+            return List.of();
+        }
+        Long[] similar = row.get().getSimilarIds();
+        List<Long> ids = Arrays.asList(similar).subList(0, Math.min(Math.max(size, 0), similar.length));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Specification<Listings> spec = (root, query, cb) -> cb.and(
+                root.get("id").in(ids),
+                cb.equal(root.get("itemStatus"), ItemStatus.AVAILABLE));
+        if (userId != null && !blockGraphCache.get(userId).isEmpty()) {
+            spec = spec.and(ListingsRepo.notBlockedWith(userId));
+        }
+        Map<Long, ListingCardDto> cards = listingsRepo.findCards(spec, Sort.unsorted()).stream()
+                .collect(Collectors.toMap(ListingCardDto::id, Function.identity()));
+        return ids.stream().map(cards::get).filter(card -> card != null).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        Long id = event.getListingId();
+        if (event.isAvailable()) {
+            removed.remove(id);
+            dirty.put(id, new Text(event.getTitle(), event.getDescription(), event.getCategory()));
+        } else {
+            dirty.remove(id);
+            removed.add(id);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildJob.request();
+    }
+
+    @Scheduled(fixedDelayString = "${application.listing.similar.rebuild-interval:PT24H}",
+            initialDelayString = "${application.listing.similar.rebuild-interval:PT24H}")
+    public void scheduleRebuild() {
+        rebuildJob.request();
+    }
+
+    @Scheduled(fixedDelayString = "${application.listing.similar.refresh-interval:PT1M}",
+            initialDelayString = "${application.listing.similar.refresh-interval:PT1M}")
+    public void scheduleRefresh() {
+        refreshJob.request();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildJob.shutdown();
+        refreshJob.shutdown();
+    }
+
+    // Recomputes every vector and list from the database. Changes that arrive meanwhile stay
+    // buffered and are applied by the next refresh.
+    public synchronized void rebuild() {
+        // Postgres keeps microseconds; truncating keeps deleteComputedBefore off the rows written below.
+        Instant started = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<Long, Text> texts = new HashMap<>();
+        Long afterId = 0L;
+        List<ListingIndexRow> rows;
+        do {
+            rows = listingsRepo.findIndexRows(ItemStatus.AVAILABLE, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (ListingIndexRow row : rows) {
+                texts.put(row.getId(), new Text(row.getTitle(), row.getDescription(), row.getCategory()));
+                afterId = row.getId();
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        vectors.clear();
+        postings.clear();
+        neighbours.clear();
+        listedBy.clear();
+
+        // Document frequencies first, so every vector is weighted against the whole catalogue.
+        Map<Long, Map<String, Double>> counts = new HashMap<>();
+        Map<String, Integer> docFrequency = new HashMap<>();
+        texts.forEach((id, text) -> {
+            Map<String, Double> terms = text.termCounts();
+            counts.put(id, terms);
+            terms.keySet().forEach(term -> docFrequency.merge(term, 1, Integer::sum));
+        });
+        counts.forEach((id, terms) -> index(id,
+                vectorize(texts.get(id).fingerprint(), terms, docFrequency::get, counts.size())));
+
+        Map<Long, long[]> lists = new HashMap<>();
+        for (Long id : vectors.keySet()) {
+            setNeighbours(id, top(scores(id)));
+            lists.put(id, neighbours.get(id).ids());
+            if (lists.size() == WRITE_BATCH_SIZE) {
+                similarRepo.upsertAll(lists, started);
+                lists.clear();
+            }
+        }
+        similarRepo.upsertAll(lists, started);
+        int stale = similarRepo.deleteComputedBefore(started);
+        loaded = true;
+
+        log.info("Computed similar listings for {} listings ({} terms) in {} ms ({} stale removed)",
+                vectors.size(), postings.size(), Duration.between(started, Instant.now()).toMillis(), stale);
+    }
+
+    public synchronized void refresh() {
+        if (!loaded) {
+            // Changes stay buffered until the first rebuild has loaded the index.
+            return;
+        }
+        Set<Long> deleted = new HashSet<>();
+        // Lists that held a listing which then changed or went away; they need a full recompute.
+        Set<Long> stale = new HashSet<>();
+        for (Long id : List.copyOf(removed)) {
+            removed.remove(id);
+            if (unindex(id, stale)) {
+                deleted.add(id);
+            }
+        }
+
+        Set<Long> changed = new HashSet<>();
+        for (Long id : List.copyOf(dirty.keySet())) {
+            Text text = dirty.remove(id);
+            Vector current = vectors.get(id);
+            if (text == null || (current != null && current.fingerprint() == text.fingerprint())) {
+                // Edits that didn't touch the text (price, condition) leave the vector as it is.
+                continue;
+            }
+            unindex(id, stale);
+            Map<String, Double> terms = text.termCounts();
+            int docs = vectors.size() + 1;
+            index(id, vectorize(text.fingerprint(), terms, term -> docFrequency(term) + 1, docs));
+            changed.add(id);
+        }
+        if (deleted.isEmpty() && changed.isEmpty()) {
+            return;
+        }
+
+        Set<Long> rewrite = new HashSet<>();
+        for (Long id : changed) {
+            Map<Long, Double> scores = scores(id);
+            setNeighbours(id, top(scores));
+            rewrite.add(id);
+            scores.forEach((other, score) -> {
+                if (changed.contains(other)) {
+                    // Scored against every changed listing already, this one included.
+                    return;
+                }
+                Neighbours list = neighbours.get(other);
+                Neighbours updated = list.offer(id, score.floatValue(), topK);
+                if (updated != list) {
+                    setNeighbours(other, updated);
+                    rewrite.add(other);
+                }
+            });
+        }
+        stale.removeAll(changed);
+        stale.removeAll(deleted);
+        for (Long id : stale) {
+            if (vectors.containsKey(id)) {
+                setNeighbours(id, top(scores(id)));
+                rewrite.add(id);
+            }
+        }
+
+        Map<Long, long[]> lists = new HashMap<>();
+        rewrite.forEach(id -> lists.put(id, neighbours.get(id).ids()));
+        // A failed write leaves the table behind memory until the next rebuild catches it up.
+        similarRepo.upsertAll(lists, Instant.now());
+        if (!deleted.isEmpty()) {
+            similarRepo.deleteByListingIds(deleted);
+        }
+        log.debug("Updated similar listings for {} changed and {} removed listings ({} rows rewritten)",
+                changed.size(), deleted.size(), lists.size());
+    }
+
+    private int docFrequency(String term) {
+        Map<Long, Float> posting = postings.get(term);
+        return posting == null ? 0 : posting.size();
+    }
+
+    private void index(Long id, Vector vector) {
+        vectors.put(id, vector);
+        for (int i = 0; i < vector.terms().length; i++) {
+            postings.computeIfAbsent(vector.terms()[i], term -> new HashMap<>()).put(id, vector.weights()[i]);
+        }
+    }
+
+    // Drops a listing from the index and its own list; the lists that held it are added to stale.
+    private boolean unindex(Long id, Set<Long> stale) {
+        Vector vector = vectors.remove(id);
+        if (vector == null) {
+            return false;
+        }
+        for (String term : vector.terms()) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        setNeighbours(id, null);
+        Set<Long> holders = listedBy.remove(id);
+        if (holders != null) {
+            stale.addAll(holders);
+        }
+        return true;
+    }
+
+    // Sublinear term frequency times smoothed IDF, L2-normalised so a dot product is the cosine.
+    private static Vector vectorize(int fingerprint, Map<String, Double> counts, Function<String, Integer> docFrequency, int docs) {
+        String[] terms = new String[counts.size()];
+        float[] weights = new float[counts.size()];
+        double norm = 0;
+        int i = 0;
+        for (Map.Entry<String, Double> entry : counts.entrySet()) {
+            double idf = Math.log(1.0 + (double) docs / docFrequency.apply(entry.getKey()));
+            double weight = (1.0 + Math.log(entry.getValue())) * idf;
+            terms[i] = entry.getKey();
+            weights[i] = (float) weight;
+            norm += weight * weight;
+            i++;
+        }
+        norm = Math.sqrt(norm);
+        for (int j = 0; j < weights.length; j++) {
+            weights[j] = (float) (weights[j] / norm);
+        }
+        return new Vector(fingerprint, terms, weights);
+    }
+
+    // Cosine similarity to every listing sharing a term with this one, through the postings.
+    private Map<Long, Double> scores(Long id) {
+        Vector vector = vectors.get(id);
+        int maxDocs = vectors.size() < MIN_DOCS_FOR_CUTOFF
+                ? Integer.MAX_VALUE
+                : (int) (vectors.size() * MAX_DOC_SHARE);
+        Map<Long, Double> scores = new HashMap<>();
+        for (int i = 0; i < vector.terms().length; i++) {
+            Map<Long, Float> posting = postings.get(vector.terms()[i]);
+            if (posting.size() > maxDocs) {
+                continue;
+            }
+            float weight = vector.weights()[i];
+            posting.forEach((other, otherWeight) -> {
+                if (!other.equals(id)) {
+                    scores.merge(other, (double) (weight * otherWeight), Double::sum);
+                }
+            });
+        }
+        scores.values().removeIf(score -> score < MIN_SIMILARITY);
+        return scores;
+    }
+
+    // Top-K by score with a bounded min-heap: O(n log K).
+    private Neighbours top(Map<Long, Double> scores) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < topK) {
+                heap.add(entry);
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        long[] ids = new long[heap.size()];
+        float[] values = new float[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            Map.Entry<Long, Double> entry = heap.poll();
+            ids[i] = entry.getKey();
+            values[i] = entry.getValue().floatValue();
+        }
+        return new Neighbours(ids, values);
+    }
+
+    // Replaces a listing's list (null removes it) and keeps listedBy in step.
+    private void setNeighbours(Long id, Neighbours list) {
+        Neighbours previous = list == null ? neighbours.remove(id) : neighbours.put(id, list);
+        if (previous != null) {
+            for (long other : previous.ids()) {
+                Set<Long> holders = listedBy.get(other);
+                if (holders != null) {
+                    holders.remove(id);
+                }
+            }
+        }
+        if (list != null) {
+            for (long other : list.ids()) {
+                listedBy.computeIfAbsent(other, k -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    private record Text(String title, String description, String category) {
+
+        int fingerprint() {
+            return Objects.hash(title, description, category);
+        }
+
+        Map<String, Double> termCounts() {
+            Map<String, Double> counts = new HashMap<>();
+            addTerms(counts, title, TITLE_WEIGHT);
+            addTerms(counts, category, CATEGORY_WEIGHT);
+            addTerms(counts, description, DESCRIPTION_WEIGHT);
+            return counts;
+        }
+
+        // Single characters and bare numbers ("2", "143") match too much to help.
+        private static void addTerms(Map<String, Double> counts, String text, double weight) {
+            if (text == null) {
+                return;
+            }
+            for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+                if (token.length() > 1 && !DIGITS.matcher(token).matches()) {
+                    counts.merge(token, weight, Double::sum);
+                }
+            }
+        }
+    }
+
+    private record Vector(int fingerprint, String[] terms, float[] weights) {
+    }
+
+    // Parallel arrays, most similar first.
+    private record Neighbours(long[] ids, float[] scores) {
+
+        // This list with the listing at the given score, or this same list if it doesn't make the top k.
+        Neighbours offer(long id, float score, int k) {
+            int existing = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    existing = i;
+                    break;
+                }
+            }
+            int size = existing >= 0 ? ids.length - 1 : ids.length;
+            if (existing < 0 && size >= k && score <= scores[size - 1]) {
+                return this;
+            }
+            long[] newIds = new long[Math.min(size + 1, k)];
+            float[] newScores = new float[newIds.length];
+            int j = 0;
+            boolean placed = false;
+            for (int i = 0; i < ids.length && j < newIds.length; i++) {
+                if (i == existing) {
+                    continue;
+                }
+                if (!placed && score > scores[i]) {
+                    newIds[j] = id;
+                    newScores[j++] = score;
+                    placed = true;
+                    if (j == newIds.length) {
+                        break;
+                    }
+                }
+                newIds[j] = ids[i];
+                newScores[j++] = scores[i];
+            }
+            if (!placed && j < newIds.length) {
+                newIds[j] = id;
+                newScores[j] = score;
+            }
+            return new Neighbours(newIds, newScores);
+        }
+    }
+}
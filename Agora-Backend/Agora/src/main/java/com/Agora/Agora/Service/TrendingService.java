@@ -0,0 +1,286 @@
+package com.Agora.Agora.Service;
+
+import com.Agora.Agora.Dto.Response.ListingCardDto;
+import com.Agora.Agora.Event.ListingActivityEvent;
+import com.Agora.Agora.Event.ListingChangedEvent;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.ListingTrendScore;
+import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Repository.ListingTrendScoreRepo;
+import com.Agora.Agora.Repository.ListingsRepo;
+import com.Agora.Agora.Repository.TrendingListingRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Trending listings, overall and per college, from recent buyer activity. Each activity adds its
+// weight to the listing's score, and scores halve every half-life, so a listing trends while people
+// keep interacting with it. Listings whose score decays below MIN_SCORE drop out, which keeps the
+// state to the listings with recent activity.
+//
+// Scores use forward decay: an activity at time t adds weight * e^(λ(t - landmark)). Time passing
+// scales every score by the same factor, so rankings never need re-decaying; only the landmark
+// moves now and then to keep the numbers small.
+//
+// Activity is buffered and applied every refresh interval, which also rebuilds each college's
+// top-K with a bounded heap; reads return the precomputed list. Scores are snapshotted to
+// listing_trend_scores and restored on startup.
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    // A view scores 1; the others signal more intent.
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double FAVORITE_WEIGHT = 5.0;
+    private static final double CHAT_WEIGHT = 8.0;
+    private static final double OFFER_WEIGHT = 12.0;
+
+    // Below this (a twentieth of a view) a listing stops being tracked.
+    private static final double MIN_SCORE = 0.05;
+    private static final long RENORMALIZE_AFTER_MILLIS = Duration.ofDays(1).toMillis();
+
+    private final ListingsRepo listingsRepo;
+    private final ListingTrendScoreRepo snapshotRepo;
+    private final BlockGraphCache blockGraphCache;
+    // λ, per millisecond.
+    private final double decayRate;
+    private final int topK;
+
+    // Activity since the last refresh, as raw weight per listing.
+    private final Map<Long, DoubleAdder> pending = new ConcurrentHashMap<>();
+    // Listings that stopped being AVAILABLE since the last refresh.
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this; only the refresh, snapshot and restore touch them.
+    private final Map<Long, Trend> trends = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    // Rebuilt by each refresh; reads never lock.
+    private volatile Ranking ranking = new Ranking(Map.of(), List.of());
+
+    public TrendingService(ListingsRepo listingsRepo,
+                           ListingTrendScoreRepo snapshotRepo,
+                           BlockGraphCache blockGraphCache,
+                           @Value("${application.listing.trending.half-life:PT6H}") Duration halfLife,
+                           @Value("${application.listing.trending.top-k:50}") int topK) {
+        this.listingsRepo = listingsRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.blockGraphCache = blockGraphCache;
+        this.decayRate = Math.log(2) / halfLife.toMillis();
+        this.topK = topK;
+    }
+
+    // The top listings overall, or at one college. Listings sold since the last refresh and
+    // sellers blocked in either direction are left out, so the list can come back short.
+    public List<ListingCardDto> getTrending(Long collegeId, int size, Long userId) {
+        Ranking current = ranking;
+        List<Long> ranked = collegeId == null
+                ? current.overall()
+                : current.byCollege().getOrDefault(collegeId, List.of());
+        List<Long> ids = ranked.subList(0, Math.min(Math.max(size, 0), ranked.size()));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Specification<Listings> spec = (root, query, cb) -> cb.and(
+                root.get("id").in(ids),
+                cb.equal(root.get("itemStatus"), ItemStatus.AVAILABLE));
+        if (userId != null && !blockGraphCache.get(userId).isEmpty()) {
+            spec = spec.and(ListingsRepo.notBlockedWith(userId));
+        }
+        Map<Long, ListingCardDto> cards = listingsRepo.findCards(spec, Sort.unsorted()).stream()
+                .collect(Collectors.toMap(ListingCardDto::id, Function.identity()));
+        return ids.stream().map(cards::get).filter(card -> card != null).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onActivity(ListingActivityEvent event) {
+        double weight = switch (event.getActivity()) {
+            case VIEW -> VIEW_WEIGHT;
+            case FAVORITE -> FAVORITE_WEIGHT;
+            case CHAT -> CHAT_WEIGHT;
+            case OFFER -> OFFER_WEIGHT;
+        };
+        pending.computeIfAbsent(event.getListingId(), id -> new DoubleAdder()).add(weight * event.getCount());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (!event.isAvailable()) {
+            removed.add(event.getListingId());
+        }
+    }
+
+    // Applies buffered activity and rebuilds the rankings. Activity is timed at the refresh, at
+    // most one interval late, which is noise next to the half-life.
+    @Scheduled(fixedDelayString = "${application.listing.trending.refresh-interval:PT10S}",
+            initialDelayString = "${application.listing.trending.refresh-interval:PT10S}")
+    public synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        Map<Long, Double> activity = new HashMap<>();
+        for (Long id : List.copyOf(pending.keySet())) {
+            DoubleAdder weight = pending.remove(id);
+            if (weight != null) {
+                activity.put(id, weight.sum());
+            }
+        }
+        for (Long id : List.copyOf(removed)) {
+            removed.remove(id);
+            trends.remove(id);
+            activity.remove(id);
+        }
+
+        // First activity for a listing: look up its college, and skip it unless it is AVAILABLE.
+        List<Long> unknown = activity.keySet().stream().filter(id -> !trends.containsKey(id)).toList();
+        Map<Long, Long> colleges = availableColleges(unknown);
+
+        double scale = Math.exp(decayRate * (now - landmarkMillis));
+        activity.forEach((id, weight) -> {
+            Trend trend = trends.get(id);
+            if (trend == null) {
+                if (!colleges.containsKey(id)) {
+                    return;
+                }
+                trend = new Trend(colleges.get(id));
+                trends.put(id, trend);
+            }
+            trend.score += weight * scale;
+        });
+
+        double threshold = MIN_SCORE * scale;
+        trends.values().removeIf(trend -> trend.score < threshold);
+        if (now - landmarkMillis > RENORMALIZE_AFTER_MILLIS) {
+            trends.values().forEach(trend -> trend.score /= scale);
+            landmarkMillis = now;
+        }
+
+        ranking = rank();
+    }
+
+    @Scheduled(fixedDelayString = "${application.listing.trending.snapshot-interval:PT5M}",
+            initialDelayString = "${application.listing.trending.snapshot-interval:PT5M}")
+    public synchronized void snapshot() {
+        long now = System.currentTimeMillis();
+        double scale = Math.exp(decayRate * (now - landmarkMillis));
+        Instant scoredAt = Instant.ofEpochMilli(now);
+        List<ListingTrendScore> scores = trends.entrySet().stream()
+                .map(e -> new ListingTrendScore(e.getKey(), e.getValue().collegeId, e.getValue().score / scale,
+                        scoredAt))
+                .toList();
+        snapshotRepo.replaceAll(scores);
+    }
+
+    // Snapshot scores decayed by the downtime, for listings that are still AVAILABLE.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        long now = System.currentTimeMillis();
+        double scale = Math.exp(decayRate * (now - landmarkMillis));
+        Map<Long, ListingTrendScore> saved = snapshotRepo.findAll().stream()
+                .collect(Collectors.toMap(ListingTrendScore::getListingId, Function.identity()));
+        Map<Long, Long> colleges = availableColleges(saved.keySet());
+
+        int restored = 0;
+        for (ListingTrendScore score : saved.values()) {
+            double decayed = score.getScore()
+                    * Math.exp(-decayRate * Math.max(0, now - score.getScoredAt().toEpochMilli()));
+            if (decayed < MIN_SCORE || !colleges.containsKey(score.getListingId())) {
+                continue;
+            }
+            trends.computeIfAbsent(score.getListingId(), id -> new Trend(colleges.get(id))).score += decayed * scale;
+            restored++;
+        }
+        ranking = rank();
+        log.info("Restored trending scores for {} of {} listings", restored, saved.size());
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        refresh();
+        snapshot();
+    }
+
+    private Map<Long, Long> availableColleges(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        // Values can be null: listings without a college only trend overall.
+        Map<Long, Long> colleges = new HashMap<>();
+        for (TrendingListingRow row : listingsRepo.findTrendingListings(ids, ItemStatus.AVAILABLE)) {
+            colleges.put(row.getId(), row.getCollegeId());
+        }
+        return colleges;
+    }
+
+    // Top-K per college and overall, one bounded min-heap each: O(n log K).
+    private Ranking rank() {
+        Comparator<Map.Entry<Long, Trend>> byScore = Comparator.comparingDouble(e -> e.getValue().score);
+        PriorityQueue<Map.Entry<Long, Trend>> overall = new PriorityQueue<>(byScore);
+        Map<Long, PriorityQueue<Map.Entry<Long, Trend>>> byCollege = new HashMap<>();
+        for (Map.Entry<Long, Trend> entry : trends.entrySet()) {
+            offer(overall, entry, byScore);
+            Long collegeId = entry.getValue().collegeId;
+            if (collegeId != null) {
+                offer(byCollege.computeIfAbsent(collegeId, id -> new PriorityQueue<>(byScore)), entry, byScore);
+            }
+        }
+
+        Map<Long, List<Long>> top = new HashMap<>();
+        byCollege.forEach((collegeId, heap) -> top.put(collegeId, bestFirst(heap)));
+        return new Ranking(top, bestFirst(overall));
+    }
+
+    private void offer(PriorityQueue<Map.Entry<Long, Trend>> heap, Map.Entry<Long, Trend> entry,
+                       Comparator<Map.Entry<Long, Trend>> byScore) {
+        if (heap.size() < topK) {
+            heap.add(entry);
+        } else if (byScore.compare(entry, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    private static List<Long> bestFirst(PriorityQueue<Map.Entry<Long, Trend>> heap) {
+        Long[] ids = new Long[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = heap.poll().getKey();
+        }
+        return List.of(ids);
+    }
+
+    private static final class Trend {
+        private final Long collegeId;
+        // Scaled to the landmark; see the class comment.
+        private double score;
+
+        Trend(Long collegeId) {
+            this.collegeId = collegeId;
+        }
+    }
+
+    private record Ranking(Map<Long, List<Long>> byCollege, List<Long> overall) {
+    }
+}
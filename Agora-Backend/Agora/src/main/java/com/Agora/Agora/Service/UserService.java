@@ -2,12 +2,14 @@ package com.Agora.Agora.Service;
 
 import com.Agora.Agora.Dto.Request.UserReqDto;
 import com.Agora.Agora.Dto.Response.UserResponseDto;
+import com.Agora.Agora.Event.ListingChangedEvent;
 import com.Agora.Agora.Mapper.DtoMapper;
 import com.Agora.Agora.Model.AgoraUser;
 import com.Agora.Agora.Model.College;
 import com.Agora.Agora.Model.Enums.UserRole;
 import com.Agora.Agora.Model.Enums.UserStatus;
 import com.Agora.Agora.Model.Enums.VerificationStatus;
+import com.Agora.Agora.Model.Listings;
 import com.Agora.Agora.Repository.CollegeRepo;
 import com.Agora.Agora.Repository.ListingsRepo;
 import com.Agora.Agora.Repository.UserRepo;
@@ -16,6 +18,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,10 +31,12 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepo userRepo;
+    private final ResourceVersions resourceVersions;
     private final CollegeRepo collegeRepo;
     private final PasswordEncoder passwordEncoder;
     private final DtoMapper dto;
     private final ListingsRepo listingsRepo;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     @Transactional
@@ -134,6 +139,7 @@ public class UserService {
         }
 
         AgoraUser savedUser = userRepo.save(currentUser);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
 
         UserResponseDto responseDto = dto.mapToUserResponseDto(savedUser);
         return responseDto;
@@ -155,6 +161,7 @@ public class UserService {
 
         currentUser.setProfileImage(imageUrl);
         userRepo.save(currentUser);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
 
         log.info("✅ Profile picture updated for userId={}: {}", currentUser.getId(), imageUrl);
 
@@ -184,7 +191,12 @@ public class UserService {
     public void deleteUserAccount() {
         AgoraUser user = getCurrentUser();
 
+        for (Listings listing : listingsRepo.findBySeller(user)) {
+            eventPublisher.publishEvent(ListingChangedEvent.of(ListingChangedEvent.Type.DELETED, listing));
+        }
         listingsRepo.deleteBySeller(user);
+        // Reviews of those listings are deleted with them.
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.REVIEWS);
 
         user.setFirstName("Deleted");
         user.setLastName("User");
@@ -196,5 +208,6 @@ public class UserService {
         }
 
         userRepo.save(user);
+        resourceVersions.bumpAfterCommit(ResourceVersions.Resource.USERS);
     }
 }
@@ -0,0 +1,131 @@
+-- Schema additions that Hibernate does not manage (ddl-auto=none).
+-- Every statement is idempotent so the script can be re-run on an existing database.
+
+-- Full-text search over listings.
+-- Title ranks above category, category above description.
+ALTER TABLE listings
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(category, '')), 'B') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_listings_search_vector ON listings USING GIN (search_vector);
+
+-- Keyset pagination for listing search: seek on (sort key, id) within AVAILABLE listings.
+CREATE INDEX IF NOT EXISTS idx_listings_status_post_date ON listings (item_status, post_date, id);
+CREATE INDEX IF NOT EXISTS idx_listings_status_price ON listings (item_status, price, id);
+
+-- Typo-tolerant search (pg_trgm): word similarity on listing titles and college names.
+-- The same indexes also serve LOWER(...) LIKE '%q%' substring searches.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_listings_title_trgm ON listings USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_college_name_trgm ON college USING GIN (lower(college_name) gin_trgm_ops);
+
+-- Per-college listing lookups (campus feed, geo search's college_id IN (...)).
+CREATE INDEX IF NOT EXISTS idx_listings_college_status ON listings (college_id, item_status);
+
+-- Listing card thumbnails and image loads look images up by listing: see idx_listing_images_listing_order.
+
+-- Block checks probe user_blocks from both ends: "did I block this seller" and "did this seller block me".
+CREATE INDEX IF NOT EXISTS idx_user_blocks_blocker_blocked ON user_blocks (blocker_id, blocked_id);
+CREATE INDEX IF NOT EXISTS idx_user_blocks_blocked_blocker ON user_blocks (blocked_id, blocker_id);
+
+-- Precomputed "For You" feeds: each user's top listing ids, best first. Rewritten by ForYouService.
+CREATE TABLE IF NOT EXISTS listing_recommendations (
+    user_id     BIGINT PRIMARY KEY,
+    listing_ids BIGINT[] NOT NULL,
+    computed_at TIMESTAMPTZ NOT NULL
+);
+
+-- Last change to each listing, for seller-profile ETags. Existing rows start at the migration time.
+ALTER TABLE listings ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- Seller profile pages: a seller's listings by status, newest first.
+CREATE INDEX IF NOT EXISTS idx_listings_seller_status_post_date ON listings (seller_id, item_status, post_date, id);
+
+-- Listing views, added in batches by ListingViewCounter. Not part of updated_at.
+ALTER TABLE listings ADD COLUMN IF NOT EXISTS view_count BIGINT NOT NULL DEFAULT 0;
+
+-- Trending scores, snapshotted by TrendingService so a restart picks up where it left off.
+CREATE TABLE IF NOT EXISTS listing_trend_scores (
+    listing_id BIGINT PRIMARY KEY,
+    college_id BIGINT,
+    score      DOUBLE PRECISION NOT NULL,
+    scored_at  TIMESTAMPTZ NOT NULL
+);
+
+-- Smaller renditions made by ImagePipeline; null for images uploaded before it existed.
+ALTER TABLE listing_images ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(255);
+ALTER TABLE listing_images ADD COLUMN IF NOT EXISTS feed_url VARCHAR(255);
+
+-- Outbox of stored images to delete, written in the transaction that removes them from a listing
+-- and drained by ImageDeletionOutbox. A claimed row's next_attempt_at is pushed out as a lease.
+CREATE TABLE IF NOT EXISTS image_deletions (
+    id              BIGSERIAL PRIMARY KEY,
+    public_id       VARCHAR(255) NOT NULL,
+    attempts        INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_image_deletions_next_attempt ON image_deletions (next_attempt_at);
+
+-- "More like this": each AVAILABLE listing's most similar listings, best first (see SimilarListingsService).
+CREATE TABLE IF NOT EXISTS listing_similar (
+    listing_id  BIGINT PRIMARY KEY,
+    similar_ids BIGINT[] NOT NULL,
+    computed_at TIMESTAMPTZ NOT NULL
+);
+
+-- Saved searches; new listings are matched against them in memory (see SavedSearchService).
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id             BIGSERIAL PRIMARY KEY,
+    user_id        BIGINT NOT NULL REFERENCES agora_users (id) ON DELETE CASCADE,
+    name           VARCHAR(100) NOT NULL,
+    keyword        VARCHAR(200),
+    category       VARCHAR(100),
+    college_id     BIGINT,
+    min_price      NUMERIC(10, 2),
+    max_price      NUMERIC(10, 2),
+    item_condition VARCHAR(50),
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_saved_searches_user ON saved_searches (user_id);
+
+-- Favoriters of a listing, for price-drop alerts.
+CREATE INDEX IF NOT EXISTS idx_favorite_listing_user ON favorite (listing_id, user_id);
+
+-- Every price change of a listing, oldest first per listing.
+CREATE TABLE IF NOT EXISTS listing_price_history (
+    id         BIGSERIAL PRIMARY KEY,
+    listing_id BIGINT NOT NULL REFERENCES listings (id) ON DELETE CASCADE,
+    old_price  NUMERIC(10, 2) NOT NULL,
+    new_price  NUMERIC(10, 2) NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_listing_price_history_listing ON listing_price_history (listing_id, changed_at);
+
+-- Listing images keep the order they were added in; the first is the card thumbnail. Existing rows
+-- are numbered in physical order, the order they were shown in until now.
+ALTER TABLE listing_images ADD COLUMN IF NOT EXISTS image_order INTEGER;
+UPDATE listing_images i SET image_order = n.rn - 1
+FROM (SELECT ctid, row_number() OVER (PARTITION BY listing_id ORDER BY ctid) AS rn
+      FROM listing_images
+      WHERE listing_id IN (SELECT listing_id FROM listing_images WHERE image_order IS NULL)) n
+WHERE i.ctid = n.ctid;
+ALTER TABLE listing_images ALTER COLUMN image_order SET NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_listing_images_listing_order ON listing_images (listing_id, image_order);
+DROP INDEX IF EXISTS idx_listing_images_listing;
+
+-- Listing images ImagePipeline finished storing, with who uploaded them. A listing may only take
+-- public ids its own seller uploaded (see ListingService), so nobody can attach, and later delete,
+-- someone else's images.
+CREATE TABLE IF NOT EXISTS image_uploads (
+    public_id  VARCHAR(255) PRIMARY KEY,
+    user_id    BIGINT NOT NULL REFERENCES agora_users (id) ON DELETE CASCADE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+-- Whether a public id is still on some listing, checked before it is attached or deleted.
+CREATE INDEX IF NOT EXISTS idx_listing_images_public_id ON listing_images (public_id);
@@ -0,0 +1,177 @@
+package com.Agora.Agora;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Agora.Agora.Dto.Request.ListingFilterReqDto;
+import com.Agora.Agora.Model.AgoraUser;
+import com.Agora.Agora.Model.College;
+import com.Agora.Agora.Model.Favorite;
+import com.Agora.Agora.Model.ListingImage;
+import com.Agora.Agora.Model.Listings;
+import com.Agora.Agora.Model.Enums.ItemCondition;
+import com.Agora.Agora.Model.Enums.ItemStatus;
+import com.Agora.Agora.Model.Enums.UserRole;
+import com.Agora.Agora.Model.Enums.UserStatus;
+import com.Agora.Agora.Model.Enums.VerificationStatus;
+import com.Agora.Agora.Service.FavoriteService;
+import com.Agora.Agora.Service.ListingService;
+
+import jakarta.persistence.EntityManager;
+
+// Listing feeds must not cost one SELECT per listing (or per seller/college/image set):
+// a page of 50 should take as many statements as a page of 10.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class ListingQueryCountTests {
+
+    private static final int LISTINGS = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ListingService listingService;
+    @Autowired
+    private FavoriteService favoriteService;
+
+    private Statistics statistics;
+    private AgoraUser viewer;
+    private AgoraUser fewFavorites;
+    private AgoraUser seller;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // Every listing has its own seller and college, so any per-row lazy load shows up in the count.
+        viewer = user("viewer", null);
+        fewFavorites = user("few", null);
+        List<Listings> listings = new ArrayList<>();
+        Instant future = Instant.now().plus(1, ChronoUnit.DAYS);
+        for (int i = 0; i < LISTINGS; i++) {
+            College college = College.builder().collegeName("Count College " + i).build();
+            entityManager.persist(college);
+            AgoraUser owner = user("seller" + i, college);
+            Listings listing = Listings.builder()
+                    .title("Count listing " + i)
+                    .description("Statement count fixture")
+                    .price(BigDecimal.valueOf(100 + i))
+                    .category("count-test")
+                    .postDate(future.plusSeconds(i))
+                    .itemCondition(ItemCondition.values()[i % ItemCondition.values().length])
+                    .itemStatus(ItemStatus.AVAILABLE)
+                    .seller(owner)
+                    .college(college)
+                    .images(new ArrayList<>(List.of(
+                            new ListingImage("https://img/" + i + "/a", "a" + i),
+                            new ListingImage("https://img/" + i + "/b", "b" + i))))
+                    .build();
+            entityManager.persist(listing);
+            listings.add(listing);
+            entityManager.persist(Favorite.builder().user(viewer).listing(listing).build());
+            if (i < 10) {
+                entityManager.persist(Favorite.builder().user(fewFavorites).listing(listing).build());
+            }
+        }
+        seller = listings.get(0).getSeller();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void feedPageIsConstantInPageSize() {
+        assertSameStatementCount(
+                () -> listingService.getAllListings(0, 10, "postDate", "desc", null).getContent(),
+                () -> listingService.getAllListings(0, 50, "postDate", "desc", null).getContent());
+    }
+
+    @Test
+    void filteredFeedPageIsConstantInPageSize() {
+        assertSameStatementCount(
+                () -> listingService.getAllListings(0, 10, "postDate", "desc", viewer.getId()).getContent(),
+                () -> listingService.getAllListings(0, 50, "postDate", "desc", viewer.getId()).getContent());
+    }
+
+    @Test
+    void searchPageIsConstantInPageSize() {
+        assertSameStatementCount(
+                () -> listingService.searchListingsPage(search(10), viewer.getId()).getItems(),
+                () -> listingService.searchListingsPage(search(50), viewer.getId()).getItems());
+    }
+
+    @Test
+    void favoritesAreConstantInFavoriteCount() {
+        assertSameStatementCount(
+                () -> favoriteService.getUserFavoritesById(fewFavorites.getId()),
+                () -> favoriteService.getUserFavoritesById(viewer.getId()));
+    }
+
+    @Test
+    void sellerListingsAreOneQuery() {
+        // Seller, college and thumbnail come back in the same row as the listing.
+        statistics.clear();
+        assertEquals(1, listingService.getListingByUserId(seller.getId()).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listingDetailTakesOneRoundOfQueries() {
+        // The full listing: seller and college with the listing, then its images.
+        Long listingId = listingService.getListingByUserId(seller.getId()).get(0).id();
+        entityManager.clear();
+        statistics.clear();
+        assertEquals(2, listingService.getListingById(listingId).getImageUrl().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void assertSameStatementCount(Supplier<List<?>> small, Supplier<List<?>> large) {
+        // Warm the per-user block cache so both measurements see it in the same state.
+        small.get();
+        long smallCount = countStatements(small, 10);
+        long largeCount = countStatements(large, LISTINGS);
+        assertEquals(smallCount, largeCount, "statements for " + LISTINGS + " rows vs 10 rows");
+    }
+
+    private long countStatements(Supplier<List<?>> call, int expectedRows) {
+        entityManager.clear();
+        statistics.clear();
+        assertEquals(expectedRows, call.get().size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ListingFilterReqDto search(int size) {
+        ListingFilterReqDto req = new ListingFilterReqDto();
+        req.setCategory("count-test");
+        req.setSize(size);
+        return req;
+    }
+
+    private AgoraUser user(String name, College college) {
+        AgoraUser user = AgoraUser.builder()
+                .userName("count-" + name)
+                .userEmail("count-" + name + "@example.com")
+                .role(UserRole.STUDENT)
+                .userStatus(UserStatus.ACTIVE)
+                .verificationStatus(VerificationStatus.VERIFIED)
+                .college(college)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,100 @@
+package com.Agora.Agora;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.Agora.Agora.Repository.ListingsRepo;
+import com.Agora.Agora.Service.ListingViewCounter;
+
+// Every recorded view must reach listings.view_count exactly once, however record() and flush() interleave.
+class ListingViewCounterTests {
+
+    private final Map<Long, Long> written = new ConcurrentHashMap<>();
+    private ListingViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        ListingsRepo listingsRepo = mock(ListingsRepo.class);
+        doAnswer(invocation -> {
+            Map<Long, Long> deltas = invocation.getArgument(0);
+            deltas.forEach((id, count) -> written.merge(id, count, Long::sum));
+            return null;
+        }).when(listingsRepo).addViewCounts(anyMap());
+        counter = new ListingViewCounter(listingsRepo, mock(ApplicationEventPublisher.class), 50_000);
+    }
+
+    @Test
+    void viewsRecordedDuringFlushesAreCountedOnce() throws Exception {
+        int threads = 8;
+        int viewsPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                recorders.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        // New ids keep arriving, so some land in a buffer just swapped out.
+                        counter.record((long) (i % 500));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            Thread flusher = new Thread(() -> {
+                while (recording.get()) {
+                    counter.flush();
+                }
+            });
+            flusher.start();
+            for (Future<?> recorder : recorders) {
+                recorder.get(30, TimeUnit.SECONDS);
+            }
+            recording.set(false);
+            flusher.join();
+        } finally {
+            pool.shutdownNow();
+        }
+        counter.flushOnShutdown();
+
+        assertEquals((long) threads * viewsPerThread, written.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(500, written.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keyAddedToSwappedBufferAfterItWasReadIsCountedNextFlush() {
+        counter.record(1L);
+        // A record() that read the buffer before the swap and inserts after the flush iterated it.
+        Map<Long, LongAdder> stale = (Map<Long, LongAdder>) ReflectionTestUtils.getField(counter, "buffer");
+        counter.flush();
+        stale.computeIfAbsent(2L, id -> new LongAdder()).add(3);
+
+        counter.flush();
+        counter.record(1L);
+        counter.flush();
+
+        assertEquals(Map.of(1L, 2L, 2L, 3L), written);
+    }
+}
@@ -138,7 +138,7 @@ export default function App() {
                     navigationRef.current.navigate('ProductDetailsScreen', {
                         listingId: data.listingId
                     });
-                } else if (data.type === 'REVIEW' && data.listingId) {
+                } else if ((data.type === 'REVIEW' || data.type === 'SAVED_SEARCH' || data.type === 'PRICE_DROP') && data.listingId) {
                     navigationRef.current.navigate('ProductDetailsScreen', {
                         listingId: data.listingId
                     });
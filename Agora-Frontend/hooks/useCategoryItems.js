@@ -19,8 +19,8 @@ export const useCategoryItems = (category) => {
                     ...item,
                     name: item.title || item.name || 'Untitled',
                     price: item.price ? `₹ ${item.price}` : 'N/A',
-                    images: item.imageUrl && item.imageUrl.length > 0
-                        ? item.imageUrl.map(url => ({ uri: url }))
+                    images: item.thumbnailUrl
+                        ? [{ uri: item.thumbnailUrl }]
                         : [require('../assets/no-image.jpg')],
                     seller: item.seller || {},
                     college: item.college || {},
@@ -17,8 +17,8 @@ export const useFavorites = () => {
                     name: item.title || item.name || 'Untitled',
                     price: item.price ? `₹ ${item.price}` : 'N/A',
                     images:
-                        item.imageUrl && item.imageUrl.length > 0
-                            ? item.imageUrl.map(url => ({ uri: url }))
+                        item.thumbnailUrl
+                            ? [{ uri: item.thumbnailUrl }]
                             : [require('../assets/no-image.jpg')],
                 }));
 
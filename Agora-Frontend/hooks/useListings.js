@@ -18,8 +18,8 @@ export const useListings = () => {
                 ...item,
                 name: item.title || item.name || 'Unnamed Item',
                 price: item.price ? `₹ ${item.price}` : 'N/A',
-                images: item.imageUrl && item.imageUrl.length > 0
-                    ? item.imageUrl.map(url => ({uri: url}))
+                images: item.thumbnailUrl
+                    ? [{uri: item.thumbnailUrl}]
                     : [require('../assets/no-image.jpg')],
             }));
 
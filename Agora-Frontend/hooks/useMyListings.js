@@ -15,8 +15,8 @@ export const useMyListings = () => {
                     ...item,
                     name: item.title || item.name || 'Untitled',
                     price: item.price ? `₹ ${item.price}` : 'N/A',
-                    images: item.imageUrl && item.imageUrl.length > 0
-                        ? item.imageUrl.map(url => ({ uri: url }))
+                    images: item.thumbnailUrl
+                        ? [{ uri: item.thumbnailUrl }]
                         : [require('../assets/no-image.jpg')],
                 }));
 
@@ -1,34 +1,43 @@
-import {useEffect, useState} from 'react';
+import {useCallback, useEffect, useState} from 'react';
 import {apiGet} from '../services/api';
 
-export const useSellerProfile = (sellerId) => {
+const PAGE_SIZE = 20;
+
+const formatListing = item => ({
+    ...item,
+    images: item.thumbnailUrl
+        ? [{uri: item.thumbnailUrl}]
+        : [require('../assets/defaultProfile.png')],
+    name: item.title || 'Untitled',
+    price: item.price ? `₹ ${item.price}` : 'N/A',
+});
+
+// status: 'AVAILABLE', 'SOLD', or undefined for every visible listing.
+export const useSellerProfile = (sellerId, status) => {
     const [seller, setSeller] = useState(null);
+    const [header, setHeader] = useState(null);
     const [listings, setListings] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
+
+    const fetchPage = useCallback(async (cursor) => {
+        const params = {size: PAGE_SIZE};
+        if (status) params.status = status;
+        if (cursor) params.cursor = cursor;
+        return apiGet(`/profile/seller/${sellerId}`, params);
+    }, [sellerId, status]);
 
     useEffect(() => {
         if (!sellerId) return;
 
         const loadSellerData = async () => {
             try {
-                setLoading(true);
-                const response = await apiGet(`/profile/seller/${sellerId}`);
-                //  console.log("RESPONSE - >", response);
-
-                const sellerData = response?.seller || response?.data?.seller || null;
-                const listingsData = response?.listing || response?.data?.listing || [];
-
-                const formattedListings = listingsData.map(item => ({
-                    ...item,
-                    images: item.imageUrl && item.imageUrl.length > 0
-                        ? item.imageUrl.map(url => ({uri: url}))
-                        : [require('../assets/defaultProfile.png')],
-                    name: item.title || 'Untitled',
-                    price: item.price ? `₹ ${item.price}` : 'N/A',
-                }));
-
-                setSeller(sellerData);
-                setListings(formattedListings);
+                const response = await fetchPage(null);
+                setHeader(response?.header || null);
+                setSeller(response?.header?.seller || null);
+                setListings((response?.listings || []).map(formatListing));
+                setNextCursor(response?.nextCursor || null);
             } catch (err) {
                 console.error("Failed to load seller profile:", err);
             } finally {
@@ -37,7 +46,21 @@ export const useSellerProfile = (sellerId) => {
         };
 
         loadSellerData();
-    }, [sellerId]);
+    }, [sellerId, fetchPage]);
+
+    const loadMore = async () => {
+        if (!nextCursor || loadingMore) return;
+        try {
+            setLoadingMore(true);
+            const response = await fetchPage(nextCursor);
+            setListings(prev => [...prev, ...(response?.listings || []).map(formatListing)]);
+            setNextCursor(response?.nextCursor || null);
+        } catch (err) {
+            console.error("Failed to load more listings:", err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
 
-    return {seller, listings, loading};
-};
\ No newline at end of file
+    return {seller, header, listings, loading, hasMore: !!nextCursor, loadingMore, loadMore};
+};
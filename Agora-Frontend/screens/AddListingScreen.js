@@ -20,7 +20,7 @@ import * as FileSystem from 'expo-file-system';
 import {COLORS} from '../utils/colors';
 import {useUserStore} from '../stores/userStore';
 import {apiPost} from '../services/api';
-import {uploadToCloudinary} from '../utils/upload';
+import {uploadListingImage} from '../utils/upload';
 
 import ModalComponent from '../components/Modal';
 import ToastMessage from '../components/ToastMessage';
@@ -131,14 +131,14 @@ const AddListingScreen = ({navigation}) => {
         const roleBefore = currentUser?.role;
         setLoading(true);
         try {
-            const cloudinaryUrls = await Promise.all(listing.images.map(uri => uploadToCloudinary(uri)));
+            const uploadedImages = await Promise.all(listing.images.map(uri => uploadListingImage(uri)));
             const response = await apiPost('/listing/create', {
                 title: listing.title,
                 description: listing.description,
                 price: Number(listing.price),
                 category: listing.category,
                 itemCondition: listing.condition.toUpperCase(),
-                images: cloudinaryUrls,
+                images: uploadedImages,
             });
             if (response) {
                 await fetchUser();
@@ -32,7 +32,6 @@ const AllListingsScreen = ({ navigation }) => {
     const [loadingMore, setLoadingMore] = useState(false);
 
     const [currentPage, setCurrentPage] = useState(0);
-    const [totalPages, setTotalPages] = useState(0);
     const [hasMore, setHasMore] = useState(true);
 
     const [filterModalVisible, setFilterModalVisible] = useState(false);
@@ -89,9 +88,8 @@ const AllListingsScreen = ({ navigation }) => {
         if (!hasMore && !isRefresh && page > 0) return;
         try {
             if (page === 0) setLoading(true); else setLoadingMore(true);
-            const response = await apiGet('/listing/all', { page, size: PAGE_SIZE });
+            const response = await apiGet('/listing/all', { page, size: PAGE_SIZE, slice: true });
             const rawItems = response?.content || [];
-            const totalPagesFromApi = response?.totalPages || 0;
 
             const formattedItems = rawItems.map(item => ({
                 ...item,
@@ -99,9 +97,7 @@ const AllListingsScreen = ({ navigation }) => {
                 name: item.title || item.name || 'Unnamed Item',
                 price: `₹ ${item.price || 0}`,
                 actualPrice: Number(item.price) || 0,
-                images: item.imageUrl && item.imageUrl.length > 0
-                    ? item.imageUrl.map(url => ({ uri: url }))
-                    : [],
+                images: item.thumbnailUrl ? [{ uri: item.thumbnailUrl }] : [],
             }));
 
             if (isRefresh || page === 0) {
@@ -112,8 +108,7 @@ const AllListingsScreen = ({ navigation }) => {
                 setFilteredItems(prev => [...prev, ...formattedItems]);
             }
             setCurrentPage(page);
-            setTotalPages(totalPagesFromApi);
-            setHasMore(page + 1 < totalPagesFromApi);
+            setHasMore(Boolean(response?.hasNext));
         } catch (error) {
             console.error('Error:', error);
         } finally {
@@ -25,8 +25,8 @@ const CategoryScreen = ({ route, navigation }) => {
 
     const mappedItems = items.map(i => ({
         ...i,
-        images: i.imageUrl && i.imageUrl.length > 0
-            ? i.imageUrl.map(url => ({ uri: url }))
+        images: i.thumbnailUrl
+            ? [{ uri: i.thumbnailUrl }]
             : [require('../assets/no-image.jpg')],
         name: i.title || 'Untitled',
     }));
@@ -1,4 +1,4 @@
-import React, {useState} from 'react';
+import React, {useEffect, useState} from 'react';
 import {
     View, Text, SafeAreaView, StyleSheet, TouchableOpacity,
     TextInput, Image, ScrollView, StatusBar,
@@ -6,8 +6,8 @@ import {
 import {Ionicons} from '@expo/vector-icons';
 import * as ImagePicker from 'expo-image-picker';
 import {COLORS} from '../utils/colors';
-import {apiPut} from '../services/api';
-import {uploadToCloudinary} from '../utils/upload';
+import {apiGet, apiPut} from '../services/api';
+import {uploadListingImage} from '../utils/upload';
 
 import ModalComponent from '../components/Modal';
 import Button from '../components/Button';
@@ -65,10 +65,22 @@ const EditListingScreen = ({navigation, route}) => {
         category: existingListing.category?.toLowerCase() || '',
         condition: existingListing.condition?.toUpperCase() || existingListing.itemCondition?.toUpperCase() || '',
         itemStatus: existingListing.itemStatus || 'AVAILABLE',
-        images: existingListing.images?.map(img => typeof img === 'string' ? img : img.uri) ||
-            existingListing.imageUrl?.map(img => typeof img === 'string' ? img : img.uri) || [],
+        images: (existingListing.images?.map(img => typeof img === 'string' ? img : img?.uri) ||
+            existingListing.imageUrl?.map(img => typeof img === 'string' ? img : img?.uri) || [])
+            .filter(uri => typeof uri === 'string'),
     });
 
+    // My Listings passes a card (no description, thumbnail only); the form needs the full listing.
+    useEffect(() => {
+        apiGet(`/listing/${existingListing.id}`)
+            .then(details => setListing(prev => ({
+                ...prev,
+                description: details.description || prev.description,
+                images: details.imageUrl?.length ? details.imageUrl : prev.images,
+            })))
+            .catch(err => console.error('Failed to load listing details:', err));
+    }, [existingListing.id]);
+
     const [modalVisible, setModalVisible] = useState(false);
     const [loading, setLoading] = useState(false);
     const [errors, setErrors] = useState({});
@@ -113,7 +125,7 @@ const EditListingScreen = ({navigation, route}) => {
         try {
             const newImages      = listing.images.filter(img => !img.startsWith('http'));
             const existingImages = listing.images.filter(img => img.startsWith('http'));
-            const uploaded       = await Promise.all(newImages.map(uri => uploadToCloudinary(uri)));
+            const uploaded       = await Promise.all(newImages.map(uri => uploadListingImage(uri)));
 
             await apiPut(`/listing/update/${existingListing.id}`, {
                 title:         listing.title,
@@ -124,7 +136,7 @@ const EditListingScreen = ({navigation, route}) => {
                 itemStatus:    listing.itemStatus,
                 images: [
                     ...existingImages.map(url => ({url, publicId: null})),
-                    ...uploaded.map(img => ({url: img.url, publicId: img.publicId})),
+                    ...uploaded,
                 ],
             });
             setModalVisible(true);
@@ -97,7 +97,7 @@ const ExploreScreen = ({ navigation, scrollY }) => {
 
     const collegeItems = useMemo(() => {
         if (!currentUser) return [];
-        return items.filter(item => item.seller?.collegeId === currentUser.collegeId);
+        return items.filter(item => item.college?.id === currentUser.collegeId);
     }, [currentUser, items]);
 
     const categoryItems = [{
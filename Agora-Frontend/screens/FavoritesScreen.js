@@ -44,8 +44,8 @@ const FavoritesScreen = ({ navigation }) => {
                 name: item.title || item.name || 'Untitled',
                 price: item.price ? `₹ ${item.price}` : 'N/A',
                 images:
-                    item.imageUrl && item.imageUrl.length > 0
-                        ? item.imageUrl.map(url => ({ uri: url }))
+                    item.thumbnailUrl
+                        ? [{ uri: item.thumbnailUrl }]
                         : [require('../assets/no-image.jpg')],
             }));
 
@@ -31,6 +31,7 @@ const getNotificationMeta = (type) => {
         listingapproved: { icon: 'shield-checkmark', color: '#10B981' },
         listingrejected: { icon: 'close-circle', color: COLORS.error },
         newlisting: { icon: 'add-circle', color: COLORS.primary },
+        savedsearch: { icon: 'search', color: COLORS.primary },
         message: { icon: 'chatbubble-ellipses', color: COLORS.primary },
         offer: { icon: 'pricetag', color: '#8B5CF6' },
         pricedrop: { icon: 'trending-down', color: '#F59E0B' },
@@ -153,6 +154,8 @@ export default function NotificationScreen() {
         switch (notification.type) {
             case 'LISTING_LIKED':
             case 'REVIEW':
+            case 'SAVED_SEARCH':
+            case 'PRICE_DROP':
                 if (notification.listingsId) {
                     navigation.navigate('ProductDetailsScreen', { listingId: notification.listingsId });
                 }
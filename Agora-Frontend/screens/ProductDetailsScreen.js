@@ -26,9 +26,9 @@ import SafetyTips from '../components/SafetyTips';
 import BottomSheetMenu from '../components/BottomSheetMenu';
 import ToastMessage from '../components/ToastMessage';
 
+import { apiGet } from '../services/api';
 import { shareItem } from '../services/share';
 import { useUserStore } from '../stores/userStore';
-import { useListings } from '../hooks/useListings';
 import { COLORS } from '../utils/colors';
 import { formatPrice } from '../utils/formatters';
 
@@ -38,8 +38,9 @@ export default function ProductDetailsScreen() {
     const insets = useSafeAreaInsets();
     const navigation = useNavigation();
     const route = useRoute();
-    const product = route.params?.item;
-    const { items: allListings } = useListings();
+    const card = route.params?.item;
+    const [details, setDetails] = useState(null);
+    const [relatedListings, setRelatedListings] = useState([]);
     const { currentUser, loading, isGuest } = useUserStore();
 
     const [toast, setToast] = useState({ visible: false, type: '', title: '', message: '' });
@@ -53,6 +54,41 @@ export default function ProductDetailsScreen() {
 
     const showToast = (type, title, message) => setToast({ visible: true, type, title, message });
 
+    // Feeds only send a card (no description, one image); fetch the full listing.
+    useEffect(() => {
+        if (!card?.id) return;
+        setDetails(null);
+        apiGet(`/listing/${card.id}`)
+            .then(setDetails)
+            .catch(err => console.error('Failed to load listing details:', err));
+    }, [card?.id]);
+
+    useEffect(() => {
+        if (!card?.id) return;
+        setRelatedListings([]);
+        apiGet(`/listing/${card.id}/similar`, { size: 5 })
+            .then(data => setRelatedListings((data || []).map(item => ({
+                ...item,
+                name: item.title || 'Unnamed Item',
+                price: item.price ? `₹ ${item.price}` : 'N/A',
+                images: item.thumbnailUrl
+                    ? [{ uri: item.thumbnailUrl }]
+                    : [require('../assets/no-image.jpg')],
+            }))))
+            .catch(err => console.error('Failed to load similar listings:', err));
+    }, [card?.id]);
+
+    const product = details
+        ? {
+            ...card,
+            description: details.description,
+            seller: details.seller,
+            college: details.college,
+            imageUrl: details.imageUrl,
+            images: details.imageUrl?.length ? details.imageUrl.map(url => ({ uri: url })) : card.images,
+        }
+        : card;
+
     useEffect(() => {
         scrollViewRef.current?.scrollTo({ y: 0, animated: false });
     }, [product?.id]);
@@ -78,10 +114,6 @@ export default function ProductDetailsScreen() {
     const productDesc = product?.description || 'No description provided.';
     const isOwnListing = currentUser?.id === product?.seller?.id;
 
-    const relatedListings = allListings.filter(
-        l => l.id !== product.id && l.category === product.category
-    );
-
     const openChatRoom = async () => {
         if (loading || chatLoading) return;
         if (isGuest || !currentUser?.id) {
@@ -269,6 +301,9 @@ export default function ProductDetailsScreen() {
                                 : 'N/A'}
                         />
                         <ProductDetailItem label="Availability" value={product.itemStatus} type="availability" />
+                        {product.viewCount != null && (
+                            <ProductDetailItem label="Views" value={String(product.viewCount)} />
+                        )}
                     </View>
 
                     <View style={styles.divider} />
@@ -288,7 +323,7 @@ export default function ProductDetailsScreen() {
                             showsHorizontalScrollIndicator={false}
                             contentContainerStyle={{ gap: 8 }}
                         >
-                            {relatedListings.slice(0, 5).map(item => (
+                            {relatedListings.map(item => (
                                 <Card
                                     key={item.id}
                                     item={item}
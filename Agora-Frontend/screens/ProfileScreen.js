@@ -32,6 +32,7 @@ import { useUserStore } from '../stores/userStore';
 import { COLORS } from '../utils/colors';
 
 const FILTER_TYPES = ['all', 'available', 'sold'];
+const FILTER_STATUS = { available: 'AVAILABLE', sold: 'SOLD' };
 
 const getRatingStyle = (rating) => {
     if (rating >= 4.5) return { color: COLORS.success, bg: `${COLORS.success}12` };
@@ -50,14 +51,15 @@ const getBannerGradient = (rating) => {
 const ProfileScreen = ({ navigation, route }) => {
     const { sellerId } = route.params;
     const { currentUser, isGuest } = useUserStore();
-    const { seller, listings, loading } = useSellerProfile(sellerId);
+    const [filter, setFilter] = useState('all');
+    const { seller, header, listings, loading, hasMore, loadingMore, loadMore } =
+        useSellerProfile(sellerId, FILTER_STATUS[filter]);
     const { stats } = useSellerStats(sellerId);
     const { rating } = useAverageRating('seller', sellerId);
     const { blockUser } = useModeration();
 
     const [isFollowing, setIsFollowing] = useState(false);
     const [followersCount, setFollowersCount] = useState(0);
-    const [filter, setFilter] = useState('all');
     const [showMenu, setShowMenu] = useState(false);
     const [showRatingModal, setShowRatingModal] = useState(false);
     const [blockModalVisible, setBlockModalVisible] = useState(false);
@@ -116,11 +118,11 @@ const ProfileScreen = ({ navigation, route }) => {
     const totalReviews = stats?.totalReviews || 0;
     const avatar = seller?.profileImage || 'https://i.pravatar.cc/100';
 
-    const filteredListings = filter === 'all' ? listings : listings?.filter(item => {
-        if (filter === 'available') return item.itemStatus === 'AVAILABLE';
-        if (filter === 'sold') return item.itemStatus === 'SOLD';
-        return true;
-    });
+    // The server filters by status; the header has the totals.
+    const filteredListings = listings;
+    const filterCount = filter === 'available' ? header?.availableCount
+        : filter === 'sold' ? header?.soldCount
+        : header?.listingCount;
 
     if (loading) return <ProfileSkeleton />;
 
@@ -174,7 +176,7 @@ const ProfileScreen = ({ navigation, route }) => {
                 {/* Clean Stats Row (No Card/Background) */}
                 <View style={styles.statsRow}>
                     <View style={styles.statItem}>
-                        <Text style={styles.statNumber}>{listings?.length || 0}</Text>
+                        <Text style={styles.statNumber}>{header?.listingCount || 0}</Text>
                         <Text style={styles.statLabel}>Listings</Text>
                     </View>
 
@@ -219,7 +221,7 @@ const ProfileScreen = ({ navigation, route }) => {
                     <View style={styles.listingsHeader}>
                         <Text style={styles.sectionTitle}>Seller's Feed</Text>
                         <View style={styles.countPill}>
-                            <Text style={styles.countPillText}>{filteredListings?.length || 0} items</Text>
+                            <Text style={styles.countPillText}>{filterCount || 0} items</Text>
                         </View>
                     </View>
 
@@ -230,15 +232,28 @@ const ProfileScreen = ({ navigation, route }) => {
                     />
 
                     {filteredListings?.length > 0 ? (
-                        <View style={styles.grid}>
-                            {filteredListings.map(item => (
-                                <Card
-                                    key={item.id}
-                                    item={item}
-                                    onPress={() => navigation.navigate('ProductDetailsScreen', { item })}
-                                />
-                            ))}
-                        </View>
+                        <>
+                            <View style={styles.grid}>
+                                {filteredListings.map(item => (
+                                    <Card
+                                        key={item.id}
+                                        item={item}
+                                        onPress={() => navigation.navigate('ProductDetailsScreen', { item })}
+                                    />
+                                ))}
+                            </View>
+                            {hasMore && (
+                                <View style={styles.actionPadding}>
+                                    <Button
+                                        title={loadingMore ? 'Loading...' : 'Load more'}
+                                        onPress={loadMore}
+                                        variant="outline"
+                                        fullWidth
+                                        size="medium"
+                                    />
+                                </View>
+                            )}
+                        </>
                     ) : (
                         <View style={styles.emptyState}>
                             <View style={styles.emptyIconWrapper}>
@@ -66,8 +66,8 @@ const SearchScreen = ({ navigation }) => {
             if (res && Array.isArray(res)) {
                 const formatted = res.map(item => ({
                     ...item,
-                    images: item.imageUrl && item.imageUrl.length > 0
-                        ? item.imageUrl.map(url => ({ uri: url }))
+                    images: item.thumbnailUrl
+                        ? [{ uri: item.thumbnailUrl }]
                         : [require('../assets/no-image.jpg')],
                     name: item.title || 'Untitled',
                     price: item.price ? `₹ ${item.price}` : 'N/A',
@@ -0,0 +1,122 @@
+import * as SecureStore from 'expo-secure-store';
+import { api } from './api';
+
+// Live chat from the backend: a small STOMP 1.2 client over the app's WebSocket.
+// subscribeToChatRoom(id, cb) gets each new message in a room, subscribeToInbox(cb) every
+// message in any of the user's rooms. Both return an unsubscribe function. The socket opens
+// on the first subscription, reconnects with backoff, and closes when nothing is subscribed.
+
+const WS_URL = api.defaults.baseURL.replace(/^http/, 'ws') + '/ws';
+const HEARTBEAT_MS = 10000;
+const MAX_RETRY_MS = 30000;
+
+let socket = null;
+let connected = false;
+let retryMs = 1000;
+let retryTimer = null;
+let heartbeatTimer = null;
+let nextId = 0;
+const subscriptions = new Map(); // id -> { destination, callback }
+
+const frame = (command, headers = {}, body = '') =>
+    command + '\n' +
+    Object.entries(headers).map(([k, v]) => `${k}:${v}`).join('\n') +
+    '\n\n' + body + '\0';
+
+const parse = (raw) => {
+    const [head, ...rest] = raw.split('\n\n');
+    const [command, ...lines] = head.replace(/^\n+/, '').split('\n');
+    const headers = {};
+    lines.forEach((line) => {
+        const i = line.indexOf(':');
+        if (i > 0 && !(line.slice(0, i) in headers)) headers[line.slice(0, i)] = line.slice(i + 1);
+    });
+    return { command, headers, body: rest.join('\n\n') };
+};
+
+const send = (data) => {
+    if (socket && socket.readyState === WebSocket.OPEN) socket.send(data);
+};
+
+const sendSubscribe = (id, destination) => send(frame('SUBSCRIBE', { id, destination }));
+
+const scheduleReconnect = () => {
+    if (retryTimer || subscriptions.size === 0) return;
+    retryTimer = setTimeout(() => {
+        retryTimer = null;
+        connect();
+    }, retryMs);
+    retryMs = Math.min(retryMs * 2, MAX_RETRY_MS);
+};
+
+const cleanup = () => {
+    connected = false;
+    clearInterval(heartbeatTimer);
+    heartbeatTimer = null;
+    socket = null;
+};
+
+const connect = async () => {
+    if (socket) return;
+    const token = await SecureStore.getItemAsync('accessToken');
+    if (!token || socket || subscriptions.size === 0) return;
+
+    const ws = new WebSocket(WS_URL);
+    socket = ws;
+    ws.onopen = () => ws.send(frame('CONNECT', {
+        'accept-version': '1.2',
+        'heart-beat': `${HEARTBEAT_MS},${HEARTBEAT_MS}`,
+        Authorization: `Bearer ${token}`,
+    }));
+    ws.onmessage = (event) => {
+        String(event.data).split('\0').forEach((raw) => {
+            if (!raw.trim()) return; // heartbeat
+            const { command, headers, body } = parse(raw);
+            if (command === 'CONNECTED') {
+                connected = true;
+                retryMs = 1000;
+                heartbeatTimer = setInterval(() => send('\n'), HEARTBEAT_MS);
+                subscriptions.forEach(({ destination }, id) => sendSubscribe(id, destination));
+            } else if (command === 'MESSAGE') {
+                const sub = subscriptions.get(headers.subscription);
+                if (sub) {
+                    try {
+                        sub.callback(JSON.parse(body));
+                    } catch (error) {
+                        console.error('❌ Chat socket message error:', error);
+                    }
+                }
+            } else if (command === 'ERROR') {
+                // Usually an expired token; the next connect reads the refreshed one.
+                console.warn('⚠️ Chat socket error:', headers.message);
+            }
+        });
+    };
+    ws.onclose = () => {
+        if (socket === ws) cleanup();
+        scheduleReconnect();
+    };
+    ws.onerror = () => ws.close();
+};
+
+const subscribe = (destination, callback) => {
+    const id = `sub-${nextId++}`;
+    subscriptions.set(id, { destination, callback });
+    if (connected) sendSubscribe(id, destination);
+    else connect();
+
+    return () => {
+        if (!subscriptions.delete(id)) return;
+        if (connected) send(frame('UNSUBSCRIBE', { id }));
+        if (subscriptions.size === 0 && socket) {
+            send(frame('DISCONNECT'));
+            socket.close();
+            cleanup();
+        }
+    };
+};
+
+export const subscribeToChatRoom = (chatRoomId, callback) =>
+    subscribe(`/topic/chat-rooms.${chatRoomId}`, callback);
+
+export const subscribeToInbox = (callback) => subscribe('/user/queue/inbox', callback);
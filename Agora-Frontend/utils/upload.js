@@ -1,4 +1,5 @@
 import axios from "axios";
+import {apiGet, apiPost} from "../services/api";
 
 const CLOUDINARY_CLOUD_NAME = "dtdssypwf";
 const LISTING_PRESET = "Agora_App_1";
@@ -28,6 +29,28 @@ export const uploadToCloudinary = async (uri) => {
     }
 };
 
+// Listing photos go through the backend, which makes a thumbnail and a feed-size copy in the
+// background; poll until they are ready.
+export const uploadListingImage = async (uri) => {
+    const data = new FormData();
+    data.append("file", { uri, type: "image/jpeg", name: "upload.jpg" });
+
+    let upload = await apiPost("/images/upload", data);
+    while (upload.state === "PENDING" || upload.state === "PROCESSING") {
+        await new Promise(resolve => setTimeout(resolve, 500));
+        upload = await apiGet(`/images/upload/${upload.id}`);
+    }
+    if (upload.state !== "READY") {
+        throw new Error(upload.error || "Image upload failed");
+    }
+    return {
+        url: upload.url,
+        publicId: upload.publicId,
+        thumbnailUrl: upload.thumbnailUrl,
+        feedUrl: upload.feedUrl,
+    };
+};
+
 export const uploadProfilePicture = async (uri) => {
     try {
         const data = new FormData();